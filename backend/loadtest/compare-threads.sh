@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# Platform vs virtual threads: throughput and p99 at 200, 2000 and 20000 concurrent connections.
+#
+# Needs k6 and jq on the PATH, a built jar (mvn package -DskipTests) and Redis/OpenSearch reachable
+# as configured. Run k6 on a separate machine for the 20000 level if possible, and raise the open
+# file limit first (ulimit -n 65536) on both sides.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=${JAR:-target/interview-1.0-SNAPSHOT.jar}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+DURATION=${DURATION:-60s}
+LEVELS=${LEVELS:-"200 2000 20000"}
+OUT=loadtest/results
+mkdir -p "$OUT"
+
+wait_for_app() {
+  for _ in $(seq 1 120); do
+    if curl -sf "$BASE_URL/actuator/health" > /dev/null; then
+      return 0
+    fi
+    sleep 1
+  done
+  echo "Application did not become healthy" >&2
+  return 1
+}
+
+for virtual in false true; do
+  echo "=== spring.threads.virtual.enabled=$virtual ==="
+  java -Dspring.threads.virtual.enabled="$virtual" \
+       -Dserver.tomcat.max-connections=25000 \
+       -Dserver.tomcat.accept-count=1000 \
+       -jar "$JAR" > "$OUT/app-virtual-$virtual.log" 2>&1 &
+  APP_PID=$!
+  trap 'kill $APP_PID 2>/dev/null || true' EXIT
+  wait_for_app
+
+  for vus in $LEVELS; do
+    echo "--- $vus connections ---"
+    k6 run --quiet -e BASE_URL="$BASE_URL" -e VUS="$vus" -e DURATION="$DURATION" \
+       --summary-export="$OUT/virtual-$virtual-$vus.json" loadtest/events-read.js || true
+  done
+
+  kill "$APP_PID"
+  wait "$APP_PID" 2>/dev/null || true
+  trap - EXIT
+done
+
+printf '\n%-8s %-12s %12s %12s %10s\n' "virtual" "connections" "req/s" "p99 (ms)" "errors"
+for virtual in false true; do
+  for vus in $LEVELS; do
+    f="$OUT/virtual-$virtual-$vus.json"
+    [ -f "$f" ] || continue
+    jq -r --arg v "$virtual" --arg c "$vus" \
+      '[$v, $c, (.metrics.http_reqs.rate | floor), (.metrics.http_req_duration["p(99)"] | floor),
+        ((.metrics.http_req_failed.value // 0) * 100 | tostring + "%")] | @tsv' "$f" |
+      awk -F'\t' '{ printf "%-8s %-12s %12s %12s %10s\n", $1, $2, $3, $4, $5 }'
+  done
+done
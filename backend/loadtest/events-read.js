@@ -0,0 +1,44 @@
+// k6 read-mix load test for the events API.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=2000 -e DURATION=60s loadtest/events-read.js
+//
+// Each virtual user keeps one connection busy, so VUS is the number of concurrent connections.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '200', 10);
+const DURATION = __ENV.DURATION || '60s';
+
+export const options = {
+  scenarios: {
+    reads: {
+      executor: 'constant-vus',
+      vus: VUS,
+      duration: DURATION,
+      gracefulStop: '10s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const KEYWORDS = ['tour', 'jazz', 'swift', 'nba', 'workshop'];
+const CITIES = ['Los Angeles', 'New York', 'Chicago'];
+
+export default function () {
+  const pick = Math.random();
+  let res;
+  if (pick < 0.4) {
+    // JPA + Redis-cached path
+    res = http.get(`${BASE_URL}/api/events/upcoming`, { tags: { name: 'upcoming' } });
+  } else if (pick < 0.7) {
+    const keyword = KEYWORDS[Math.floor(Math.random() * KEYWORDS.length)];
+    res = http.get(`${BASE_URL}/api/events/search?keyword=${keyword}`, { tags: { name: 'search' } });
+  } else if (pick < 0.9) {
+    res = http.get(`${BASE_URL}/api/events/paginated?pageSize=20`, { tags: { name: 'paginated' } });
+  } else {
+    const city = CITIES[Math.floor(Math.random() * CITIES.length)];
+    res = http.get(`${BASE_URL}/api/events/location/${encodeURIComponent(city)}`, { tags: { name: 'location' } });
+  }
+  check(res, { 'status is 200': (r) => r.status === 200 });
+}
@@ -1,6 +1,8 @@
 package com.interview.config;
 
 import org.apache.http.HttpHost;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
 import org.opensearch.client.RestClient;
 import org.opensearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,6 +14,28 @@ public class OpenSearchConfig {
     @Value("${opensearch.uris:http://localhost:9200}")
     private String opensearchUri;
 
+    @Value("${opensearch.connect-timeout-ms:2000}")
+    private int connectTimeoutMs;
+
+    @Value("${opensearch.socket-timeout-ms:10000}")
+    private int socketTimeoutMs;
+
+    @Value("${opensearch.connection-request-timeout-ms:1000}")
+    private int connectionRequestTimeoutMs;
+
+    @Value("${opensearch.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${opensearch.max-connections-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${opensearch.keep-alive-ms:60000}")
+    private long keepAliveMs;
+
+    /**
+     * The client runs on the Apache async I/O reactor, so the *Async methods never hold a caller thread.
+     * Pool sizes and timeouts are tuned here instead of the defaults (30 total / 10 per route, 30s socket timeout).
+     */
     @Bean
     public RestHighLevelClient customOpenSearchClient() {
 
@@ -19,6 +43,21 @@ public class OpenSearchConfig {
                 RestClient.builder(
                         HttpHost.create(opensearchUri)
                 )
+                .setRequestConfigCallback(requestConfig -> requestConfig
+                        .setConnectTimeout(connectTimeoutMs)
+                        .setSocketTimeout(socketTimeoutMs)
+                        .setConnectionRequestTimeout(connectionRequestTimeoutMs))
+                .setHttpClientConfigCallback(httpClient -> httpClient
+                        .setMaxConnTotal(maxConnections)
+                        .setMaxConnPerRoute(maxConnectionsPerRoute)
+                        // Honor the server's Keep-Alive timeout, capped at keepAliveMs (used when it sends none)
+                        .setKeepAliveStrategy((response, context) -> {
+                            long serverMs = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                            return serverMs > 0 ? Math.min(serverMs, keepAliveMs) : keepAliveMs;
+                        })
+                        .setDefaultIOReactorConfig(IOReactorConfig.custom()
+                                .setSoKeepAlive(true)
+                                .build()))
         );
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,51 @@
 package com.interview.config;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.concurrent.Callable;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private static final String EXPORT_ATTRIBUTE = WebConfig.class.getName() + ".export";
+
+    // Async timeout of full exports; spring.mvc.async.request-timeout is sized for the v2 API
+    @Value("${export.timeout-ms:3600000}")
+    private long exportTimeoutMs;
+
+    /**
+     * Mark a request whose StreamingResponseBody streams a whole table, so it gets export.timeout-ms
+     * instead of being cut off mid-stream by the default async request timeout
+     */
+    public static void markAsExport(HttpServletRequest request) {
+        request.setAttribute(EXPORT_ATTRIBUTE, Boolean.TRUE);
+    }
+
     @Override
     public void addViewControllers(ViewControllerRegistry registry) {
         registry.addRedirectViewController("/", "/swagger-ui.html");
     }
-}
\ No newline at end of file
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                // Runs before async processing starts, while the timeout can still be changed
+                if (request instanceof AsyncWebRequest asyncRequest
+                        && request.getAttribute(EXPORT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+                    asyncRequest.setTimeout(exportTimeoutMs);
+                }
+            }
+        });
+    }
+}
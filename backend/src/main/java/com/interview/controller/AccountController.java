@@ -3,6 +3,7 @@ package com.interview.controller;
 import com.interview.dto.AccountMapper;
 import com.interview.dto.AccountRequest;
 import com.interview.dto.AccountResponse;
+import com.interview.exception.PreconditionFailedException;
 import com.interview.model.Account;
 import com.interview.service.AccountService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,8 +12,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -51,7 +54,7 @@ public class AccountController {
         return ResponseEntity.ok(responses);
     }
 
-    @Operation(summary = "Get account by ID", description = "Retrieve a specific account by their ID")
+    @Operation(summary = "Get account by ID", description = "Retrieve a specific account by their ID. The ETag header carries the account's version, for If-Match on update and delete.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Account found"),
             @ApiResponse(responseCode = "404", description = "Account not found")
@@ -60,8 +63,9 @@ public class AccountController {
     public ResponseEntity<AccountResponse> getAccountById(
             @Parameter(description = "ID of the account to retrieve") @PathVariable UUID id) {
         return accountService.getAccountById(id)
-                .map(accountMapper::toResponse)
-                .map(ResponseEntity::ok)
+                .map(account -> ResponseEntity.ok()
+                        .eTag(ETags.of(account.getVersion()))
+                        .body(accountMapper.toResponse(account)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -97,21 +101,27 @@ public class AccountController {
         }
     }
 
-    @Operation(summary = "Update account", description = "Update an existing account by ID")
+    @Operation(summary = "Update account", description = "Update an existing account by ID; with If-Match only if it is still at that version")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Account updated successfully"),
             @ApiResponse(responseCode = "404", description = "Account not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid input or email already taken")
+            @ApiResponse(responseCode = "400", description = "Invalid input or email already taken"),
+            @ApiResponse(responseCode = "412", description = "The account was modified since the If-Match version")
     })
     @PatchMapping("/{id}")
     public ResponseEntity<AccountResponse> updateAccount(
             @Parameter(description = "ID of the account to update") @PathVariable UUID id,
+            @Parameter(description = "ETag of the version being updated") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Updated account request object")
             @Valid @RequestBody AccountRequest request) {
         try {
             Account accountDetails = accountMapper.toEntity(request);
-            Account updatedAccount = accountService.updateAccount(id, accountDetails);
-            return ResponseEntity.ok(accountMapper.toResponse(updatedAccount));
+            Account updatedAccount = accountService.updateAccount(id, accountDetails, ETags.parseIfMatch(ifMatch));
+            return ResponseEntity.ok()
+                    .eTag(ETags.of(updatedAccount.getVersion()))
+                    .body(accountMapper.toResponse(updatedAccount));
+        } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         } catch (RuntimeException e) {
             if (e.getMessage().contains("not found")) {
                 return ResponseEntity.notFound().build();
@@ -120,17 +130,21 @@ public class AccountController {
         }
     }
 
-    @Operation(summary = "Delete account", description = "Delete a account by ID")
+    @Operation(summary = "Delete account", description = "Delete a account by ID; with If-Match only if it is still at that version")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Account deleted successfully"),
-            @ApiResponse(responseCode = "404", description = "Account not found")
+            @ApiResponse(responseCode = "404", description = "Account not found"),
+            @ApiResponse(responseCode = "412", description = "The account was modified since the If-Match version")
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAccount(
-            @Parameter(description = "ID of the account to delete") @PathVariable UUID id) {
+            @Parameter(description = "ID of the account to delete") @PathVariable UUID id,
+            @Parameter(description = "ETag of the version being deleted") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            accountService.deleteAccount(id);
+            accountService.deleteAccount(id, ETags.parseIfMatch(ifMatch));
             return ResponseEntity.noContent().build();
+        } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -0,0 +1,149 @@
+package com.interview.controller;
+
+import com.interview.config.WebConfig;
+import com.interview.dto.AuditLogMapper;
+import com.interview.dto.AuditLogQuery;
+import com.interview.dto.AuditLogResponse;
+import com.interview.dto.AuditRollupResponse;
+import com.interview.dto.CursorPageResponse;
+import com.interview.model.AuditLog;
+import com.interview.service.AuditLogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Tag(name = "Audit", description = "Account audit log APIs")
+@RestController
+@RequestMapping("/api/audit")
+public class AuditController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final AuditLogService auditLogService;
+    private final AuditLogMapper auditLogMapper;
+
+    @Autowired
+    public AuditController(AuditLogService auditLogService, AuditLogMapper auditLogMapper) {
+        this.auditLogService = auditLogService;
+        this.auditLogMapper = auditLogMapper;
+    }
+
+    @Operation(summary = "Query the audit log",
+               description = "Audit entries matching all given filters, newest first, with cursor-based pagination. Pass 'nextCursor' from the previous response as 'cursor' to get the next page; keep the filters unchanged between pages.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "One page of audit entries"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or time range"),
+            @ApiResponse(responseCode = "501", description = "Not available with audit.sink=journal; use the export")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public ResponseEntity<CursorPageResponse<AuditLogResponse>> searchAuditLog(
+            @Parameter(description = "Account the action was performed on") @RequestParam(required = false) UUID accountId,
+            @Parameter(description = "CREATE, UPDATE or DELETE") @RequestParam(required = false) String action,
+            @Parameter(description = "Email of the acting user, or SYSTEM") @RequestParam(required = false) String performedBy,
+            @Parameter(description = "Range start, inclusive (ISO date-time)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Range end, exclusive (ISO date-time)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Cursor from the previous page. Omit for the first page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Entries per page (default: 50, max: 500)")
+            @RequestParam(defaultValue = "50") int pageSize) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            pageSize = 50;
+        }
+
+        CursorPageResponse<AuditLog> page;
+        try {
+            page = auditLogService.search(new AuditLogQuery(accountId, action, performedBy, from, to), cursor, pageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<AuditLogResponse> entries = page.getData().stream()
+                .map(auditLogMapper::toResponse)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(new CursorPageResponse<>(entries, page.getNextCursor(), page.isHasMore(), page.getPageSize()));
+    }
+
+    @Operation(summary = "Export the audit log",
+               description = "Streams every audit entry matching the filters, oldest first, as CSV (with a header row) or NDJSON, in constant server memory. With audit.sink=journal the entries come from the journal segments still on this node, without ids")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export stream"),
+            @ApiResponse(responseCode = "400", description = "Invalid time range")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAuditLog(
+            @RequestParam(required = false) UUID accountId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String performedBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "csv (default) or ndjson") @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        AuditLogService.ExportFormat exportFormat;
+        try {
+            exportFormat = AuditLogService.ExportFormat.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        AuditLogQuery query = new AuditLogQuery(accountId, action, performedBy, from, to);
+        WebConfig.markAsExport(request);
+        StreamingResponseBody body = out -> auditLogService.export(query, exportFormat, out);
+        boolean csv = exportFormat == AuditLogService.ExportFormat.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"audit-log." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+
+    @Operation(summary = "Daily audit counts",
+               description = "Number of audit entries per day, action and acting user, for every day in the inclusive range. Counts outlive the raw entries, which are dropped after the retention period.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Daily counts, oldest day first"),
+            @ApiResponse(responseCode = "400", description = "Invalid range or more than 366 days"),
+            @ApiResponse(responseCode = "501", description = "Not available with audit.sink=journal")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/rollups")
+    public ResponseEntity<List<AuditRollupResponse>> getAuditRollups(
+            @Parameter(description = "First day, inclusive (ISO date)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive (ISO date)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(auditLogService.rollups(from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.interview.controller;
+
+import com.interview.exception.PreconditionFailedException;
+
+/**
+ * Entity tags: the strong ETag of a versioned entity is its @Version in quotes, e.g. "3";
+ * lists get a weak ETag over the versions of their rows
+ */
+final class ETags {
+
+    private static final String ADMIN_SUFFIX = "-a";
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * Strong ETag of an entity rendered differently for admins; the admin tag carries the same "-a" suffix
+     * as list tags, so a cached public body is never revalidated for an admin or the other way round
+     */
+    static String of(Long version, boolean isAdmin) {
+        return version == null ? null : "\"" + version + (isAdmin ? ADMIN_SUFFIX : "") + "\"";
+    }
+
+    /**
+     * Weak ETag of a list from a hash of its rows' versions; admin and public renderings get different tags
+     */
+    static String weak(long hash, boolean isAdmin) {
+        return "W/\"" + Long.toHexString(hash) + (isAdmin ? "-a" : "") + "\"";
+    }
+
+    /**
+     * Version required by an If-Match header, or null when the request is unconditional (no header or *).
+     * Only a single strong tag as returned by GET can match; weak, malformed or multiple tags never do
+     * (If-Match uses strong comparison), so they fail with PreconditionFailedException.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            String value = tag.substring(1, tag.length() - 1);
+            if (value.endsWith(ADMIN_SUFFIX)) {
+                value = value.substring(0, value.length() - ADMIN_SUFFIX.length());
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                // Not one of ours
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current version: " + ifMatch);
+    }
+}
@@ -1,38 +1,67 @@
 package com.interview.controller;
 
+import com.interview.config.WebConfig;
 import com.interview.dto.CursorPageResponse;
+import com.interview.dto.EventChangesResponse;
 import com.interview.dto.EventMapper;
 import com.interview.dto.EventRequest;
 import com.interview.dto.EventResponse;
 import com.interview.dto.EventSummaryResponse;
+import com.interview.dto.ImportReport;
+import com.interview.dto.ReconcileReport;
+import com.interview.dto.SearchQuerySpec;
+import com.interview.dto.SuggestionResponse;
+import com.interview.exception.PreconditionFailedException;
+import com.interview.exception.ResourceNotFoundException;
 import com.interview.model.Event;
-import com.interview.model.EventDocument;
 import com.interview.model.Performer;
 import com.interview.model.Venue;
 import com.interview.repository.PerformerRepository;
 import com.interview.repository.VenueRepository;
+import com.interview.service.EventChangeBroadcaster;
+import com.interview.service.EventChangeFeedService;
+import com.interview.service.EventExportService;
+import com.interview.service.EventImportService;
 import com.interview.service.EventSearchService;
 import com.interview.service.EventService;
+import com.interview.service.EventVersionMap;
+import com.interview.service.NearbyEventService;
+import com.interview.service.SearchIndexReconciler;
+import com.interview.service.SuggestionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
 import java.util.stream.Collectors;
 
 @Tag(name = "Events", description = "Event management APIs for concerts, sports, and tech events")
@@ -45,17 +74,45 @@ public class EventController {
     private final EventMapper eventMapper;
     private final VenueRepository venueRepository;
     private final PerformerRepository performerRepository;
+    private final SuggestionService suggestionService;
+    private final SearchIndexReconciler reconciler;
+    private final NearbyEventService nearbyEventService;
+    private final EventExportService exportService;
+    private final EventImportService importService;
+    private final EventVersionMap eventVersions;
+    private final EventChangeFeedService changeFeedService;
+    private final EventChangeBroadcaster changeBroadcaster;
+
+    private static final int MAX_BATCH_QUERIES = 20;
+    private static final double MAX_RADIUS_KM = 1000;
+    private static final int MAX_CHANGES = 1000;
 
     @Autowired
     public EventController(EventService eventService,
                            EventSearchService searchService,
                            EventMapper eventMapper,
-                          VenueRepository venueRepository, PerformerRepository performerRepository) {
+                          VenueRepository venueRepository, PerformerRepository performerRepository,
+                           SuggestionService suggestionService,
+                           SearchIndexReconciler reconciler,
+                           NearbyEventService nearbyEventService,
+                           EventExportService exportService,
+                           EventImportService importService,
+                           EventVersionMap eventVersions,
+                           EventChangeFeedService changeFeedService,
+                           EventChangeBroadcaster changeBroadcaster) {
         this.eventService = eventService;
         this.searchService = searchService;
         this.eventMapper = eventMapper;
         this.venueRepository = venueRepository;
         this.performerRepository = performerRepository;
+        this.suggestionService = suggestionService;
+        this.reconciler = reconciler;
+        this.nearbyEventService = nearbyEventService;
+        this.exportService = exportService;
+        this.importService = importService;
+        this.eventVersions = eventVersions;
+        this.changeFeedService = changeFeedService;
+        this.changeBroadcaster = changeBroadcaster;
     }
 
     /**
@@ -70,31 +127,73 @@ public class EventController {
                 .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
     }
 
-/*@Operation(summary = "Get all events", description = "Retrieve a list of all events including concerts, sports, and tech events")
-@ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved list of events")
-})
-@GetMapping
-public ResponseEntity<List<EventSummaryResponse>> getAllEvents() {
-    boolean isAdmin = isCurrentUserAdmin();
-    List<Event> events = eventService.getAllEvents();
-    List<EventSummaryResponse> responses = events.stream()
-            .map(event -> eventMapper.toSummaryResponse(event, isAdmin))
-            .collect(Collectors.toList());
-    return ResponseEntity.ok(responses);
-}*/
+    /**
+     * Bodies differ for admins, so every response (304s included) varies on the Authorization header
+     */
+    private static void varyOnAuthorization(WebRequest webRequest) {
+        if (webRequest instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        }
+    }
+
+    @Operation(summary = "Export all events as NDJSON",
+               description = "Streams the full catalog as application/x-ndjson, one event per line, in constant server memory. The body is gzip-compressed when the request sends Accept-Encoding: gzip. Requires authentication; only export.max-concurrent exports run at once.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export stream"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "503", description = "Too many exports running; retry later")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEvents(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        // Each running export holds a database connection until the client has downloaded everything
+        if (!exportService.tryStartExport()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "60")
+                    .build();
+        }
+        boolean isAdmin = isCurrentUserAdmin();
+        WebConfig.markAsExport(request);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            try {
+                if (gzip) {
+                    GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                    exportService.exportAll(compressed, isAdmin);
+                    compressed.finish();
+                } else {
+                    exportService.exportAll(out, isAdmin);
+                }
+            } finally {
+                exportService.finishExport();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"events.ndjson\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
 
     @Operation(summary = "Get events with cursor-based pagination",
-               description = "Retrieve events using cursor-based pagination. Use 'cursor' parameter to get the next page, and 'pageSize' to specify the number of results per page. The response includes 'nextCursor' for fetching the next page and 'hasMore' to indicate if more results are available.")
+               description = "Retrieve events using cursor-based pagination. Use 'cursor' parameter to get the next page, and 'pageSize' to specify the number of results per page. The response includes 'nextCursor' for fetching the next page and 'hasMore' to indicate if more results are available. Each page carries a weak ETag; polling with If-None-Match returns 304 while the page is unchanged.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved paginated list of events")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved paginated list of events"),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the If-None-Match ETag")
     })
     @GetMapping("/paginated")
     public ResponseEntity<CursorPageResponse<EventSummaryResponse>> getEventsPaginated(
             @Parameter(description = "Cursor for pagination (UUID of the last event from previous page). Omit for the first page.")
             @RequestParam(required = false) UUID cursor,
             @Parameter(description = "Number of events per page (default: 10, max: 100)")
-            @RequestParam(defaultValue = "10") int pageSize) {
+            @RequestParam(defaultValue = "10") int pageSize,
+            WebRequest webRequest) {
 
         boolean isAdmin = isCurrentUserAdmin();
 
@@ -103,6 +202,14 @@ public ResponseEntity<List<EventSummaryResponse>> getAllEvents() {
             pageSize = 10;
         }
 
+        // Checked against the page's (id, version) pairs before the events themselves are loaded.
+        // No Last-Modified: a deleted row changes the page without a newer timestamp.
+        String pageTag = ETags.weak(eventService.getPageVersionHash(cursor, pageSize), isAdmin);
+        varyOnAuthorization(webRequest);
+        if (webRequest.checkNotModified(pageTag)) {
+            return null;
+        }
+
         CursorPageResponse<Event> eventPage = eventService.getEventsCursorPaginated(cursor, pageSize);
 
         // Map events to summary responses
@@ -117,21 +224,80 @@ public ResponseEntity<List<EventSummaryResponse>> getAllEvents() {
                 eventPage.getPageSize()
         );
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(pageTag)
+                .body(response);
     }
 
-    @Operation(summary = "Get event by ID", description = "Retrieve a specific event by its ID")
+    @Operation(summary = "Get changes since a watermark",
+               description = "Delta sync: events created or updated and ids of events deleted after 'since', in change order. Start with since=0, apply 'upserted' and 'deleted' locally, then call again with the returned 'watermark'; repeat while 'hasMore' is true. Changes from the last few seconds are held back until they have settled.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes after the watermark"),
+            @ApiResponse(responseCode = "400", description = "Negative watermark")
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<EventChangesResponse> getChanges(
+            @Parameter(description = "Watermark from the previous response; 0 for a full sync") @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Maximum changes per response (default: 200, max: 1000)") @RequestParam(defaultValue = "200") int limit) {
+        if (since < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (limit < 1 || limit > MAX_CHANGES) {
+            limit = 200;
+        }
+        boolean isAdmin = isCurrentUserAdmin();
+        EventChangeFeedService.Changes changes = changeFeedService.getChangesSince(since, limit);
+        List<EventResponse> upserted = changes.getUpserted().stream()
+                .map(event -> eventMapper.toResponse(event, isAdmin))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(new EventChangesResponse(upserted, changes.getDeleted(), changes.getWatermark(), changes.isHasMore()));
+    }
+
+    @Operation(summary = "Stream event changes",
+               description = "Server-sent events: one 'created', 'updated' or 'deleted' event per committed change on any node, with a JSON body of type, eventId, version and changeSeq. The SSE id is the change sequence number, usable as 'since' on /changes. The stream carries notifications only: fetch the event to see its new state. Requires authentication; each user may hold a few streams at once, and a stream is closed after events.stream.timeout-ms. A client that cannot keep up or times out reconnects and catches up through /changes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "503", description = "Too many stream subscribers on this node, or for this user")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(Authentication authentication) {
+        SseEmitter emitter = changeBroadcaster.subscribe(authentication.getName());
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    @Operation(summary = "Get event by ID", description = "Retrieve a specific event by its ID. The ETag header carries the event's version; send it back as If-Match to update or delete only that version, or as If-None-Match to get 304 while it is unchanged. Last-Modified works with If-Modified-Since the same way.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Event found"),
+            @ApiResponse(responseCode = "304", description = "Event unchanged since the If-None-Match ETag or If-Modified-Since date"),
             @ApiResponse(responseCode = "404", description = "Event not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<EventResponse> getEventById(
-            @Parameter(description = "ID of the event to retrieve") @PathVariable UUID id) {
+            @Parameter(description = "ID of the event to retrieve") @PathVariable UUID id,
+            WebRequest webRequest) {
+        // Answered from the version map: an unchanged poll neither loads the event nor serializes it
+        EventVersionMap.Stamp stamp = eventVersions.get(id);
+        if (stamp == null) {
+            return ResponseEntity.notFound().build();
+        }
         boolean isAdmin = isCurrentUserAdmin();
+        varyOnAuthorization(webRequest);
+        if (webRequest.checkNotModified(ETags.of(stamp.version(), isAdmin), stamp.lastModified())) {
+            return null;
+        }
+
         return eventService.getEventById(id)
-                .map(event -> eventMapper.toResponse(event, isAdmin))
-                .map(ResponseEntity::ok)
+                .map(event -> ResponseEntity.ok()
+                        .eTag(ETags.of(event.getVersion(), isAdmin))
+                        .lastModified(EventVersionMap.toEpochMillis(event.getUpdatedAt()))
+                        .body(eventMapper.toResponse(event, isAdmin)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -152,7 +318,7 @@ public ResponseEntity<List<EventSummaryResponse>> getAllEvents() {
             // Set venue if provided
             if (request.getVenueId() != null) {
                 Venue venue = venueRepository.findById(request.getVenueId())
-                        .orElseThrow(() -> new RuntimeException("Venue not found with id: " + request.getVenueId()));
+                        .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + request.getVenueId()));
                 event.setVenue(venue);
             }
 
@@ -161,7 +327,7 @@ public ResponseEntity<List<EventSummaryResponse>> getAllEvents() {
                 Set<Performer> performers = new HashSet<>();
                 for (UUID performerId : request.getPerformerIds()) {
                     Performer performer = performerRepository.findById(performerId)
-                            .orElseThrow(() -> new RuntimeException("Performer not found with id: " + performerId));
+                            .orElseThrow(() -> new ResourceNotFoundException("Performer not found with id: " + performerId));
                     performers.add(performer);
                 }
                 event.setPerformers(performers);
@@ -174,67 +340,97 @@ public ResponseEntity<List<EventSummaryResponse>> getAllEvents() {
         }
     }
 
-    @Operation(summary = "Update event", description = "Update an existing event by ID")
+    @Operation(summary = "Bulk import events",
+               description = "Creates events from an NDJSON body (one event request per line) or a CSV body with a header row (name,description,eventDate,location,venueId,performerIds; performer ids separated by ';'). Rows are validated and inserted in batches; invalid rows are skipped and listed in the report")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; see the report for rejected rows"),
+            @ApiResponse(responseCode = "400", description = "Invalid Content-Type or CSV header"),
+            @ApiResponse(responseCode = "500", description = "Import aborted by a server-side failure (reading the upload, database)")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<ImportReport> importEvents(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        // Row-level problems are in the report; anything else thrown here is left to GlobalExceptionHandler
+        try {
+            ImportReport report = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    ? importService.importNdjson(body)
+                    : importService.importCsv(body);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            // Unparseable Content-Type or a CSV header without the required columns
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    @Operation(summary = "Update event",
+               description = "Update an existing event by ID. With If-Match (the ETag from GET) the update is applied only if the event has not changed since; no prior GET is needed to check that on the server.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Event updated successfully"),
-            @ApiResponse(responseCode = "404", description = "Event not found")
+            @ApiResponse(responseCode = "404", description = "Event not found"),
+            @ApiResponse(responseCode = "412", description = "The event was modified since the If-Match version")
     })
     @PreAuthorize("hasRole('ADMIN')")
     @PatchMapping("/{id}")
     public ResponseEntity<EventResponse> updateEvent(
             @Parameter(description = "ID of the event to update") @PathVariable UUID id,
+            @Parameter(description = "ETag of the version being updated") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Updated event request object")
             @Valid @RequestBody EventRequest request) {
         try {
             boolean isAdmin = isCurrentUserAdmin();
-            Event event = eventService.getEventById(id)
-                    .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
-
-            // Update basic fields
-            eventMapper.updateEntityFromRequest(event, request);
+            Long expectedVersion = ETags.parseIfMatch(ifMatch);
+            Event eventDetails = eventMapper.toEntity(request);
 
-            // Update venue if provided
+            // Venue is replaced (cleared when not provided)
             if (request.getVenueId() != null) {
                 Venue venue = venueRepository.findById(request.getVenueId())
-                        .orElseThrow(() -> new RuntimeException("Venue not found with id: " + request.getVenueId()));
-                event.setVenue(venue);
-            } else {
-                event.setVenue(null);
+                        .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + request.getVenueId()));
+                eventDetails.setVenue(venue);
             }
 
-            // Update performers if provided
+            // Performers are replaced (cleared when not provided)
             if (request.getPerformerIds() != null) {
                 Set<Performer> performers = new HashSet<>();
                 for (UUID performerId : request.getPerformerIds()) {
                     Performer performer = performerRepository.findById(performerId)
-                            .orElseThrow(() -> new RuntimeException("Performer not found with id: " + performerId));
+                            .orElseThrow(() -> new ResourceNotFoundException("Performer not found with id: " + performerId));
                     performers.add(performer);
                 }
-                event.setPerformers(performers);
-            } else {
-                event.setPerformers(new HashSet<>());
+                eventDetails.setPerformers(performers);
             }
 
-            Event updatedEvent = eventService.createEvent(event);
-            return ResponseEntity.ok(eventMapper.toResponse(updatedEvent, isAdmin));
-        } catch (RuntimeException e) {
+            Event updatedEvent = eventService.updateEvent(id, eventDetails, expectedVersion);
+            return ResponseEntity.ok()
+                    .eTag(ETags.of(updatedEvent.getVersion(), isAdmin))
+                    .body(eventMapper.toResponse(updatedEvent, isAdmin));
+        } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (ResourceNotFoundException e) {
+            // Anything else (storage failures included) goes to GlobalExceptionHandler
             return ResponseEntity.notFound().build();
         }
     }
 
-    @Operation(summary = "Delete event", description = "Delete an event by ID")
+    @Operation(summary = "Delete event", description = "Delete an event by ID; with If-Match only if it is still at that version")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Event deleted successfully"),
-            @ApiResponse(responseCode = "404", description = "Event not found")
+            @ApiResponse(responseCode = "404", description = "Event not found"),
+            @ApiResponse(responseCode = "412", description = "The event was modified since the If-Match version")
     })
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEvent(
-            @Parameter(description = "ID of the event to delete") @PathVariable UUID id) {
+            @Parameter(description = "ID of the event to delete") @PathVariable UUID id,
+            @Parameter(description = "ETag of the version being deleted") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            eventService.deleteEvent(id);
+            eventService.deleteEvent(id, ETags.parseIfMatch(ifMatch));
             return ResponseEntity.noContent().build();
-        } catch (RuntimeException e) {
+        } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (ResourceNotFoundException e) {
+            // Anything else (storage failures included) goes to GlobalExceptionHandler
             return ResponseEntity.notFound().build();
         }
     }
@@ -288,14 +484,92 @@ public ResponseEntity<List<EventSummaryResponse>> getAllEvents() {
      @Operation(summary = "Search events using OpenSearch",
                 description = "Search events by query string across name, description, and location fields using OpenSearch full-text search")
      @GetMapping("/search")
-     public ResponseEntity<List<EventDocument>> search(
+     public CompletableFuture<ResponseEntity<?>> search(
+             @RequestParam(required = false) String keyword,
+             @RequestParam(required = false) String city,
+             @RequestParam(defaultValue = "1") int page,
+             @RequestParam(defaultValue = "20") int size,
+             @Parameter(description = "When true, the response is an object with 'results' and 'facets' (city, month, genre counts) instead of a plain list")
+             @RequestParam(defaultValue = "false") boolean facets
+     ) {
+         // The request thread is released while OpenSearch answers
+         if (facets) {
+             return searchService.searchWithFacets(keyword, city, page, size)
+                     .<ResponseEntity<?>>thenApply(ResponseEntity::ok);
+         }
+         return searchService.search(keyword, city, page, size)
+                 .<ResponseEntity<?>>thenApply(ResponseEntity::ok);
+     }
+
+     @Operation(summary = "Search events using OpenSearch (raw)",
+                description = "Same query as /search, but only summary fields are fetched and each hit's _source is streamed straight into the response body as a JSON array")
+     @GetMapping(value = "/search/raw", produces = MediaType.APPLICATION_JSON_VALUE)
+     public CompletableFuture<ResponseEntity<StreamingResponseBody>> searchRaw(
              @RequestParam(required = false) String keyword,
              @RequestParam(required = false) String city,
              @RequestParam(defaultValue = "1") int page,
              @RequestParam(defaultValue = "20") int size
-     ) throws Exception {
-         List<EventDocument> results = searchService.search(keyword, city, page, size);
-         return ResponseEntity.ok(results);
+     ) {
+         return searchService.searchRaw(keyword, city, page, size)
+                 .thenApply(hits -> {
+                     StreamingResponseBody body = hits::writeTo;
+                     return ResponseEntity.ok()
+                             .contentType(MediaType.APPLICATION_JSON)
+                             .body(body);
+                 });
+     }
+
+     @Operation(summary = "Batch search",
+                description = "Runs up to " + MAX_BATCH_QUERIES + " searches (same parameters as /search) in one OpenSearch _msearch round trip. Results are returned in query order; a failing query gets an error entry without affecting the others")
+     @PostMapping("/search/batch")
+     public CompletableFuture<ResponseEntity<?>> searchBatch(
+             @Valid @RequestBody
+             @Size(min = 1, max = MAX_BATCH_QUERIES, message = "Between 1 and " + MAX_BATCH_QUERIES + " queries are required")
+             List<@NotNull SearchQuerySpec> queries) {
+         return searchService.searchBatch(queries)
+                 .<ResponseEntity<?>>thenApply(ResponseEntity::ok);
+     }
+
+     @Operation(summary = "Upcoming events near a point",
+                description = "Upcoming events at venues within radiusKm (max " + (int) MAX_RADIUS_KM + ") of lat/lon, optionally between from and to, sorted by distance and then date. Served from an in-memory spatial index; very large result sets are answered by the search backend's geo_distance query")
+     @GetMapping("/nearby")
+     public CompletableFuture<ResponseEntity<?>> nearby(
+             @Parameter(description = "Latitude of the search point", example = "34.05") @RequestParam double lat,
+             @Parameter(description = "Longitude of the search point", example = "-118.25") @RequestParam double lon,
+             @Parameter(description = "Search radius in km (default: 40)") @RequestParam(defaultValue = "40") double radiusKm,
+             @Parameter(description = "Earliest event date (default: now)")
+             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+             @Parameter(description = "Latest event date")
+             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+             @RequestParam(defaultValue = "1") int page,
+             @RequestParam(defaultValue = "20") int size
+     ) {
+         if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+             return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                     .body("lat must be in [-90, 90] and lon in [-180, 180]"));
+         }
+         if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM) || page < 1 || size < 1 || size > 100) {
+             return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                     .body("radiusKm must be in (0, " + (int) MAX_RADIUS_KM + "], page >= 1 and size between 1 and 100"));
+         }
+         return nearbyEventService.nearby(lat, lon, radiusKm, from, to, page, size)
+                 .<ResponseEntity<?>>thenApply(ResponseEntity::ok);
+     }
+
+     @Operation(summary = "Typeahead suggestions",
+                description = "As-you-type suggestions over upcoming event names, performer names and cities, served from an in-memory prefix index and weighted by how soon the events are")
+     @GetMapping("/suggest")
+     public ResponseEntity<List<SuggestionResponse>> suggest(
+             @Parameter(description = "Prefix typed so far; matches the start of any word") @RequestParam String prefix,
+             @Parameter(description = "Maximum number of suggestions, 1 to 50 (default: 10); anything else is rejected with 400")
+             @RequestParam(defaultValue = "10") int limit) {
+         if (limit < 1 || limit > 50) {
+             return ResponseEntity.badRequest().build();
+         }
+         List<SuggestionResponse> responses = suggestionService.suggest(prefix, limit).stream()
+                 .map(entry -> new SuggestionResponse(entry.getText(), entry.getType(), entry.getId()))
+                 .collect(Collectors.toList());
+         return ResponseEntity.ok(responses);
      }
 
      @Operation(summary = "Index all events to OpenSearch",
@@ -311,4 +585,12 @@ public ResponseEntity<List<EventSummaryResponse>> getAllEvents() {
                      .body("Error indexing events: " + e.getMessage());
          }
      }
+
+     @Operation(summary = "Reconcile the search index with the database",
+                description = "Compares every id range of the event table with the search index, reindexes missing or stale events, deletes orphaned documents and returns the drift found")
+     @PreAuthorize("hasRole('ADMIN')")
+     @PostMapping("/search/reconcile")
+     public ResponseEntity<ReconcileReport> reconcileIndex() {
+         return ResponseEntity.ok(reconciler.reconcileAll());
+     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.interview.controller;
+
+import com.interview.dto.EventResponse;
+import com.interview.dto.EventSummaryResponse;
+import com.interview.model.EventDocument;
+import com.interview.service.ReactiveEventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Read-only v2 of the events API. Handlers return Mono/Flux and never block the request thread.
+ * With Accept: application/x-ndjson list responses are streamed one event per line with backpressure;
+ * with application/json they are collected into a JSON array as in v1.
+ */
+@Tag(name = "Events v2", description = "Non-blocking, streaming read API for events")
+@RestController
+@RequestMapping("/api/v2/events")
+public class EventV2Controller {
+
+    private final ReactiveEventService reactiveEventService;
+
+    @Autowired
+    public EventV2Controller(ReactiveEventService reactiveEventService) {
+        this.reactiveEventService = reactiveEventService;
+    }
+
+    /**
+     * Helper method to check if the current user has ADMIN role.
+     * Evaluated on the request thread, before the reactive pipeline switches threads.
+     */
+    private boolean isCurrentUserAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        return authentication.getAuthorities().stream()
+                .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
+    }
+
+    @Operation(summary = "Get event by ID", description = "Same as GET /api/events/{id}, served from the reactive cache or a non-blocking DB read")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event found"),
+            @ApiResponse(responseCode = "404", description = "Event not found")
+    })
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<EventResponse>> getEventById(
+            @Parameter(description = "ID of the event to retrieve") @PathVariable UUID id) {
+        return reactiveEventService.getEventById(id, isCurrentUserAdmin())
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Stream upcoming events", description = "Upcoming events in date order, read from the DB page by page as the client consumes them")
+    @GetMapping(value = "/upcoming", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<EventSummaryResponse> getUpcomingEvents() {
+        return reactiveEventService.getUpcomingEvents(isCurrentUserAdmin());
+    }
+
+    @Operation(summary = "Stream events by location", description = "Events at a location in date order, read from the DB page by page as the client consumes them")
+    @GetMapping(value = "/location/{location}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<EventSummaryResponse> getEventsByLocation(@PathVariable String location) {
+        return reactiveEventService.getEventsByLocation(location, isCurrentUserAdmin());
+    }
+
+    @Operation(summary = "Search events", description = "Same query as GET /api/events/search, adapted from the async search backend")
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<EventDocument> search(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String city,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return reactiveEventService.search(keyword, city, page, size);
+    }
+}
@@ -0,0 +1,24 @@
+package com.interview.dto;
+
+import com.interview.model.AuditLog;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuditLogMapper {
+
+    public AuditLogResponse toResponse(AuditLog auditLog) {
+        if (auditLog == null) {
+            return null;
+        }
+
+        AuditLogResponse response = new AuditLogResponse();
+        response.setId(auditLog.getId());
+        response.setAccountId(auditLog.getAccountId());
+        response.setAction(auditLog.getAction());
+        response.setTimestamp(auditLog.getTimestamp());
+        response.setDetails(auditLog.getDetails());
+        response.setPerformedBy(auditLog.getPerformedBy());
+
+        return response;
+    }
+}
@@ -0,0 +1,44 @@
+package com.interview.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Filters of an audit log query; null fields are not applied. The time range is [from, to).
+ */
+public class AuditLogQuery {
+
+    private final UUID accountId;
+    private final String action;
+    private final String performedBy;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    public AuditLogQuery(UUID accountId, String action, String performedBy, LocalDateTime from, LocalDateTime to) {
+        this.accountId = accountId;
+        this.action = action == null || action.isBlank() ? null : action.trim().toUpperCase();
+        this.performedBy = performedBy == null || performedBy.isBlank() ? null : performedBy.trim();
+        this.from = from;
+        this.to = to;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getPerformedBy() {
+        return performedBy;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+}
@@ -0,0 +1,81 @@
+package com.interview.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "One audit log entry")
+public class AuditLogResponse {
+
+    @Schema(description = "Audit entry ID", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID id;
+
+    @Schema(description = "Account the action was performed on", example = "123e4567-e89b-12d3-a456-426614174001")
+    private UUID accountId;
+
+    @Schema(description = "Action", example = "UPDATE", allowableValues = {"CREATE", "UPDATE", "DELETE"})
+    private String action;
+
+    @Schema(description = "When the action happened")
+    private LocalDateTime timestamp;
+
+    @Schema(description = "Description of the change", example = "Account updated: John Doe (john.doe@example.com)")
+    private String details;
+
+    @Schema(description = "Email of the user who performed the action, or SYSTEM", example = "admin@example.com")
+    private String performedBy;
+
+    // Constructors
+    public AuditLogResponse() {
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+
+    public void setDetails(String details) {
+        this.details = details;
+    }
+
+    public String getPerformedBy() {
+        return performedBy;
+    }
+
+    public void setPerformedBy(String performedBy) {
+        this.performedBy = performedBy;
+    }
+}
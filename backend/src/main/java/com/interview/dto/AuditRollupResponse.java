@@ -0,0 +1,65 @@
+package com.interview.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@Schema(description = "Number of audit entries for one day, action and acting user")
+public class AuditRollupResponse {
+
+    @Schema(description = "Day the entries were logged", example = "2025-06-01")
+    private LocalDate date;
+
+    @Schema(description = "Audit action", example = "UPDATE")
+    private String action;
+
+    @Schema(description = "Email of the acting user, SYSTEM, or empty when unknown", example = "admin@example.com")
+    private String performedBy;
+
+    @Schema(description = "Number of entries", example = "42")
+    private long entries;
+
+    // Constructors
+    public AuditRollupResponse() {
+    }
+
+    public AuditRollupResponse(LocalDate date, String action, String performedBy, long entries) {
+        this.date = date;
+        this.action = action;
+        this.performedBy = performedBy;
+        this.entries = entries;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public String getPerformedBy() {
+        return performedBy;
+    }
+
+    public void setPerformedBy(String performedBy) {
+        this.performedBy = performedBy;
+    }
+
+    public long getEntries() {
+        return entries;
+    }
+
+    public void setEntries(long entries) {
+        this.entries = entries;
+    }
+}
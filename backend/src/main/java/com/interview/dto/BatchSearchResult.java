@@ -0,0 +1,51 @@
+package com.interview.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.interview.model.EventDocument;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Result of one query of a batch search: either results or an error")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchSearchResult {
+
+    @Schema(description = "Matching events, sorted by event date; absent when the query failed")
+    private List<EventDocument> results;
+
+    @Schema(description = "Why this query failed; the other queries of the batch are unaffected")
+    private String error;
+
+    // Constructors
+    public BatchSearchResult() {
+    }
+
+    public static BatchSearchResult of(List<EventDocument> results) {
+        BatchSearchResult result = new BatchSearchResult();
+        result.results = results;
+        return result;
+    }
+
+    public static BatchSearchResult failed(String error) {
+        BatchSearchResult result = new BatchSearchResult();
+        result.error = error;
+        return result;
+    }
+
+    // Getters and Setters
+    public List<EventDocument> getResults() {
+        return results;
+    }
+
+    public void setResults(List<EventDocument> results) {
+        this.results = results;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,77 @@
+package com.interview.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+@Schema(description = "Notification pushed on /api/events/stream when an event is created, updated or deleted, or once per bulk import")
+public class EventChangeNotification {
+
+    @Schema(description = "Kind of change; IMPORTED stands for all events created by one bulk import, which clients fetch from /api/events/changes",
+            example = "UPDATED", allowableValues = {"CREATED", "UPDATED", "DELETED", "IMPORTED"})
+    private String type;
+
+    @Schema(description = "ID of the changed event; null for IMPORTED", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID eventId;
+
+    @Schema(description = "Event version after the change; null for deletes", example = "3")
+    private Long version;
+
+    @Schema(description = "Change sequence number of the write, comparable with the /api/events/changes watermark (for deletes, that of the tombstone; for IMPORTED, the highest of the import); also sent as the SSE event id", example = "1042")
+    private Long changeSeq;
+
+    @Schema(description = "Number of events created; IMPORTED only", example = "50000")
+    private Integer count;
+
+    // Constructors
+    public EventChangeNotification() {
+    }
+
+    public EventChangeNotification(String type, UUID eventId, Long version, Long changeSeq) {
+        this.type = type;
+        this.eventId = eventId;
+        this.version = version;
+        this.changeSeq = changeSeq;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(UUID eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,66 @@
+package com.interview.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Events changed after a watermark, for incremental catalog sync")
+public class EventChangesResponse {
+
+    @Schema(description = "Events created or updated since the watermark, in change order; replace any local copy")
+    private List<EventResponse> upserted;
+
+    @Schema(description = "IDs of events deleted since the watermark; remove any local copy")
+    private List<UUID> deleted;
+
+    @Schema(description = "Pass as 'since' on the next call", example = "1042")
+    private long watermark;
+
+    @Schema(description = "Whether more changes are available right away", example = "false")
+    private boolean hasMore;
+
+    // Constructors
+    public EventChangesResponse() {
+    }
+
+    public EventChangesResponse(List<EventResponse> upserted, List<UUID> deleted, long watermark, boolean hasMore) {
+        this.upserted = upserted;
+        this.deleted = deleted;
+        this.watermark = watermark;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<EventResponse> getUpserted() {
+        return upserted;
+    }
+
+    public void setUpserted(List<EventResponse> upserted) {
+        this.upserted = upserted;
+    }
+
+    public List<UUID> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<UUID> deleted) {
+        this.deleted = deleted;
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(long watermark) {
+        this.watermark = watermark;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,39 @@
+package com.interview.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One facet value and the number of matching events")
+public class FacetBucket {
+
+    @Schema(description = "Facet value", example = "Los Angeles")
+    private String key;
+
+    @Schema(description = "Number of matching events", example = "4")
+    private long count;
+
+    // Constructors
+    public FacetBucket() {
+    }
+
+    public FacetBucket(String key, long count) {
+        this.key = key;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
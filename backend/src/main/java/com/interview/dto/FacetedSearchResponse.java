@@ -0,0 +1,43 @@
+package com.interview.dto;
+
+import com.interview.model.EventDocument;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Search results with facet counts for city, month and genre")
+public class FacetedSearchResponse {
+
+    @Schema(description = "Matching events for the requested page")
+    private List<EventDocument> results;
+
+    @Schema(description = "Facet counts keyed by facet name (city, month, genre) over all matches")
+    private Map<String, List<FacetBucket>> facets;
+
+    // Constructors
+    public FacetedSearchResponse() {
+    }
+
+    public FacetedSearchResponse(List<EventDocument> results, Map<String, List<FacetBucket>> facets) {
+        this.results = results;
+        this.facets = facets;
+    }
+
+    // Getters and Setters
+    public List<EventDocument> getResults() {
+        return results;
+    }
+
+    public void setResults(List<EventDocument> results) {
+        this.results = results;
+    }
+
+    public Map<String, List<FacetBucket>> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, List<FacetBucket>> facets) {
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,105 @@
+package com.interview.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk event import")
+public class ImportReport {
+
+    @Schema(description = "Data rows read", example = "50000")
+    private int received;
+
+    @Schema(description = "Events created", example = "49998")
+    private int imported;
+
+    @Schema(description = "Rows rejected (invalid, unknown venue/performer, or failed chunk)", example = "2")
+    private int failed;
+
+    @Schema(description = "Per-row errors, in input order (at most the first 1000)")
+    private List<RowError> errors = new ArrayList<>();
+
+    @Schema(description = "True when more rows failed than are listed in errors", example = "false")
+    private boolean errorsTruncated;
+
+    @Schema(description = "Run time in milliseconds", example = "8150")
+    private long durationMs;
+
+    @Schema(description = "One rejected row")
+    public static class RowError {
+
+        @Schema(description = "Line number in the uploaded file (1-based, CSV header included)", example = "42")
+        private long line;
+
+        @Schema(description = "Why the row was rejected", example = "eventDate: Event date must be in the future")
+        private String message;
+
+        public RowError() {
+        }
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public String getMessage() { return message; }
+
+        public void setLine(long line) { this.line = line; }
+        public void setMessage(String message) { this.message = message; }
+    }
+
+    // Constructors
+    public ImportReport() {
+    }
+
+    // Getters and Setters
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
@@ -0,0 +1,115 @@
+package com.interview.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Upcoming event near a point, with its distance")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NearbyEventResponse {
+
+    @Schema(description = "Event ID")
+    private String id;
+
+    @Schema(description = "Event name", example = "The Eras Tour")
+    private String name;
+
+    @Schema(description = "Event date and time")
+    private LocalDateTime eventDate;
+
+    @Schema(description = "Event location", example = "SoFi Stadium, Inglewood, CA")
+    private String location;
+
+    @Schema(description = "Venue ID")
+    private String venueId;
+
+    @Schema(description = "Venue name", example = "SoFi Stadium")
+    private String venueName;
+
+    @Schema(description = "Venue latitude", example = "33.9566")
+    private Double latitude;
+
+    @Schema(description = "Venue longitude", example = "-118.3446")
+    private Double longitude;
+
+    @Schema(description = "Great-circle distance from the query point in km", example = "12.4")
+    private Double distanceKm;
+
+    // Constructors
+    public NearbyEventResponse() {
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDateTime getEventDate() {
+        return eventDate;
+    }
+
+    public void setEventDate(LocalDateTime eventDate) {
+        this.eventDate = eventDate;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getVenueId() {
+        return venueId;
+    }
+
+    public void setVenueId(String venueId) {
+        this.venueId = venueId;
+    }
+
+    public String getVenueName() {
+        return venueName;
+    }
+
+    public void setVenueName(String venueName) {
+        this.venueName = venueName;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(Double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+}
@@ -0,0 +1,94 @@
+package com.interview.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Drift between the event table and the search index found by one reconciler run")
+public class ReconcileReport {
+
+    @Schema(description = "Id ranges compared", example = "16")
+    private int rangesChecked;
+
+    @Schema(description = "Id ranges whose digests matched and were skipped", example = "15")
+    private int rangesMatched;
+
+    @Schema(description = "Events in the database but not in the index (reindexed)", example = "1")
+    private int missing;
+
+    @Schema(description = "Indexed events older than the database row (reindexed)", example = "2")
+    private int stale;
+
+    @Schema(description = "Index documents with no database row (deleted from the index)", example = "0")
+    private int orphans;
+
+    @Schema(description = "Run time in milliseconds", example = "42")
+    private long durationMs;
+
+    // Constructors
+    public ReconcileReport() {
+    }
+
+    // Getters and Setters
+    public int getRangesChecked() {
+        return rangesChecked;
+    }
+
+    public void setRangesChecked(int rangesChecked) {
+        this.rangesChecked = rangesChecked;
+    }
+
+    public int getRangesMatched() {
+        return rangesMatched;
+    }
+
+    public void setRangesMatched(int rangesMatched) {
+        this.rangesMatched = rangesMatched;
+    }
+
+    public int getMissing() {
+        return missing;
+    }
+
+    public void setMissing(int missing) {
+        this.missing = missing;
+    }
+
+    public int getStale() {
+        return stale;
+    }
+
+    public void setStale(int stale) {
+        this.stale = stale;
+    }
+
+    public int getOrphans() {
+        return orphans;
+    }
+
+    public void setOrphans(int orphans) {
+        this.orphans = orphans;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public int getDrift() {
+        return missing + stale + orphans;
+    }
+
+    @Override
+    public String toString() {
+        return "ReconcileReport{" +
+                "rangesChecked=" + rangesChecked +
+                ", rangesMatched=" + rangesMatched +
+                ", missing=" + missing +
+                ", stale=" + stale +
+                ", orphans=" + orphans +
+                ", durationMs=" + durationMs +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+package com.interview.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+@Schema(description = "One query of a batch search; same parameters as GET /api/events/search")
+public class SearchQuerySpec {
+
+    @Schema(description = "Keyword matched against name, description, performer and venue names", example = "jazz")
+    private String keyword;
+
+    @Schema(description = "City filter: exact city, as in the city facet, ignoring case", example = "Los Angeles")
+    private String city;
+
+    @Schema(description = "Page number (1-based)", example = "1")
+    @Min(value = 1, message = "Page must be at least 1")
+    private int page = 1;
+
+    @Schema(description = "Page size", example = "20")
+    @Min(value = 1, message = "Size must be at least 1")
+    @Max(value = 100, message = "Size must not exceed 100")
+    private int size = 20;
+
+    // Constructors
+    public SearchQuerySpec() {
+    }
+
+    public SearchQuerySpec(String keyword, String city, int page, int size) {
+        this.keyword = keyword;
+        this.city = city;
+        this.page = page;
+        this.size = size;
+    }
+
+    // Getters and Setters
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public void setKeyword(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,53 @@
+package com.interview.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Typeahead suggestion")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SuggestionResponse {
+
+    @Schema(description = "Suggested text", example = "Taylor Swift")
+    private String text;
+
+    @Schema(description = "Suggestion type: EVENT, PERFORMER or CITY", example = "PERFORMER")
+    private String type;
+
+    @Schema(description = "Event ID for EVENT suggestions")
+    private String id;
+
+    // Constructors
+    public SuggestionResponse() {
+    }
+
+    public SuggestionResponse(String text, String type, String id) {
+        this.text = text;
+        this.type = type;
+        this.id = id;
+    }
+
+    // Getters and Setters
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,16 @@
+package com.interview.exception;
+
+/**
+ * Under audit.durability=commit, an audit row was not stored in time (or failed to store); the account
+ * write that produced it must fail rather than commit without it
+ */
+public class AuditNotStoredException extends RuntimeException {
+
+    public AuditNotStoredException(String message) {
+        super(message);
+    }
+
+    public AuditNotStoredException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
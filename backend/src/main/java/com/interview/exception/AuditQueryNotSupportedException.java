@@ -0,0 +1,12 @@
+package com.interview.exception;
+
+/**
+ * The audit query cannot be answered by the configured audit sink (audit.sink=journal keeps rows out of the
+ * database); mapped to 501 rather than answering with an empty result
+ */
+public class AuditQueryNotSupportedException extends RuntimeException {
+
+    public AuditQueryNotSupportedException(String message) {
+        super(message);
+    }
+}
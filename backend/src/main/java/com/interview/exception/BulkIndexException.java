@@ -0,0 +1,25 @@
+package com.interview.exception;
+
+/**
+ * Some items of a bulk index request failed; the others were indexed. Both counts are kept so callers
+ * can report them (the reconciler repairs the missing documents later)
+ */
+public class BulkIndexException extends RuntimeException {
+
+    private final int indexed;
+    private final int failed;
+
+    public BulkIndexException(String message, int indexed, int failed) {
+        super(message);
+        this.indexed = indexed;
+        this.failed = failed;
+    }
+
+    public int getIndexed() {
+        return indexed;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+}
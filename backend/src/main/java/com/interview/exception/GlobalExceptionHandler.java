@@ -1,18 +1,75 @@
 package com.interview.exception;
 
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    @ExceptionHandler({PreconditionFailedException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailed(RuntimeException ex) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.PRECONDITION_FAILED.value());
+        errorResponse.put("error", "Precondition Failed");
+        errorResponse.put("message", "The resource was modified by another request; fetch it again and retry");
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    /**
+     * Failed @Valid / constraint checks on request bodies and parameters
+     */
+    @ExceptionHandler({MethodArgumentNotValidException.class, HandlerMethodValidationException.class})
+    public ResponseEntity<Map<String, Object>> handleValidationException(Exception ex) {
+        List<? extends MessageSourceResolvable> errors = ex instanceof MethodArgumentNotValidException invalid
+                ? invalid.getAllErrors()
+                : ((HandlerMethodValidationException) ex).getAllErrors();
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
+        errorResponse.put("error", "Bad Request");
+        errorResponse.put("message", errors.stream()
+                .map(MessageSourceResolvable::getDefaultMessage)
+                .distinct()
+                .collect(Collectors.joining("; ")));
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(AuditQueryNotSupportedException.class)
+    public ResponseEntity<Map<String, Object>> handleAuditQueryNotSupported(AuditQueryNotSupportedException ex) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.NOT_IMPLEMENTED.value());
+        errorResponse.put("error", "Not Implemented");
+        errorResponse.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(errorResponse);
+    }
+
+    @ExceptionHandler({DataAccessException.class, TransactionException.class, AuditNotStoredException.class})
+    public ResponseEntity<Map<String, Object>> handleDataAccessException(RuntimeException ex) {
+        // A storage failure (database, Redis, a commit that failed, e.g. for want of its audit rows) is not a
+        // missing resource; more specific handlers above still apply
+        return handleGenericException(ex);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, Object>> handleRuntimeException(RuntimeException ex) {
         Map<String, Object> errorResponse = new HashMap<>();
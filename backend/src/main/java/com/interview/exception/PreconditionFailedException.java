@@ -0,0 +1,11 @@
+package com.interview.exception;
+
+/**
+ * A conditional request (If-Match) named a version that is no longer current; mapped to 412
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
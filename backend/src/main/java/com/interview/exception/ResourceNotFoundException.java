@@ -0,0 +1,11 @@
+package com.interview.exception;
+
+/**
+ * The requested entity (or one it refers to) does not exist; mapped to 404
+ */
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
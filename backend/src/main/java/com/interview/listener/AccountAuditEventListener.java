@@ -0,0 +1,126 @@
+package com.interview.listener;
+
+import com.interview.exception.AuditNotStoredException;
+import com.interview.model.Account;
+import com.interview.service.AuditLogService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Hibernate post-update listener for Account auditing (creation is still logged by AccountAuditListener).
+ *
+ * Unlike a JPA @PostUpdate callback it sees the loaded and the flushed state, so it records only the
+ * fields that changed, as old/new pairs, and logs nothing when only bookkeeping columns changed.
+ * Setting deletedAt is logged as a DELETE.
+ */
+@Component
+public class AccountAuditEventListener implements PostUpdateEventListener {
+
+    // Maintained by the entity itself (or Hibernate's optimistic locking) on every update
+    static final Set<String> IGNORED_FIELDS = Set.of("createdAt", "updatedAt", "version");
+    // Recorded as changed, without values
+    static final Set<String> MASKED_FIELDS = Set.of("password");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final AuditLogService auditLogService;
+
+    @Autowired
+    public AccountAuditEventListener(EntityManagerFactory entityManagerFactory, AuditLogService auditLogService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.auditLogService = auditLogService;
+    }
+
+    @PostConstruct
+    public void register() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_UPDATE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Account account)) {
+            return;
+        }
+        try {
+            String[] names = event.getPersister().getPropertyNames();
+            Object[] oldState = event.getOldState();
+            Object[] state = event.getState();
+            if (oldState == null) {
+                // Updated without a loaded snapshot (e.g. a detached entity): no diff is possible
+                auditLogService.logAccountUpdate(account, null);
+                return;
+            }
+            int deletedAt = indexOf(names, "deletedAt");
+            if (deletedAt >= 0 && oldState[deletedAt] == null && state[deletedAt] != null) {
+                auditLogService.logAccountDeletion(account);
+                return;
+            }
+            auditLogService.logAccountUpdate(account,
+                    diff(names, event.getPersister().getPropertyTypes(), event.getDirtyProperties(), oldState, state));
+        } catch (AuditNotStoredException e) {
+            // audit.durability=commit: fail the flush, and with it the commit, rather than lose the row
+            throw e;
+        } catch (Exception e) {
+            System.err.println("Failed to log account update/delete audit: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Changed fields in property order: name to [old, new], or to null for masked fields.
+     * Uses Hibernate's dirty properties when available, otherwise compares the two states.
+     */
+    static Map<String, Object[]> diff(String[] names, Type[] types, int[] dirtyProperties,
+                                      Object[] oldState, Object[] state) {
+        Map<String, Object[]> changes = new LinkedHashMap<>();
+        if (dirtyProperties != null) {
+            for (int i : dirtyProperties) {
+                addChange(changes, names[i], types[i], oldState[i], state[i]);
+            }
+        } else {
+            for (int i = 0; i < names.length; i++) {
+                if (!Objects.equals(oldState[i], state[i])) {
+                    addChange(changes, names[i], types[i], oldState[i], state[i]);
+                }
+            }
+        }
+        return changes;
+    }
+
+    private static void addChange(Map<String, Object[]> changes, String name, Type type, Object oldValue, Object newValue) {
+        // Collections (roles) are not part of the entity row and have no old/new snapshot here
+        if (IGNORED_FIELDS.contains(name) || (type != null && type.isCollectionType())) {
+            return;
+        }
+        changes.put(name, MASKED_FIELDS.contains(name) ? null : new Object[] {oldValue, newValue});
+    }
+
+    private static int indexOf(String[] names, String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+package com.interview.listener;
+
+import com.interview.config.SpringContext;
+import com.interview.model.Event;
+import com.interview.model.EventTombstone;
+import com.interview.service.EventChangeSequence;
+import jakarta.persistence.*;
+
+/**
+ * JPA Entity Listener for Event and EventTombstone
+ * Stamps every insert and update with the next change sequence number, so GET /api/events/changes
+ * can return everything written after a client's watermark
+ *
+ * Failures are not swallowed: a write without a sequence number would never reach the change feed.
+ */
+public class EventChangeListener {
+
+    private static EventChangeSequence changeSequence;
+
+    private static EventChangeSequence getChangeSequence() {
+        if (changeSequence == null) {
+            changeSequence = SpringContext.getBean(EventChangeSequence.class);
+        }
+        return changeSequence;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void assignChangeSeq(Object entity) {
+        if (entity instanceof Event event) {
+            event.setChangeSeq(getChangeSequence().next());
+        } else if (entity instanceof EventTombstone tombstone) {
+            tombstone.setChangeSeq(getChangeSequence().next());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.interview.listener;
+
+import com.interview.config.SpringContext;
+import com.interview.model.Performer;
+import com.interview.model.Venue;
+import com.interview.service.SearchFanoutService;
+import jakarta.persistence.*;
+
+/**
+ * JPA Entity Listener for Venue and Performer
+ * Queues a reindex of the related event documents, which embed venue and performer fields
+ *
+ */
+public class SearchFanoutListener {
+
+    private static SearchFanoutService fanoutService;
+
+    private static SearchFanoutService getFanoutService() {
+        if (fanoutService == null) {
+            fanoutService = SpringContext.getBean(SearchFanoutService.class);
+        }
+        return fanoutService;
+    }
+
+    @PostUpdate
+    public void postUpdate(Object entity) {
+        try {
+            if (entity instanceof Venue venue) {
+                getFanoutService().venueChanged(venue.getId());
+            } else if (entity instanceof Performer performer) {
+                getFanoutService().performerChanged(performer.getId());
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to queue search fan-out: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.interview.listener;
+
+import com.interview.config.SpringContext;
+import com.interview.model.Venue;
+import com.interview.service.NearbyEventService;
+import com.interview.service.ZipCentroids;
+import jakarta.persistence.*;
+
+/**
+ * JPA Entity Listener for Venue
+ * Fills missing coordinates from the zip centroid table and marks the nearby-events index stale
+ *
+ */
+public class VenueGeoListener {
+
+    private static ZipCentroids zipCentroids;
+    private static NearbyEventService nearbyEventService;
+
+    private static ZipCentroids getZipCentroids() {
+        if (zipCentroids == null) {
+            zipCentroids = SpringContext.getBean(ZipCentroids.class);
+        }
+        return zipCentroids;
+    }
+
+    private static NearbyEventService getNearbyEventService() {
+        if (nearbyEventService == null) {
+            nearbyEventService = SpringContext.getBean(NearbyEventService.class);
+        }
+        return nearbyEventService;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void resolveCoordinates(Venue venue) {
+        if (venue.getLatitude() != null && venue.getLongitude() != null) {
+            return;
+        }
+        try {
+            double[] centroid = getZipCentroids().lookup(venue.getZipCode());
+            if (centroid != null) {
+                venue.setLatitude(centroid[0]);
+                venue.setLongitude(centroid[1]);
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to resolve venue coordinates: " + e.getMessage());
+        }
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void venueChanged(Venue venue) {
+        try {
+            getNearbyEventService().markStale();
+        } catch (Exception e) {
+            System.err.println("Failed to mark nearby index stale: " + e.getMessage());
+        }
+    }
+}
@@ -13,7 +13,7 @@ import java.util.UUID;
 public class Account {
 
     @Id
-    @GeneratedValue(generator = "UUID")
+    @UuidV7
     @Column(name = "id", updatable = false, nullable = false, columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -38,12 +38,14 @@ public class Account {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Checked and bumped by every UPDATE; the ETag of GET /api/accounts/{id}
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
-    @Transient
-    private boolean auditedAsDeleted = false; // Transient flag to track if deletion was audited
-
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
         name = "account_role",
@@ -139,20 +141,20 @@ public class Account {
         this.updatedAt = updatedAt;
     }
 
-    public LocalDateTime getDeletedAt() {
-        return deletedAt;
+    public Long getVersion() {
+        return version;
     }
 
-    public void setDeletedAt(LocalDateTime deletedAt) {
-        this.deletedAt = deletedAt;
+    public void setVersion(Long version) {
+        this.version = version;
     }
 
-    public boolean isAuditedAsDeleted() {
-        return auditedAsDeleted;
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
     }
 
-    public void setAuditedAsDeleted(boolean auditedAsDeleted) {
-        this.auditedAsDeleted = auditedAsDeleted;
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
     }
 
     public Set<Role> getRoles() {
@@ -1,40 +1,26 @@
 package com.interview.model;
 
-import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-@Entity
-@Table(name = "audit_log")
+/**
+ * One audit entry. Not a JPA entity: rows are stored in monthly partition tables
+ * (audit_log_yyyyMM) by AuditLogRepository.
+ */
 public class AuditLog {
 
-    @Id
-    @GeneratedValue(generator = "UUID")
-    @Column(name = "id", updatable = false, nullable = false, columnDefinition = "BINARY(16)")
     private UUID id;
 
-    @Column(name = "account_id", nullable = false, columnDefinition = "BINARY(16)")
     private UUID accountId;
 
-    @Column(name = "action", nullable = false, length = 20)
     private String action; // CREATE, UPDATE, DELETE
 
-    @Column(name = "timestamp", nullable = false)
     private LocalDateTime timestamp;
 
-    @Column(name = "details", columnDefinition = "TEXT")
     private String details; // JSON or text description of changes
 
-    @Column(name = "performed_by")
     private String performedBy; // Email of user who performed the action
 
-    @PrePersist
-    protected void onCreate() {
-        if (timestamp == null) {
-            timestamp = LocalDateTime.now();
-        }
-    }
-
     // Constructors
     public AuditLog() {
     }
@@ -1,17 +1,23 @@
 package com.interview.model;
 
+import com.interview.listener.EventChangeListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.OptimisticLock;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "event")
+@Table(name = "event", indexes = {
+        @Index(name = "idx_event_change_seq", columnList = "change_seq")
+})
+@EntityListeners(EventChangeListener.class)
 public class Event {
 
     @Id
-    @GeneratedValue(generator = "UUID")
+    @UuidV7
     @Column(name = "id", updatable = false, nullable = false, columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -33,10 +39,24 @@ public class Event {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock; sent to clients as the ETag and compared with If-Match
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Position in the change feed (GET /api/events/changes); set on every insert and update
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
     @ManyToOne
     @JoinColumn(name = "venue_id")
     private Venue venue;
 
+    // Lazy performer loads for events already in the session are grouped, up to 100 events per query
+    @BatchSize(size = 100)
+    // Not versioned on its own: EventService bumps the version once per update, including performer-only
+    // changes, so relinking performers must not add a second version increment at flush
+    @OptimisticLock(excluded = true)
     @ManyToMany(cascade = {CascadeType.MERGE})
     @JoinTable(
         name = "event_performer",
@@ -124,6 +144,22 @@ public class Event {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
     public Venue getVenue() {
         return venue;
     }
@@ -1,6 +1,13 @@
 package com.interview.model;
 
+import org.hibernate.Hibernate;
+
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
 
 public class EventDocument {
 
@@ -10,6 +17,108 @@ public class EventDocument {
     private LocalDateTime eventDate;
     private String location;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private long versionHash;
+    private String city;
+    private List<String> genres = new ArrayList<>();
+    private VenueInfo venue;
+    private List<PerformerInfo> performers = new ArrayList<>();
+
+    /**
+     * Venue fields embedded in the document so venue name/city searches need no DB join
+     */
+    public static class VenueInfo {
+        private String id;
+        private String name;
+        private String city;
+        private String state;
+        private String zipCode;
+        private Integer capacity;
+        private GeoPoint location;
+
+        public VenueInfo() {
+        }
+
+        public static VenueInfo fromVenue(Venue venue) {
+            VenueInfo info = new VenueInfo();
+            info.id = venue.getId() != null ? venue.getId().toString() : null;
+            info.name = venue.getName();
+            info.city = venue.getCity();
+            info.state = venue.getState();
+            info.zipCode = venue.getZipCode();
+            info.capacity = venue.getCapacity();
+            if (venue.getLatitude() != null && venue.getLongitude() != null) {
+                info.location = new GeoPoint(venue.getLatitude(), venue.getLongitude());
+            }
+            return info;
+        }
+
+        public String getId() { return id; }
+        public String getName() { return name; }
+        public String getCity() { return city; }
+        public String getState() { return state; }
+        public String getZipCode() { return zipCode; }
+        public Integer getCapacity() { return capacity; }
+        public GeoPoint getLocation() { return location; }
+
+        public void setId(String id) { this.id = id; }
+        public void setName(String name) { this.name = name; }
+        public void setCity(String city) { this.city = city; }
+        public void setState(String state) { this.state = state; }
+        public void setZipCode(String zipCode) { this.zipCode = zipCode; }
+        public void setCapacity(Integer capacity) { this.capacity = capacity; }
+        public void setLocation(GeoPoint location) { this.location = location; }
+    }
+
+    /**
+     * Venue coordinates, mapped as a geo_point ({"lat": .., "lon": ..})
+     */
+    public static class GeoPoint {
+        private double lat;
+        private double lon;
+
+        public GeoPoint() {
+        }
+
+        public GeoPoint(double lat, double lon) {
+            this.lat = lat;
+            this.lon = lon;
+        }
+
+        public double getLat() { return lat; }
+        public double getLon() { return lon; }
+
+        public void setLat(double lat) { this.lat = lat; }
+        public void setLon(double lon) { this.lon = lon; }
+    }
+
+    /**
+     * Performer fields embedded in the document
+     */
+    public static class PerformerInfo {
+        private String id;
+        private String name;
+        private String genre;
+
+        public PerformerInfo() {
+        }
+
+        public static PerformerInfo fromPerformer(Performer performer) {
+            PerformerInfo info = new PerformerInfo();
+            info.id = performer.getId() != null ? performer.getId().toString() : null;
+            info.name = performer.getName();
+            info.genre = performer.getGenre();
+            return info;
+        }
+
+        public String getId() { return id; }
+        public String getName() { return name; }
+        public String getGenre() { return genre; }
+
+        public void setId(String id) { this.id = id; }
+        public void setName(String name) { this.name = name; }
+        public void setGenre(String genre) { this.genre = genre; }
+    }
 
     // No-arg constructor for Jackson
     public EventDocument() {
@@ -30,7 +139,7 @@ public class EventDocument {
 
     // Static mapper method
     public static EventDocument fromEvent(Event event) {
-        return new EventDocument(
+        EventDocument doc = new EventDocument(
                 event.getId().toString(),
                 event.getName(),
                 event.getDescription(),
@@ -38,6 +147,66 @@ public class EventDocument {
                 event.getLocation(),
                 event.getCreatedAt()
         );
+        doc.setUpdatedAt(event.getUpdatedAt());
+        doc.setCity(cityOf(event));
+        // The embedded venue and performers are part of the document's version
+        LocalDateTime contentUpdatedAt = event.getUpdatedAt();
+        if (event.getVenue() != null && Hibernate.isInitialized(event.getVenue())) {
+            doc.setVenue(VenueInfo.fromVenue(event.getVenue()));
+            contentUpdatedAt = latest(contentUpdatedAt, event.getVenue().getUpdatedAt());
+        }
+        if (event.getPerformers() != null && Hibernate.isInitialized(event.getPerformers())) {
+            for (Performer performer : event.getPerformers()) {
+                doc.performers.add(PerformerInfo.fromPerformer(performer));
+                contentUpdatedAt = latest(contentUpdatedAt, performer.getUpdatedAt());
+                if (performer.getGenre() != null && !doc.genres.contains(performer.getGenre())) {
+                    doc.genres.add(performer.getGenre());
+                }
+            }
+        }
+        doc.setVersionHash(versionHash(doc.getId(), contentUpdatedAt));
+        return doc;
+    }
+
+    /**
+     * The later of two timestamps, ignoring nulls; used to fold venue and performer updates into the
+     * version of the documents that embed them
+     */
+    public static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * 31-bit hash of (id, updatedAt to the millisecond), used by the index reconciler. updatedAt is the latest
+     * of the event's, its venue's and its performers' updatedAt, so a venue or performer change whose fan-out
+     * reindex never ran (e.g. lost with the node that queued it) still shows up as a stale document.
+     * Kept below 2^31 so a range's sum stays exact in OpenSearch's double-valued sum aggregation.
+     */
+    public static long versionHash(String id, LocalDateTime updatedAt) {
+        CRC32 crc = new CRC32();
+        crc.update(id.getBytes(StandardCharsets.UTF_8));
+        if (updatedAt != null) {
+            crc.update(updatedAt.truncatedTo(ChronoUnit.MILLIS).toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return crc.getValue() & 0x7fffffffL;
+    }
+
+    /**
+     * Venue city when known, otherwise the city part of "Venue, City, ST" style locations
+     */
+    public static String cityOf(Event event) {
+        if (event.getVenue() != null && Hibernate.isInitialized(event.getVenue())) {
+            return event.getVenue().getCity();
+        }
+        String location = event.getLocation();
+        if (location == null) {
+            return null;
+        }
+        String[] parts = location.split(",");
+        return parts.length >= 2 ? parts[parts.length - 2].trim() : location.trim();
     }
 
     // Getters
@@ -47,6 +216,12 @@ public class EventDocument {
     public LocalDateTime getEventDate() { return eventDate; }
     public String getLocation() { return location; }
     public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public long getVersionHash() { return versionHash; }
+    public String getCity() { return city; }
+    public List<String> getGenres() { return genres; }
+    public VenueInfo getVenue() { return venue; }
+    public List<PerformerInfo> getPerformers() { return performers; }
 
     // Setters for Jackson
     public void setId(String id) { this.id = id; }
@@ -55,4 +230,10 @@ public class EventDocument {
     public void setEventDate(LocalDateTime eventDate) { this.eventDate = eventDate; }
     public void setLocation(String location) { this.location = location; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public void setVersionHash(long versionHash) { this.versionHash = versionHash; }
+    public void setCity(String city) { this.city = city; }
+    public void setGenres(List<String> genres) { this.genres = genres; }
+    public void setVenue(VenueInfo venue) { this.venue = venue; }
+    public void setPerformers(List<PerformerInfo> performers) { this.performers = performers; }
 }
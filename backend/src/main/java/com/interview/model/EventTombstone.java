@@ -0,0 +1,61 @@
+package com.interview.model;
+
+import com.interview.listener.EventChangeListener;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Marker left behind when an event is deleted, so delta sync clients learn about the delete
+ */
+@Entity
+@Table(name = "event_tombstone", indexes = {
+        @Index(name = "idx_event_tombstone_change_seq", columnList = "change_seq")
+})
+@EntityListeners(EventChangeListener.class)
+public class EventTombstone {
+
+    @Id
+    @Column(name = "event_id", updatable = false, nullable = false, columnDefinition = "BINARY(16)")
+    private UUID eventId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Constructors
+    public EventTombstone() {
+    }
+
+    public EventTombstone(UUID eventId) {
+        this.eventId = eventId;
+        this.deletedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(UUID eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
@@ -1,6 +1,7 @@
 package com.interview.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.interview.listener.SearchFanoutListener;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -10,10 +11,11 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "performer")
+@EntityListeners(SearchFanoutListener.class)
 public class Performer {
 
     @Id
-    @GeneratedValue(generator = "UUID")
+    @UuidV7
     @Column(name = "id", updatable = false, nullable = false, columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -31,6 +33,10 @@ public class Performer {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToMany(mappedBy = "performers")
     @JsonIgnore
     private Set<Event> events = new HashSet<>();
@@ -105,6 +111,14 @@ public class Performer {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Set<Event> getEvents() {
         return events;
     }
@@ -0,0 +1,76 @@
+package com.interview.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUID version 7 (RFC 9562): 48-bit Unix millisecond timestamp, then a 12-bit counter (rand_a),
+ * then 62 random bits.
+ *
+ * Ids from this JVM are strictly increasing: within one millisecond the counter is incremented,
+ * and if it runs out, or the clock steps back, the timestamp is carried forward instead of repeating
+ * a value. The (timestamp, counter) state is a single AtomicLong advanced by compare-and-set, so
+ * generating an id never takes a lock. Uniqueness across nodes rests on the random bits.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    // (unix ms << 12) | counter of the last id handed out
+    private static final AtomicLong lastStamp = new AtomicLong();
+
+    public UuidV7Generator(UuidV7 config, Member idMember, CustomIdGeneratorCreationContext creationContext) {
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    public static UUID next() {
+        return fromStamp(nextStamp(System.currentTimeMillis()), ThreadLocalRandom.current().nextLong());
+    }
+
+    static long nextStamp(long nowMillis) {
+        long candidate = nowMillis << 12;
+        while (true) {
+            long last = lastStamp.get();
+            long stamp = candidate > last ? candidate : last + 1;
+            if (lastStamp.compareAndSet(last, stamp)) {
+                return stamp;
+            }
+        }
+    }
+
+    static UUID fromStamp(long stamp, long random) {
+        long timestamp = stamp >>> 12;
+        long counter = stamp & 0xFFF;
+        long mostSigBits = (timestamp << 16) | VERSION | counter;
+        long leastSigBits = VARIANT | (random & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Unix millisecond timestamp embedded in a version 7 UUID
+     */
+    static long timestampOf(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
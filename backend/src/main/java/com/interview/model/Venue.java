@@ -1,15 +1,18 @@
 package com.interview.model;
 
+import com.interview.listener.SearchFanoutListener;
+import com.interview.listener.VenueGeoListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
 @Table(name = "venue")
+@EntityListeners({SearchFanoutListener.class, VenueGeoListener.class})
 public class Venue {
 
     @Id
-    @GeneratedValue(generator = "UUID")
+    @UuidV7
     @Column(name = "id", updatable = false, nullable = false, columnDefinition = "BINARY(16)")
     private UUID id;
 
@@ -30,12 +33,21 @@ public class Venue {
 
     private Integer capacity;
 
+    // WGS84 coordinates; filled from the zip centroid table when not set explicitly
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -117,6 +129,22 @@ public class Venue {
         this.capacity = capacity;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -132,4 +160,12 @@ public class Venue {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -1,21 +1,397 @@
 package com.interview.repository;
 
+import com.interview.dto.AuditLogQuery;
+import com.interview.dto.AuditRollupResponse;
 import com.interview.model.AuditLog;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.interview.model.UuidV7Generator;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.sql.DataSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
+/**
+ * Audit log storage partitioned by month: rows live in one table per month, audit_log_yyyyMM, created on
+ * first write. This class is the routing layer: inserts go to the partition of each row's timestamp,
+ * queries visit only the partitions their time range (or cursor) can touch, and retention drops whole
+ * partitions instead of deleting rows.
+ *
+ * The known partitions are cached per JVM. Other nodes create and drop partitions too, so the cache is
+ * re-read from the catalog when a read misses the newest month it can reach (at most once a second) and
+ * before retention drops anything.
+ *
+ * Daily counts by action and performer are kept in audit_rollup_daily, which outlives the partitions.
+ */
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
+public class AuditLogRepository {
+
+    static final String PARTITION_PREFIX = "audit_log_";
+    static final String ROLLUP_TABLE = "audit_rollup_daily";
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String COLUMNS = "id, account_id, action, timestamp, details, performed_by";
+
+    private static final RowMapper<AuditLog> ROW_MAPPER = (rs, rowNum) -> {
+        AuditLog auditLog = new AuditLog(rs.getObject("account_id", UUID.class), rs.getString("action"),
+                rs.getString("details"), rs.getString("performed_by"));
+        auditLog.setId(rs.getObject("id", UUID.class));
+        auditLog.setTimestamp(rs.getObject("timestamp", LocalDateTime.class));
+        return auditLog;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingTemplate;
+    private final NavigableSet<YearMonth> partitions;
+    private final ReentrantLock ddlLock;
+    // System.nanoTime() of the last catalog read, and the least time between two re-reads on a miss
+    private final AtomicLong lastRefresh;
+    private final long refreshOnMissNanos;
+
+    @Autowired
+    public AuditLogRepository(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, TimeUnit.SECONDS.toNanos(1));
+    }
+
+    AuditLogRepository(JdbcTemplate jdbcTemplate, long refreshOnMissNanos) {
+        this(jdbcTemplate, new ConcurrentSkipListSet<>(), new ReentrantLock(), new AtomicLong(System.nanoTime()),
+                refreshOnMissNanos);
+    }
+
+    private AuditLogRepository(JdbcTemplate jdbcTemplate, NavigableSet<YearMonth> partitions, ReentrantLock ddlLock,
+                               AtomicLong lastRefresh, long refreshOnMissNanos) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Exports read whole partitions; fetch rows in chunks instead of all at once
+        this.streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingTemplate.setFetchSize(500);
+        this.partitions = partitions;
+        this.ddlLock = ddlLock;
+        this.lastRefresh = lastRefresh;
+        this.refreshOnMissNanos = refreshOnMissNanos;
+    }
+
+    /**
+     * The same storage reached through another connection pool. Known partitions are shared with this
+     * instance, so partitions created through either are visible to both.
+     */
+    public AuditLogRepository using(DataSource dataSource) {
+        return new AuditLogRepository(new JdbcTemplate(dataSource), partitions, ddlLock, lastRefresh, refreshOnMissNanos);
+    }
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ROLLUP_TABLE + " ("
+                + "rollup_date DATE NOT NULL, "
+                + "action VARCHAR(20) NOT NULL, "
+                + "performed_by VARCHAR(255) NOT NULL, "
+                + "entries BIGINT NOT NULL, "
+                + "PRIMARY KEY (rollup_date, action, performed_by))");
+        refreshPartitions();
+    }
+
+    /**
+     * Re-read the partition list from the catalog, picking up partitions created or dropped by other nodes
+     */
+    public void refreshPartitions() {
+        ddlLock.lock();
+        try {
+            List<String> tables = jdbcTemplate.queryForList(
+                    "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND UPPER(TABLE_NAME) LIKE ?",
+                    String.class, PARTITION_PREFIX.toUpperCase() + "%");
+            Set<YearMonth> found = new HashSet<>();
+            for (String table : tables) {
+                String suffix = table.substring(PARTITION_PREFIX.length());
+                if (suffix.matches("\\d{6}")) {
+                    found.add(YearMonth.parse(suffix, MONTH));
+                }
+            }
+            partitions.addAll(found);
+            partitions.retainAll(found);
+            lastRefresh.set(System.nanoTime());
+        } finally {
+            ddlLock.unlock();
+        }
+    }
+
+    /**
+     * Insert rows, each into the partition of its month, as one JDBC batch per partition.
+     * Rows without an id or timestamp get one here.
+     */
+    public void insertAll(List<AuditLog> rows) {
+        Map<YearMonth, List<AuditLog>> byMonth = new TreeMap<>();
+        for (AuditLog row : rows) {
+            if (row.getId() == null) {
+                row.setId(UuidV7Generator.next());
+            }
+            if (row.getTimestamp() == null) {
+                row.setTimestamp(LocalDateTime.now());
+            }
+            byMonth.computeIfAbsent(YearMonth.from(row.getTimestamp()), month -> new ArrayList<>()).add(row);
+        }
+        // DDL commits implicitly in H2: create every partition before the first insert of this transaction
+        byMonth.keySet().forEach(this::ensurePartition);
+        byMonth.forEach((month, monthRows) -> {
+            jdbcTemplate.batchUpdate("INSERT INTO " + table(month) + " (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)",
+                    monthRows, monthRows.size(), (ps, row) -> {
+                        ps.setObject(1, row.getId());
+                        ps.setObject(2, row.getAccountId());
+                        ps.setString(3, row.getAction());
+                        ps.setObject(4, row.getTimestamp());
+                        ps.setString(5, row.getDetails());
+                        ps.setString(6, row.getPerformedBy());
+                    });
+        });
+    }
+
+    /**
+     * Up to limit rows matching the query, newest first, strictly after the keyset position
+     * (cursorTimestamp, cursorId) when one is given. Partitions are read newest first and the scan
+     * stops as soon as the page is full.
+     */
+    public List<AuditLog> findPage(AuditLogQuery query, LocalDateTime cursorTimestamp, UUID cursorId, int limit) {
+        List<AuditLog> rows = new ArrayList<>(limit);
+        LocalDateTime upper = query.getTo();
+        if (cursorTimestamp != null && (upper == null || cursorTimestamp.isBefore(upper))) {
+            upper = cursorTimestamp.plusNanos(1);
+        }
+        for (YearMonth month : partitionsBetween(query.getFrom(), upper).descendingSet()) {
+            List<Object> params = new ArrayList<>();
+            StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM " + table(month));
+            List<String> conditions = filterConditions(query, params);
+            if (cursorTimestamp != null) {
+                conditions.add("(timestamp < ? OR (timestamp = ? AND id < ?))");
+                params.add(cursorTimestamp);
+                params.add(cursorTimestamp);
+                params.add(cursorId);
+            }
+            appendWhere(sql, conditions);
+            sql.append(" ORDER BY timestamp DESC, id DESC LIMIT ?");
+            params.add(limit - rows.size());
+            rows.addAll(jdbcTemplate.query(sql.toString(), ROW_MAPPER, params.toArray()));
+            if (rows.size() >= limit) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Pass every row matching the query to consumer, oldest first, one partition at a time
+     */
+    public void streamAll(AuditLogQuery query, Consumer<AuditLog> consumer) {
+        for (YearMonth month : partitionsBetween(query.getFrom(), query.getTo())) {
+            List<Object> params = new ArrayList<>();
+            StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM " + table(month));
+            appendWhere(sql, filterConditions(query, params));
+            sql.append(" ORDER BY timestamp ASC, id ASC");
+            streamingTemplate.query(sql.toString(), rs -> {
+                consumer.accept(ROW_MAPPER.mapRow(rs, 0));
+            }, params.toArray());
+        }
+    }
+
+    /**
+     * Recompute the stored rollup of one day from its partition; safe to run again for the same day
+     */
+    @Transactional
+    public int rollupDay(LocalDate day) {
+        jdbcTemplate.update("DELETE FROM " + ROLLUP_TABLE + " WHERE rollup_date = ?", day);
+        YearMonth month = YearMonth.from(day);
+        if (!hasPartition(month)) {
+            return 0;
+        }
+        return jdbcTemplate.update("INSERT INTO " + ROLLUP_TABLE + " (rollup_date, action, performed_by, entries) "
+                        + "SELECT CAST(? AS DATE), action, COALESCE(performed_by, ''), COUNT(*) FROM " + table(month)
+                        + " WHERE timestamp >= ? AND timestamp < ? GROUP BY action, COALESCE(performed_by, '')",
+                day, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Latest day that has stored rollup rows, or null
+     */
+    public LocalDate findLastRollupDay() {
+        return jdbcTemplate.queryForObject("SELECT MAX(rollup_date) FROM " + ROLLUP_TABLE, LocalDate.class);
+    }
+
+    /**
+     * Stored daily rollups with from <= day <= to
+     */
+    public List<AuditRollupResponse> findRollups(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT rollup_date, action, performed_by, entries FROM " + ROLLUP_TABLE
+                        + " WHERE rollup_date BETWEEN ? AND ? ORDER BY rollup_date, action, performed_by",
+                (rs, rowNum) -> new AuditRollupResponse(rs.getObject("rollup_date", LocalDate.class),
+                        rs.getString("action"), rs.getString("performed_by"), rs.getLong("entries")),
+                from, to);
+    }
+
+    /**
+     * Counts for one day computed from its partition without storing them (used for today)
+     */
+    public List<AuditRollupResponse> aggregateDay(LocalDate day) {
+        YearMonth month = YearMonth.from(day);
+        if (!hasPartition(month)) {
+            return List.of();
+        }
+        return jdbcTemplate.query("SELECT action, COALESCE(performed_by, '') AS performed_by, COUNT(*) AS entries FROM "
+                        + table(month) + " WHERE timestamp >= ? AND timestamp < ?"
+                        + " GROUP BY action, COALESCE(performed_by, '') ORDER BY action, performed_by",
+                (rs, rowNum) -> new AuditRollupResponse(day, rs.getString("action"), rs.getString("performed_by"),
+                        rs.getLong("entries")),
+                day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Drop every partition of a month before cutoff; returns the months dropped.
+     * Callers roll the days up first: rollups are all that remains of a dropped month.
+     */
+    public List<YearMonth> dropPartitionsBefore(YearMonth cutoff) {
+        // Old months may have been created on other nodes only
+        refreshPartitions();
+        List<YearMonth> dropped = new ArrayList<>();
+        for (YearMonth month : new ArrayList<>(partitions.headSet(cutoff, false))) {
+            ddlLock.lock();
+            try {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + table(month));
+                partitions.remove(month);
+                dropped.add(month);
+            } finally {
+                ddlLock.unlock();
+            }
+        }
+        return dropped;
+    }
+
+    public List<YearMonth> getPartitions() {
+        return new ArrayList<>(partitions);
+    }
+
+    /**
+     * Create the month's table with the same filter-path indexes as GET /api/audit uses, once.
+     * The CHECK constraint keeps a routing mistake from putting rows into the wrong month.
+     */
+    void ensurePartition(YearMonth month) {
+        if (partitions.contains(month)) {
+            return;
+        }
+        ddlLock.lock();
+        try {
+            if (partitions.contains(month)) {
+                return;
+            }
+            String table = table(month);
+            String suffix = month.format(MONTH);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + " ("
+                    + "id UUID NOT NULL PRIMARY KEY, "
+                    + "account_id UUID NOT NULL, "
+                    + "action VARCHAR(20) NOT NULL, "
+                    + "timestamp TIMESTAMP NOT NULL, "
+                    + "details VARCHAR, "
+                    + "performed_by VARCHAR(255), "
+                    + "CHECK (timestamp >= TIMESTAMP '" + month.atDay(1) + " 00:00:00'"
+                    + " AND timestamp < TIMESTAMP '" + month.plusMonths(1).atDay(1) + " 00:00:00'))");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_audit_" + suffix + "_timestamp_id ON " + table + " (timestamp, id)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_audit_" + suffix + "_account ON " + table + " (account_id, timestamp, id)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_audit_" + suffix + "_action ON " + table + " (action, timestamp, id)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_audit_" + suffix + "_performed_by ON " + table + " (performed_by, timestamp, id)");
+            partitions.add(month);
+        } finally {
+            ddlLock.unlock();
+        }
+    }
+
+    /**
+     * Existing partitions that can hold rows in [from, to), oldest first
+     */
+    private NavigableSet<YearMonth> partitionsBetween(LocalDateTime from, LocalDateTime to) {
+        // Rows are written with the current time, so the newest reachable month is the one another node
+        // is most likely to have created
+        YearMonth newest = YearMonth.now();
+        if (to != null && YearMonth.from(to.minusNanos(1)).isBefore(newest)) {
+            newest = YearMonth.from(to.minusNanos(1));
+        }
+        hasPartition(newest);
+        NavigableSet<YearMonth> result = partitions;
+        if (from != null) {
+            result = result.tailSet(YearMonth.from(from), true);
+        }
+        if (to != null) {
+            // to is exclusive: a range ending exactly at the start of a month does not touch that month
+            YearMonth last = YearMonth.from(to.minusNanos(1));
+            result = result.headSet(last, true);
+        }
+        return new ConcurrentSkipListSet<>(result);
+    }
+
+    /**
+     * Whether month has a partition; on a miss the catalog is re-read (at most once a second), since another
+     * node may have created it
+     */
+    private boolean hasPartition(YearMonth month) {
+        if (partitions.contains(month)) {
+            return true;
+        }
+        if (System.nanoTime() - lastRefresh.get() < refreshOnMissNanos) {
+            return false;
+        }
+        refreshPartitions();
+        return partitions.contains(month);
+    }
 
-    // Find all audit logs for a specific account
-    List<AuditLog> findByAccountIdOrderByTimestampDesc(UUID accountId);
+    /**
+     * Equality filters first, then the time range, so each filter path lines up with its
+     * (column, timestamp, id) index
+     */
+    private static List<String> filterConditions(AuditLogQuery query, List<Object> params) {
+        List<String> conditions = new ArrayList<>();
+        if (query.getAccountId() != null) {
+            conditions.add("account_id = ?");
+            params.add(query.getAccountId());
+        }
+        if (query.getAction() != null) {
+            conditions.add("action = ?");
+            params.add(query.getAction());
+        }
+        if (query.getPerformedBy() != null) {
+            conditions.add("performed_by = ?");
+            params.add(query.getPerformedBy());
+        }
+        if (query.getFrom() != null) {
+            conditions.add("timestamp >= ?");
+            params.add(query.getFrom());
+        }
+        if (query.getTo() != null) {
+            conditions.add("timestamp < ?");
+            params.add(query.getTo());
+        }
+        return conditions;
+    }
 
-    // Find audit logs by action type
-    List<AuditLog> findByActionOrderByTimestampDesc(String action);
+    private static void appendWhere(StringBuilder sql, List<String> conditions) {
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+    }
 
-    // Find audit logs by account and action
-    List<AuditLog> findByAccountIdAndActionOrderByTimestampDesc(UUID accountId, String action);
+    static String table(YearMonth month) {
+        return PARTITION_PREFIX + month.format(MONTH);
+    }
 }
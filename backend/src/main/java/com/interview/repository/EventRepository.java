@@ -1,24 +1,108 @@
 package com.interview.repository;
 
 import com.interview.model.Event;
+import com.interview.model.Venue;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, UUID> {
 
+    // Conditional update for If-Match: changes the row only while it is still at the expected version.
+    // Returns 0 when the event is missing or was modified since; performers are not touched.
+    // Bypasses entity listeners, so the caller supplies the change sequence number.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Event e SET e.name = :name, e.description = :description, e.eventDate = :eventDate, "
+            + "e.location = :location, e.venue = :venue, e.updatedAt = :now, e.version = e.version + 1, "
+            + "e.changeSeq = :changeSeq WHERE e.id = :id AND e.version = :version")
+    int updateIfVersionMatches(@Param("id") UUID id, @Param("version") Long version,
+                               @Param("name") String name, @Param("description") String description,
+                               @Param("eventDate") LocalDateTime eventDate, @Param("location") String location,
+                               @Param("venue") Venue venue, @Param("now") LocalDateTime now,
+                               @Param("changeSeq") long changeSeq);
+
     // Find event by ID with venue and performers eagerly fetched
     @Query("SELECT e FROM Event e LEFT JOIN FETCH e.venue LEFT JOIN FETCH e.performers WHERE e.id = :id")
     Optional<Event> findByIdWithDetails(@Param("id") UUID id);
 
+    // Find upcoming events with venue and performers eagerly fetched
+    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.venue LEFT JOIN FETCH e.performers WHERE e.eventDate > :now")
+    List<Event> findUpcomingWithDetails(@Param("now") LocalDateTime now);
+
+    // Find events by IDs with venue and performers eagerly fetched (used for search indexing)
+    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.venue LEFT JOIN FETCH e.performers WHERE e.id IN :ids")
+    List<Event> findAllWithDetailsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Page through all event IDs
+    @Query("SELECT e.id FROM Event e ORDER BY e.id")
+    Page<UUID> findAllIds(Pageable pageable);
+
+    // IDs of events held at a venue
+    @Query("SELECT e.id FROM Event e WHERE e.venue.id = :venueId ORDER BY e.id")
+    List<UUID> findIdsByVenueId(@Param("venueId") UUID venueId, Pageable pageable);
+
+    // New version and change sequence number for events whose venue or performer changed; their responses
+    // embed those fields. Native so each row draws its own number in the one statement (entity listeners
+    // are bypassed); timestamped by the database clock, which the change feed's settle check reads.
+    @Modifying
+    @Query(value = "UPDATE event SET version = version + 1, updated_at = LOCALTIMESTAMP, "
+            + "change_seq = NEXT VALUE FOR event_change_seq WHERE id IN (:ids)", nativeQuery = true)
+    int touchAll(@Param("ids") Collection<UUID> ids);
+
+    // IDs of events a performer appears in (through event_performer)
+    @Query("SELECT e.id FROM Event e JOIN e.performers p WHERE p.id = :performerId ORDER BY e.id")
+    List<UUID> findIdsByPerformerId(@Param("performerId") UUID performerId, Pageable pageable);
+
+    // (id, updatedAt, venue updatedAt, latest performer updatedAt) of events in an inclusive id range, for search
+    // index reconciliation: the documents embed the venue and performers, so their updates are versions too
+    @Query("SELECT e.id, e.updatedAt, v.updatedAt, MAX(p.updatedAt) FROM Event e LEFT JOIN e.venue v "
+            + "LEFT JOIN e.performers p WHERE e.id BETWEEN :fromId AND :toId GROUP BY e.id, e.updatedAt, v.updatedAt")
+    List<Object[]> findVersionsByIdBetween(@Param("fromId") UUID fromId, @Param("toId") UUID toId);
+
+    // Upcoming events in (eventDate, id) order, one keyset page at a time (v2 streaming reads): the first page,
+    // then the page after the last (eventDate, id) read. A row after an upcoming row is upcoming too, so the
+    // later pages do not depend on "now".
+    @Query("SELECT e FROM Event e WHERE e.eventDate > :now ORDER BY e.eventDate ASC, e.id ASC")
+    List<Event> findUpcomingFirstPage(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT e FROM Event e WHERE e.eventDate > :afterDate OR (e.eventDate = :afterDate AND e.id > :afterId) "
+            + "ORDER BY e.eventDate ASC, e.id ASC")
+    List<Event> findUpcomingAfter(@Param("afterDate") LocalDateTime afterDate, @Param("afterId") UUID afterId,
+                                  Pageable pageable);
+
+    // Events at a location in (eventDate, id) order, one keyset page at a time (v2 streaming reads)
+    @Query("SELECT e FROM Event e WHERE e.location = :location ORDER BY e.eventDate ASC, e.id ASC")
+    List<Event> findByLocationFirstPage(@Param("location") String location, Pageable pageable);
+
+    @Query("SELECT e FROM Event e WHERE e.location = :location "
+            + "AND (e.eventDate > :afterDate OR (e.eventDate = :afterDate AND e.id > :afterId)) "
+            + "ORDER BY e.eventDate ASC, e.id ASC")
+    List<Event> findByLocationAfter(@Param("location") String location, @Param("afterDate") LocalDateTime afterDate,
+                                    @Param("afterId") UUID afterId, Pageable pageable);
+
+    // Forward-only stream of every event ID (NDJSON export); the events are loaded in chunks by findAllWithDetailsByIdIn
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e.id FROM Event e ORDER BY e.id")
+    Stream<UUID> streamAllIdsForExport();
+
     // Find events by name (case-insensitive)
     List<Event> findByNameContainingIgnoreCase(String name);
 
@@ -31,6 +115,22 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
     // Find events between two dates
     List<Event> findByEventDateBetween(LocalDateTime startDate, LocalDateTime endDate);
 
+    // (version, updatedAt) of one event, for conditional GETs without loading the entity
+    @Query("SELECT e.version, e.updatedAt FROM Event e WHERE e.id = :id")
+    List<Object[]> findStampById(@Param("id") UUID id);
+
+    // (id, version) of the rows of a cursor page, in the same order as findFirstPage / findEventsAfterCursor
+    @Query("SELECT e.id, e.version FROM Event e ORDER BY e.createdAt ASC, e.id ASC")
+    List<Object[]> findFirstPageVersions(Pageable pageable);
+
+    @Query("SELECT e.id, e.version FROM Event e WHERE e.createdAt > "
+            + "(SELECT c.createdAt FROM Event c WHERE c.id = :cursor) ORDER BY e.createdAt ASC, e.id ASC")
+    List<Object[]> findVersionsAfterCursor(@Param("cursor") UUID cursor, Pageable pageable);
+
+    // (id, changeSeq, updatedAt, database clock) of events written after a change feed watermark, in sequence order
+    @Query("SELECT e.id, e.changeSeq, e.updatedAt, local_datetime FROM Event e WHERE e.changeSeq > :since ORDER BY e.changeSeq ASC")
+    List<Object[]> findChangesSince(@Param("since") long since, Pageable pageable);
+
     // Cursor-based pagination: get first page ordered by createdAt, id
     @Query("SELECT e FROM Event e ORDER BY e.createdAt ASC, e.id ASC")
     List<Event> findFirstPage(Pageable pageable);
@@ -0,0 +1,19 @@
+package com.interview.repository;
+
+import com.interview.model.EventTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EventTombstoneRepository extends JpaRepository<EventTombstone, UUID> {
+
+    // (eventId, changeSeq, deletedAt, database clock) of deletes after a change feed watermark, in sequence order
+    @Query("SELECT t.eventId, t.changeSeq, t.deletedAt, local_datetime FROM EventTombstone t WHERE t.changeSeq > :since ORDER BY t.changeSeq ASC")
+    List<Object[]> findChangesSince(@Param("since") long since, Pageable pageable);
+}
@@ -53,7 +53,12 @@ public class SecurityConfig {
         http.csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
+                        // Long-lived: each stream holds a subscriber slot and a sender thread, each export a
+                        // database connection
+                        .requestMatchers(HttpMethod.GET, "/api/events/stream", "/api/events/export").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/events/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v2/events/**").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/events/search/batch").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/api-docs/**", "/swagger-ui.html").permitAll()
                         .anyRequest().authenticated()
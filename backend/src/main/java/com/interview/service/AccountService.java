@@ -1,5 +1,6 @@
 package com.interview.service;
 
+import com.interview.exception.PreconditionFailedException;
 import com.interview.model.Account;
 import com.interview.repository.AccountRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -58,8 +59,19 @@ public class AccountService {
 
     @Transactional
     public Account updateAccount(UUID id, Account accountDetails) {
+        return updateAccount(id, accountDetails, null);
+    }
+
+    /**
+     * Update an account; with an expectedVersion (from If-Match) only while it is still at that version.
+     * The row is read first (the email check and the field-level audit diff need it), and the UPDATE is
+     * conditional on the version read, so a concurrent change between the two still fails.
+     */
+    @Transactional
+    public Account updateAccount(UUID id, Account accountDetails, Long expectedVersion) {
         Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Account not found with id: " + id));
+        checkVersion(account, expectedVersion);
 
         // Check if account is deleted
         if (account.getDeletedAt() != null) {
@@ -88,8 +100,14 @@ public class AccountService {
 
     @Transactional
     public void deleteAccount(UUID id) {
+        deleteAccount(id, null);
+    }
+
+    @Transactional
+    public void deleteAccount(UUID id, Long expectedVersion) {
         Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Account not found with id: " + id));
+        checkVersion(account, expectedVersion);
 
         // Check if already deleted
         if (account.getDeletedAt() != null) {
@@ -104,4 +122,10 @@ public class AccountService {
     public List<Account> searchAccountsByName(String name) {
         return accountRepository.findByNameContainingAndNotDeleted(name, name);
     }
+
+    private static void checkVersion(Account account, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(account.getVersion())) {
+            throw new PreconditionFailedException("Account " + account.getId() + " is no longer at version " + expectedVersion);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,315 @@
+package com.interview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.interview.dto.AuditLogQuery;
+import com.interview.model.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * AuditSink that appends audit rows to memory-mapped segment files on local disk (audit.sink=journal),
+ * keeping the audit trail out of the OLTP database.
+ *
+ * One segment is active at a time; it is sealed and a new one started when the next record might not
+ * fit (audit.journal.segment-size-mb) or the segment is older than audit.journal.segment-max-age-ms.
+ * Dirty pages are forced to disk every audit.journal.force-interval-ms and on rotation/shutdown, so a
+ * crash can lose at most that window; a torn tail is detected by the per-record CRC on restart.
+ *
+ * The compactor exports sealed segments whose newest record is older than audit.journal.export-after-ms
+ * to gzipped NDJSON under audit.journal.export-path and then deletes them.
+ * See AuditJournalSegment for the file format.
+ */
+@Service
+@ConditionalOnProperty(name = "audit.sink", havingValue = "journal")
+public class AuditJournal implements AuditSink {
+
+    private final Path directory;
+    private final Path exportDirectory;
+    private final int segmentSize;
+    private final long segmentMaxAgeMs;
+    private final int indexInterval;
+    private final long exportAfterMs;
+    private final ObjectMapper objectMapper;
+
+    // Not synchronized: rotation does file I/O, which would pin a virtual thread's carrier
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C();
+    private final List<AuditJournalSegment> sealedSegments = new CopyOnWriteArrayList<>();
+    private volatile AuditJournalSegment active;
+
+    private final Counter appendedCounter;
+    private final Counter rejectedCounter;
+    private final Counter exportedCounter;
+
+    @Autowired
+    public AuditJournal(MeterRegistry meterRegistry,
+                        @Value("${audit.journal.path:data/audit}") String path,
+                        @Value("${audit.journal.export-path:data/audit/export}") String exportPath,
+                        @Value("${audit.journal.segment-size-mb:64}") int segmentSizeMb,
+                        @Value("${audit.journal.segment-max-age-ms:3600000}") long segmentMaxAgeMs,
+                        @Value("${audit.journal.index-interval-bytes:4096}") int indexInterval,
+                        @Value("${audit.journal.export-after-ms:604800000}") long exportAfterMs) throws IOException {
+        this(meterRegistry, Paths.get(path), Paths.get(exportPath), segmentSizeMb * 1024 * 1024,
+                segmentMaxAgeMs, indexInterval, exportAfterMs);
+    }
+
+    AuditJournal(MeterRegistry meterRegistry, Path directory, Path exportDirectory, int segmentSize,
+                 long segmentMaxAgeMs, int indexInterval, long exportAfterMs) throws IOException {
+        this.directory = directory;
+        this.exportDirectory = exportDirectory;
+        this.segmentSize = segmentSize;
+        this.segmentMaxAgeMs = segmentMaxAgeMs;
+        this.indexInterval = indexInterval;
+        this.exportAfterMs = exportAfterMs;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        Files.createDirectories(directory);
+        // Segments from earlier runs (including the one active at a crash) are reopened read-only
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(AuditJournalSegment.SUFFIX))
+                    .sorted().toList()) {
+                try {
+                    sealedSegments.add(AuditJournalSegment.open(file, indexInterval));
+                } catch (IOException e) {
+                    System.err.println("Skipping unreadable audit journal segment " + file + ": " + e.getMessage());
+                }
+            }
+        }
+        this.active = newSegment();
+
+        this.appendedCounter = Counter.builder("audit.journal.records").tag("result", "appended").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("audit.journal.records").tag("result", "rejected").register(meterRegistry);
+        this.exportedCounter = Counter.builder("audit.journal.segments.exported").register(meterRegistry);
+        Gauge.builder("audit.journal.segments", sealedSegments, segments -> segments.size() + 1).register(meterRegistry);
+        Gauge.builder("audit.journal.active.bytes", this, journal -> journal.active.size()).register(meterRegistry);
+        System.out.println("Audit journal at " + directory.toAbsolutePath() + " with " + sealedSegments.size()
+                + " existing segments");
+    }
+
+    /**
+     * Append one record. Allocation-free unless the segment has to be rotated.
+     */
+    @Override
+    public void submit(AuditLog auditLog) {
+        // Rows are stamped when created; the fallback allocates, but only for a row without a timestamp
+        long timestamp = AuditJournalSegment.toMillis(
+                auditLog.getTimestamp() != null ? auditLog.getTimestamp() : LocalDateTime.now());
+        appendLock.lock();
+        try {
+            AuditJournalSegment segment = active;
+            if (System.currentTimeMillis() - segment.createdAt() > segmentMaxAgeMs && segment.records() > 0) {
+                segment = rotate();
+            }
+            if (segment.append(auditLog, timestamp, crc)) {
+                appendedCounter.increment();
+                return;
+            }
+            if (segment.records() > 0 && rotate().append(auditLog, timestamp, crc)) {
+                appendedCounter.increment();
+                return;
+            }
+            // Larger than a whole segment
+            rejectedCounter.increment();
+            System.err.println("Audit record too large for a journal segment, dropped: " + auditLog);
+        } catch (IOException e) {
+            rejectedCounter.increment();
+            throw new UncheckedIOException("Audit journal rotation failed", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Records with from <= timestamp <= to, oldest segment first, at most limit
+     */
+    public List<AuditLog> read(LocalDateTime from, LocalDateTime to, int limit) {
+        long fromMs = from == null ? Long.MIN_VALUE : AuditJournalSegment.toMillis(from);
+        long toMs = to == null ? Long.MAX_VALUE : AuditJournalSegment.toMillis(to);
+        List<AuditLog> result = new ArrayList<>();
+        List<AuditJournalSegment> segments = new ArrayList<>(sealedSegments);
+        segments.add(active);
+        for (AuditJournalSegment segment : segments) {
+            segment.scan(fromMs, toMs, auditLog -> {
+                if (result.size() < limit) {
+                    result.add(auditLog);
+                }
+            });
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pass every record matching the query to consumer, oldest segment first: the same filters as the
+     * database export, with from inclusive and to exclusive at the stored millisecond precision.
+     * Segments already exported by the compactor are no longer here.
+     */
+    public void streamAll(AuditLogQuery query, Consumer<AuditLog> consumer) {
+        long fromMs = query.getFrom() == null ? Long.MIN_VALUE : AuditJournalSegment.toMillis(query.getFrom());
+        long toMs = query.getTo() == null ? Long.MAX_VALUE : AuditJournalSegment.toMillis(query.getTo()) - 1;
+        List<AuditJournalSegment> segments = new ArrayList<>(sealedSegments);
+        segments.add(active);
+        for (AuditJournalSegment segment : segments) {
+            segment.scan(fromMs, toMs, auditLog -> {
+                if ((query.getAccountId() == null || query.getAccountId().equals(auditLog.getAccountId()))
+                        && (query.getAction() == null || query.getAction().equals(auditLog.getAction()))
+                        && (query.getPerformedBy() == null || query.getPerformedBy().equals(auditLog.getPerformedBy()))) {
+                    consumer.accept(auditLog);
+                }
+            });
+        }
+    }
+
+    /**
+     * Force dirty pages to disk; also rotates an aged segment when no append has done it
+     */
+    @Scheduled(fixedDelayString = "${audit.journal.force-interval-ms:1000}")
+    public void force() {
+        appendLock.lock();
+        try {
+            if (System.currentTimeMillis() - active.createdAt() > segmentMaxAgeMs && active.records() > 0) {
+                rotate();
+            } else {
+                active.force();
+            }
+        } catch (IOException e) {
+            System.err.println("Audit journal rotation failed: " + e.getMessage());
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Export sealed segments past audit.journal.export-after-ms and delete them
+     */
+    @Scheduled(initialDelayString = "${audit.journal.compact-interval-ms:600000}",
+               fixedDelayString = "${audit.journal.compact-interval-ms:600000}")
+    public void compact() {
+        // Record timestamps are local date-times stored as if UTC, so the cutoff is taken in the same frame
+        long recordCutoff = AuditJournalSegment.toMillis(LocalDateTime.now().minus(Duration.ofMillis(exportAfterMs)));
+        long fileCutoff = System.currentTimeMillis() - exportAfterMs;
+        for (AuditJournalSegment segment : sealedSegments) {
+            boolean expired = segment.records() == 0
+                    ? segment.createdAt() < fileCutoff
+                    : segment.maxTimestamp() < recordCutoff;
+            if (!expired) {
+                continue;
+            }
+            try {
+                if (segment.records() > 0) {
+                    export(segment);
+                }
+                sealedSegments.remove(segment);
+                segment.close();
+                Files.deleteIfExists(segment.file());
+                Files.deleteIfExists(segment.indexFile());
+                exportedCounter.increment();
+            } catch (IOException e) {
+                System.err.println("Failed to export audit journal segment " + segment.file() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Write a segment as gzipped NDJSON (one audit row per line); the file appears atomically when complete
+     */
+    void export(AuditJournalSegment segment) throws IOException {
+        Files.createDirectories(exportDirectory);
+        String name = segment.file().getFileName().toString().replace(AuditJournalSegment.SUFFIX, ".ndjson.gz");
+        Path target = exportDirectory.resolve(name);
+        Path tmp = exportDirectory.resolve(name + ".tmp");
+        try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)), 64 * 1024)) {
+            segment.scan(Long.MIN_VALUE, Long.MAX_VALUE, auditLog -> {
+                ObjectNode line = objectMapper.createObjectNode();
+                line.put("accountId", auditLog.getAccountId().toString());
+                line.put("action", auditLog.getAction());
+                line.putPOJO("timestamp", auditLog.getTimestamp());
+                line.put("performedBy", auditLog.getPerformedBy());
+                line.put("details", auditLog.getDetails());
+                try {
+                    out.write(objectMapper.writeValueAsBytes(line));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(tmp);
+            throw e.getCause();
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("Exported audit journal segment " + segment.file().getFileName() + " ("
+                + segment.records() + " records) to " + target);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            active.seal();
+            active.close();
+            for (AuditJournalSegment segment : sealedSegments) {
+                segment.close();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    int getSegmentCount() {
+        return sealedSegments.size() + 1;
+    }
+
+    private AuditJournalSegment rotate() throws IOException {
+        AuditJournalSegment previous = active;
+        previous.seal();
+        sealedSegments.add(previous);
+        active = newSegment();
+        return active;
+    }
+
+    private AuditJournalSegment newSegment() throws IOException {
+        long now = System.currentTimeMillis();
+        // File names are the creation time; two rotations within one millisecond must not collide
+        AuditJournalSegment last = active != null ? active
+                : sealedSegments.isEmpty() ? null : sealedSegments.stream().max(Comparator.comparingLong(AuditJournalSegment::createdAt)).get();
+        if (last != null && now <= last.createdAt()) {
+            now = last.createdAt() + 1;
+        }
+        return AuditJournalSegment.create(directory, segmentSize, indexInterval, now);
+    }
+}
@@ -0,0 +1,433 @@
+package com.interview.service;
+
+import com.interview.model.AuditLog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped audit journal file.
+ *
+ * Layout: a 16-byte header (magic, version, creation time) followed by records of
+ * [int payloadLength][int crc32c(payload)][payload], where the payload is
+ * [long timestamp epoch ms UTC][long accountId msb][long accountId lsb] and three strings
+ * (action, performedBy, details), each as [int byteLength or -1 for null][UTF-8 bytes].
+ * The file is preallocated and zero-filled, so a zero length marks the end of the data.
+ *
+ * Appends encode straight into the mapping with absolute puts and write the length last; nothing is
+ * allocated per record. Every index-interval bytes a sparse index entry (highest timestamp so far,
+ * offset) is recorded, so a range scan can skip the prefix of the segment that is entirely older than
+ * its start. When a segment is sealed the index and the end offset are saved next to it as .idx, which
+ * lets a restart open it without scanning; a segment without .idx (the active one after a crash) is
+ * recovered by scanning up to the first record with a bad CRC.
+ *
+ * Appends are serialized by the caller (the journal's append lock); scans run concurrently without it.
+ * The appender publishes in order: record bytes and index entries, then indexSize, then writePosition
+ * (both volatile). A scan reads writePosition and then indexSize, so every entry it sees is complete,
+ * and an entry past its end only ever points at or beyond that end.
+ */
+final class AuditJournalSegment implements Closeable {
+
+    static final String SUFFIX = ".seg";
+    static final String INDEX_SUFFIX = ".idx";
+
+    private static final int MAGIC = 0x4155444A;  // "AUDJ"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER = 16;
+    private static final int RECORD_HEADER = 8;
+    private static final int FIXED_PAYLOAD = 24;
+    private static final int INDEX_HEADER = 32;
+
+    private final Path file;
+    private final long createdAt;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final ByteBuffer crcView;
+    private final int indexInterval;
+
+    // Sparse index; sized for the whole segment up front so appends never grow it. Entries below indexSize
+    // are never rewritten, so a scan can read them without the append lock.
+    private final long[] indexTimestamps;
+    private final int[] indexOffsets;
+    private volatile int indexSize;
+    private int nextIndexAt;
+
+    private volatile int writePosition;
+    private volatile long minTimestamp = Long.MAX_VALUE;
+    private volatile long maxTimestamp = Long.MIN_VALUE;
+    // Single writer (under the append lock)
+    private volatile int records;
+    private boolean sealed;
+
+    private AuditJournalSegment(Path file, long createdAt, FileChannel channel, MappedByteBuffer buffer, int indexInterval) {
+        this.file = file;
+        this.createdAt = createdAt;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.crcView = buffer.duplicate();
+        this.indexInterval = indexInterval;
+        int indexCapacity = buffer.capacity() / indexInterval + 1;
+        this.indexTimestamps = new long[indexCapacity];
+        this.indexOffsets = new int[indexCapacity];
+        this.writePosition = FILE_HEADER;
+        this.nextIndexAt = FILE_HEADER;
+    }
+
+    /**
+     * Create and map a new, empty segment of size bytes
+     */
+    static AuditJournalSegment create(Path directory, int size, int indexInterval, long createdAt) throws IOException {
+        Path file = directory.resolve(String.format("audit-%020d%s", createdAt, SUFFIX));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, createdAt);
+        return new AuditJournalSegment(file, createdAt, channel, buffer, indexInterval);
+    }
+
+    /**
+     * Map an existing segment read-only; it is sealed and never appended to again
+     */
+    static AuditJournalSegment open(Path file, int indexInterval) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (buffer.capacity() < FILE_HEADER || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException("Not an audit journal segment: " + file);
+        }
+        AuditJournalSegment segment = new AuditJournalSegment(file, buffer.getLong(8), channel, buffer, indexInterval);
+        if (!segment.loadIndex()) {
+            segment.recover();
+        }
+        segment.sealed = true;
+        return segment;
+    }
+
+    /**
+     * Append one record stamped with timestamp (epoch ms, see toMillis); returns false, without writing
+     * anything, when it might not fit. Callers hold the append lock.
+     */
+    boolean append(AuditLog auditLog, long timestamp, CRC32C crc) {
+        String action = auditLog.getAction();
+        String performedBy = auditLog.getPerformedBy();
+        String details = auditLog.getDetails();
+        // UTF-8 needs at most 3 bytes per UTF-16 char
+        long worstCase = RECORD_HEADER + FIXED_PAYLOAD + 12L
+                + 3L * (length(action) + length(performedBy) + length(details));
+        int start = writePosition;
+        if (sealed || start + worstCase + RECORD_HEADER > buffer.capacity()) {
+            return false;
+        }
+
+        UUID accountId = auditLog.getAccountId();
+        int payload = start + RECORD_HEADER;
+        buffer.putLong(payload, timestamp);
+        buffer.putLong(payload + 8, accountId.getMostSignificantBits());
+        buffer.putLong(payload + 16, accountId.getLeastSignificantBits());
+        int end = putString(payload + FIXED_PAYLOAD, action);
+        end = putString(end, performedBy);
+        end = putString(end, details);
+        int length = end - payload;
+
+        crc.reset();
+        crcView.limit(end);
+        crcView.position(payload);
+        crc.update(crcView);
+        buffer.putInt(start + 4, (int) crc.getValue());
+        // The length goes in last: until then a reader sees the end of the data here
+        buffer.putInt(start, length);
+
+        if (start >= nextIndexAt) {
+            // Every record before this offset is at or below the highest timestamp seen so far.
+            // The entry is filled in before indexSize makes it visible to scans.
+            int entry = indexSize;
+            indexTimestamps[entry] = maxTimestamp;
+            indexOffsets[entry] = start;
+            indexSize = entry + 1;
+            nextIndexAt = start + indexInterval;
+        }
+        records++;
+        if (timestamp < minTimestamp) {
+            minTimestamp = timestamp;
+        }
+        if (timestamp > maxTimestamp) {
+            maxTimestamp = timestamp;
+        }
+        writePosition = end;
+        return true;
+    }
+
+    /**
+     * Call consumer for every valid record with fromMs <= timestamp <= toMs, in file order
+     */
+    void scan(long fromMs, long toMs, Consumer<AuditLog> consumer) {
+        // Snapshot: writePosition first, then the index; entries past end (an append in progress) only
+        // ever point at or beyond end
+        int end = writePosition;
+        int entries = indexSize;
+        if (end == FILE_HEADER || maxTimestamp < fromMs || minTimestamp > toMs) {
+            return;
+        }
+        ByteBuffer view = buffer.duplicate();
+        CRC32C crc = new CRC32C();
+        int position = startOffset(fromMs, entries);
+        while (position + RECORD_HEADER <= end) {
+            int length = view.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER + length > end) {
+                break;
+            }
+            int payload = position + RECORD_HEADER;
+            crc.reset();
+            view.limit(payload + length);
+            view.position(payload);
+            crc.update(view);
+            view.limit(view.capacity());
+            if ((int) crc.getValue() != view.getInt(position + 4)) {
+                System.err.println("Audit journal " + file.getFileName() + ": bad CRC at offset " + position + ", stopping scan");
+                break;
+            }
+            long timestamp = view.getLong(payload);
+            if (timestamp >= fromMs && timestamp <= toMs) {
+                consumer.accept(decode(view, payload, timestamp));
+            }
+            position = payload + length;
+        }
+    }
+
+    /**
+     * First offset that can hold a record at or after fromMs: after the last index entry whose
+     * highest-timestamp-so-far is still below fromMs
+     */
+    private int startOffset(long fromMs, int entries) {
+        int low = 0;
+        int high = entries - 1;
+        int offset = FILE_HEADER;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (indexTimestamps[mid] < fromMs) {
+                offset = indexOffsets[mid];
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Flush dirty pages of the mapping to disk
+     */
+    void force() {
+        if (!sealed) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Stop appending, force the data and save the sparse index next to the segment
+     */
+    void seal() throws IOException {
+        if (sealed) {
+            return;
+        }
+        sealed = true;
+        buffer.force();
+        writeIndex();
+    }
+
+    private void writeIndex() throws IOException {
+        ByteBuffer index = ByteBuffer.allocate(INDEX_HEADER + indexSize * 12);
+        index.putInt(MAGIC).putInt(indexSize).putInt(writePosition).putInt(records)
+                .putLong(minTimestamp).putLong(maxTimestamp);
+        for (int i = 0; i < indexSize; i++) {
+            index.putLong(indexTimestamps[i]).putInt(indexOffsets[i]);
+        }
+        index.flip();
+        Path tmp = indexFile().resolveSibling(indexFile().getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (index.hasRemaining()) {
+                out.write(index);
+            }
+            out.force(true);
+        }
+        Files.move(tmp, indexFile(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private boolean loadIndex() throws IOException {
+        Path indexFile = indexFile();
+        if (!Files.exists(indexFile)) {
+            return false;
+        }
+        ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+        if (index.remaining() < INDEX_HEADER || index.getInt() != MAGIC) {
+            return false;
+        }
+        int count = index.getInt();
+        int end = index.getInt();
+        if (count > indexTimestamps.length || end > buffer.capacity() || index.remaining() < INDEX_HEADER - 12 + count * 12) {
+            return false;
+        }
+        records = index.getInt();
+        minTimestamp = index.getLong();
+        maxTimestamp = index.getLong();
+        for (int i = 0; i < count; i++) {
+            indexTimestamps[i] = index.getLong();
+            indexOffsets[i] = index.getInt();
+        }
+        indexSize = count;
+        writePosition = end;
+        return true;
+    }
+
+    /**
+     * Rebuild position, bounds and index by walking the records up to the first invalid one
+     */
+    private void recover() throws IOException {
+        CRC32C crc = new CRC32C();
+        int position = FILE_HEADER;
+        long highest = Long.MIN_VALUE;
+        while (position + RECORD_HEADER <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER + length > buffer.capacity()) {
+                break;
+            }
+            int payload = position + RECORD_HEADER;
+            crc.reset();
+            crcView.limit(payload + length);
+            crcView.position(payload);
+            crc.update(crcView);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                System.err.println("Audit journal " + file.getFileName() + ": torn record at offset " + position
+                        + ", ignoring the rest of the segment");
+                break;
+            }
+            long timestamp = buffer.getLong(payload);
+            if (position >= nextIndexAt) {
+                indexTimestamps[indexSize] = highest;
+                indexOffsets[indexSize] = position;
+                indexSize++;
+                nextIndexAt = position + indexInterval;
+            }
+            highest = Math.max(highest, timestamp);
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            records++;
+            position = payload + length;
+        }
+        maxTimestamp = highest;
+        writePosition = position;
+        writeIndex();
+    }
+
+    private static AuditLog decode(ByteBuffer view, int payload, long timestamp) {
+        UUID accountId = new UUID(view.getLong(payload + 8), view.getLong(payload + 16));
+        int position = payload + FIXED_PAYLOAD;
+        String[] strings = new String[3];
+        for (int i = 0; i < strings.length; i++) {
+            int length = view.getInt(position);
+            position += 4;
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                view.get(position, bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+                position += length;
+            }
+        }
+        AuditLog auditLog = new AuditLog(accountId, strings[0], strings[2], strings[1]);
+        auditLog.setTimestamp(LocalDateTime.ofEpochSecond(Math.floorDiv(timestamp, 1000),
+                (int) Math.floorMod(timestamp, 1000) * 1_000_000, ZoneOffset.UTC));
+        return auditLog;
+    }
+
+    /**
+     * Encode s as [length][UTF-8] at position without allocating; returns the position after it
+     */
+    private int putString(int position, String s) {
+        if (s == null) {
+            buffer.putInt(position, -1);
+            return position + 4;
+        }
+        int start = position + 4;
+        int p = start;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer.put(p++, (byte) c);
+            } else if (c < 0x800) {
+                buffer.put(p++, (byte) (0xC0 | (c >> 6)));
+                buffer.put(p++, (byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                buffer.put(p++, (byte) (0xF0 | (codePoint >> 18)));
+                buffer.put(p++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put(p++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put(p++, (byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                buffer.put(p++, (byte) (0xE0 | (c >> 12)));
+                buffer.put(p++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put(p++, (byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        buffer.putInt(position, p - start);
+        return p;
+    }
+
+    /**
+     * Stored timestamp of a LocalDateTime: epoch milliseconds, reading the value as UTC
+     */
+    static long toMillis(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1000 + time.getNano() / 1_000_000;
+    }
+
+    private static int length(String s) {
+        return s == null ? 0 : s.length();
+    }
+
+    Path file() {
+        return file;
+    }
+
+    Path indexFile() {
+        return file.resolveSibling(file.getFileName().toString().replace(SUFFIX, INDEX_SUFFIX));
+    }
+
+    long createdAt() {
+        return createdAt;
+    }
+
+    long maxTimestamp() {
+        return maxTimestamp;
+    }
+
+    int records() {
+        return records;
+    }
+
+    int size() {
+        return writePosition;
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
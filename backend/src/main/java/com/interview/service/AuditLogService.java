@@ -1,5 +1,13 @@
 package com.interview.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.interview.dto.AuditLogMapper;
+import com.interview.dto.AuditLogQuery;
+import com.interview.dto.AuditRollupResponse;
+import com.interview.dto.CursorPageResponse;
+import com.interview.exception.AuditQueryNotSupportedException;
 import com.interview.model.Account;
 import com.interview.model.AuditLog;
 import com.interview.repository.AuditLogRepository;
@@ -7,31 +15,54 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public class AuditLogService {
 
+    public enum ExportFormat { CSV, NDJSON }
+
+    static final String CSV_HEADER = "id,accountId,action,timestamp,performedBy,details\n";
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+    public static final int MAX_ROLLUP_DAYS = 366;
+
+    private final AuditSink auditSink;
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogMapper auditLogMapper;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public AuditLogService(AuditLogRepository auditLogRepository) {
+    public AuditLogService(AuditSink auditSink, AuditLogRepository auditLogRepository, AuditLogMapper auditLogMapper,
+                           ObjectMapper objectMapper) {
+        this.auditSink = auditSink;
         this.auditLogRepository = auditLogRepository;
+        this.auditLogMapper = auditLogMapper;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Log an account action (CREATE, UPDATE, DELETE)
-     * Uses REQUIRES_NEW to ensure audit log is saved even if parent transaction rolls back
+     * The row is handed to the configured AuditSink, which stores it outside the caller's transaction, so it
+     * is kept even if that transaction rolls back and the caller does not need a second connection
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logAccountAction(UUID accountId, String action, String details) {
+        // Resolved here: the security context is bound to the calling thread, not the writer's
         String performedBy = getCurrentUsername();
         AuditLog auditLog = new AuditLog(accountId, action, details, performedBy);
-        auditLogRepository.save(auditLog);
+        auditSink.submit(auditLog);
     }
 
     /**
@@ -44,12 +75,37 @@ public class AuditLogService {
     }
 
     /**
-     * Log account update
+     * Log account update as a compact field diff, e.g. {"phone":["555-1234","555-9876"],"password":"changed"}.
+     * changes maps each changed field to [old, new], or to null for masked fields; an empty diff logs nothing.
+     * A null diff (no snapshot to compare against) logs the account summary instead.
      */
-    public void logAccountUpdate(Account account) {
-        String details = String.format("Account updated: %s %s (%s)",
-                account.getFirstName(), account.getLastName(), account.getEmail());
-        logAccountAction(account.getId(), "UPDATE", details);
+    public void logAccountUpdate(Account account, Map<String, Object[]> changes) {
+        if (changes == null) {
+            String details = String.format("Account updated: %s %s (%s)",
+                    account.getFirstName(), account.getLastName(), account.getEmail());
+            logAccountAction(account.getId(), "UPDATE", details);
+            return;
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        logAccountAction(account.getId(), "UPDATE", encodeDiff(changes));
+    }
+
+    String encodeDiff(Map<String, Object[]> changes) {
+        ObjectNode diff = objectMapper.createObjectNode();
+        changes.forEach((field, values) -> {
+            if (values == null) {
+                diff.put(field, "changed");
+            } else {
+                diff.putArray(field).addPOJO(values[0]).addPOJO(values[1]);
+            }
+        });
+        try {
+            return objectMapper.writeValueAsString(diff);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to encode audit diff", e);
+        }
     }
 
     /**
@@ -60,6 +116,155 @@ public class AuditLogService {
                 account.getFirstName(), account.getLastName(), account.getEmail());
         logAccountAction(account.getId(), "DELETE", details);
     }
+
+    /**
+     * One page of audit rows matching the query, newest first.
+     * Keyset pagination on (timestamp, id): the cursor is the position of the last row of the previous
+     * page, so every page is an index range scan regardless of how deep it is, and only the monthly
+     * partitions at or before the cursor are read.
+     */
+    public CursorPageResponse<AuditLog> search(AuditLogQuery query, String cursor, int pageSize) {
+        requireDatabaseSink("Audit log queries");
+        LocalDateTime cursorTimestamp = null;
+        UUID cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            Object[] position = decodeCursor(cursor);
+            cursorTimestamp = (LocalDateTime) position[0];
+            cursorId = (UUID) position[1];
+        }
+        // Fetch one extra to determine if there are more results
+        List<AuditLog> rows = auditLogRepository.findPage(query, cursorTimestamp, cursorId, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        String nextCursor = null;
+        if (hasMore && !rows.isEmpty()) {
+            AuditLog last = rows.get(rows.size() - 1);
+            nextCursor = encodeCursor(last.getTimestamp(), last.getId());
+        }
+        return new CursorPageResponse<>(rows, nextCursor, hasMore, pageSize);
+    }
+
+    /**
+     * Stream every matching row to out, oldest first, as CSV (with a header) or NDJSON; returns the row count.
+     * Rows are read partition by partition through a forward-only cursor, so memory stays flat for any range.
+     * With audit.sink=journal the rows are read from the journal segments instead (records have no id there).
+     */
+    public long export(AuditLogQuery query, ExportFormat format, OutputStream out) throws IOException {
+        if (format == ExportFormat.CSV) {
+            out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+        long[] count = {0};
+        try {
+            Consumer<AuditLog> writer = row -> {
+                try {
+                    if (format == ExportFormat.CSV) {
+                        out.write(toCsvLine(row).getBytes(StandardCharsets.UTF_8));
+                    } else {
+                        out.write(objectMapper.writeValueAsBytes(auditLogMapper.toResponse(row)));
+                        out.write('\n');
+                    }
+                    if (++count[0] % EXPORT_FLUSH_INTERVAL == 0) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            if (auditSink instanceof AuditJournal journal) {
+                journal.streamAll(query, writer);
+            } else {
+                auditLogRepository.streamAll(query, writer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        return count[0];
+    }
+
+    /**
+     * Daily counts by action and acting user for from <= day <= to, a range of at most MAX_ROLLUP_DAYS.
+     * Days already rolled up are read from audit_rollup_daily; later days (today, or days the nightly job
+     * has not reached yet) are counted live, but only from the oldest partition on, since earlier raw rows
+     * are gone. IllegalArgumentException for an empty or oversized range.
+     */
+    public List<AuditRollupResponse> rollups(LocalDate from, LocalDate to) {
+        requireDatabaseSink("Audit rollups");
+        if (to.isBefore(from) || from.plusDays(MAX_ROLLUP_DAYS).isBefore(to)) {
+            throw new IllegalArgumentException("Invalid rollup range: " + from + " to " + to);
+        }
+        List<AuditRollupResponse> rollups = new ArrayList<>();
+        LocalDate lastRollup = auditLogRepository.findLastRollupDay();
+        LocalDate day = from;
+        if (lastRollup != null && !lastRollup.isBefore(from)) {
+            rollups.addAll(auditLogRepository.findRollups(from, lastRollup.isBefore(to) ? lastRollup : to));
+            day = lastRollup.plusDays(1);
+        }
+        List<YearMonth> partitions = auditLogRepository.getPartitions();
+        if (partitions.isEmpty()) {
+            return rollups;
+        }
+        LocalDate oldest = partitions.get(0).atDay(1);
+        if (day.isBefore(oldest)) {
+            day = oldest;
+        }
+        LocalDate today = LocalDate.now();
+        for (; !day.isAfter(to) && !day.isAfter(today); day = day.plusDays(1)) {
+            rollups.addAll(auditLogRepository.aggregateDay(day));
+        }
+        return rollups;
+    }
+
+    /**
+     * Queries and rollups read the database partitions, which stay empty with audit.sink=journal;
+     * fail instead of answering with nothing
+     */
+    private void requireDatabaseSink(String feature) {
+        if (auditSink instanceof AuditJournal) {
+            throw new AuditQueryNotSupportedException(feature + " are not available with audit.sink=journal; "
+                    + "use GET /api/audit/export, which reads the journal");
+        }
+    }
+
+    static String encodeCursor(LocalDateTime timestamp, UUID id) {
+        String position = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * [timestamp, id] of a cursor; IllegalArgumentException when it is not one of ours
+     */
+    static Object[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            return new Object[] {
+                    LocalDateTime.parse(position.substring(0, separator)),
+                    UUID.fromString(position.substring(separator + 1))
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    static String toCsvLine(AuditLog row) {
+        return (row.getId() == null ? "" : row.getId()) + "," + row.getAccountId() + "," + csv(row.getAction()) + "," + row.getTimestamp() + ","
+                + csv(row.getPerformedBy()) + "," + csv(row.getDetails()) + "\n";
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
     /**
      * Get current authenticated user's username (email)
      */
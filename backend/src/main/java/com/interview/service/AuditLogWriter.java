@@ -0,0 +1,301 @@
+package com.interview.service;
+
+import com.interview.exception.AuditNotStoredException;
+import com.interview.model.AuditLog;
+import com.interview.repository.AuditLogRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Background writer for audit rows.
+ *
+ * Callers enqueue into a bounded in-memory queue and return; one writer thread drains it and inserts
+ * up to audit.batch-size rows per transaction (JDBC batched), so an account write no longer suspends
+ * its transaction and takes a second connection for a single audit row.
+ *
+ * audit.durability selects when a row is considered safe:
+ *  - periodic: the writer flushes every audit.flush-interval-ms; rows still queued are lost if the JVM dies.
+ *  - commit: the writer flushes as soon as rows arrive (rows queued during a write form the next batch),
+ *    and submit waits until the row is stored, up to audit.commit-timeout-ms. Account rows are submitted
+ *    by Hibernate's post-insert/post-update listeners during the flush inside commit, after every
+ *    beforeCommit callback has run, so the wait cannot be deferred to a synchronization: it happens in
+ *    the flush, and AuditNotStoredException propagates out of it and rolls the account change back
+ *    instead of committing it without its audit row. The waiting transaction still holds its pooled
+ *    connection, so the writer uses its own small pool (audit.writer.pool-size) and cannot be starved.
+ *
+ * When the queue is full the caller blocks for up to audit.enqueue-timeout-ms, then writes its row
+ * itself in a separate transaction, so a burst slows writers down instead of dropping audit rows.
+ */
+@Service
+@ConditionalOnProperty(name = "audit.sink", havingValue = "database", matchIfMissing = true)
+public class AuditLogWriter implements AuditSink {
+
+    public enum Durability { PERIODIC, COMMIT }
+
+    /**
+     * A queued row; done completes once the row is stored (or given up on)
+     */
+    static final class Pending {
+        final AuditLog auditLog;
+        final long enqueuedAt = System.nanoTime();
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Pending(AuditLog auditLog) {
+            this.auditLog = auditLog;
+        }
+    }
+
+    private final DataSourceProperties dataSourceProperties;
+    private final int writerPoolSize;
+    private AuditLogRepository auditLogRepository;
+    private TransactionTemplate batchTransaction;
+    private TransactionTemplate directTransaction;
+    private HikariDataSource writerDataSource;
+    private final BlockingQueue<Pending> queue;
+    private final Durability durability;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long enqueueTimeoutMs;
+    private final long commitTimeoutMs;
+
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter overflowCounter;
+    private final Counter timeoutCounter;
+    private final Timer batchTimer;
+    private final Timer lagTimer;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    @Autowired
+    public AuditLogWriter(AuditLogRepository auditLogRepository,
+                          PlatformTransactionManager transactionManager,
+                          DataSourceProperties dataSourceProperties,
+                          MeterRegistry meterRegistry,
+                          @Value("${audit.durability:periodic}") String durability,
+                          @Value("${audit.queue-capacity:10000}") int queueCapacity,
+                          @Value("${audit.batch-size:200}") int batchSize,
+                          @Value("${audit.flush-interval-ms:200}") long flushIntervalMs,
+                          @Value("${audit.enqueue-timeout-ms:1000}") long enqueueTimeoutMs,
+                          @Value("${audit.commit-timeout-ms:5000}") long commitTimeoutMs,
+                          @Value("${audit.writer.pool-size:2}") int writerPoolSize) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.writerPoolSize = writerPoolSize;
+        useStorage(auditLogRepository, transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.durability = Durability.valueOf(durability.trim().toUpperCase());
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.commitTimeoutMs = commitTimeoutMs;
+
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("audit.queue.oldest.age.ms", this, AuditLogWriter::oldestPendingAgeMs).register(meterRegistry);
+        this.writtenCounter = Counter.builder("audit.rows").tag("result", "written").register(meterRegistry);
+        this.failedCounter = Counter.builder("audit.rows").tag("result", "failed").register(meterRegistry);
+        this.overflowCounter = Counter.builder("audit.rows").tag("result", "overflow").register(meterRegistry);
+        this.timeoutCounter = Counter.builder("audit.rows").tag("result", "commit-timeout").register(meterRegistry);
+        this.batchTimer = Timer.builder("audit.batch.write").register(meterRegistry);
+        this.lagTimer = Timer.builder("audit.lag").description("Time from enqueue to stored").register(meterRegistry);
+    }
+
+    AuditLogWriter(AuditLogRepository auditLogRepository, PlatformTransactionManager transactionManager,
+                   MeterRegistry meterRegistry, String durability, int queueCapacity, int batchSize,
+                   long flushIntervalMs, long enqueueTimeoutMs, long commitTimeoutMs) {
+        this(auditLogRepository, transactionManager, null, meterRegistry, durability, queueCapacity, batchSize,
+                flushIntervalMs, enqueueTimeoutMs, commitTimeoutMs, 0);
+    }
+
+    private void useStorage(AuditLogRepository repository, PlatformTransactionManager transactionManager) {
+        this.auditLogRepository = repository;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.directTransaction = new TransactionTemplate(transactionManager);
+        this.directTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (durability == Durability.COMMIT && dataSourceProperties != null) {
+            // Not a bean: a second DataSource bean would switch off the application's auto-configured one
+            writerDataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            writerDataSource.setPoolName("audit-writer");
+            writerDataSource.setMaximumPoolSize(writerPoolSize);
+            useStorage(auditLogRepository.using(writerDataSource), new DataSourceTransactionManager(writerDataSource));
+        }
+        running = true;
+        writerThread = new Thread(this::run, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            writerThread.join(commitTimeoutMs);
+        }
+        // Whatever is still queued is written on the shutdown thread
+        while (drainOnce() > 0) {
+            // keep draining
+        }
+        if (writerDataSource != null) {
+            writerDataSource.close();
+        }
+    }
+
+    /**
+     * Queue a row for the writer; blocks (backpressure) when the queue is full, and under commit durability
+     * until the row is stored. Throws AuditNotStoredException when a commit-durability row is not stored.
+     */
+    @Override
+    public void submit(AuditLog auditLog) {
+        Pending pending = new Pending(auditLog);
+        boolean queued;
+        try {
+            queued = queue.offer(pending, enqueueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            // Still full: store this row directly rather than lose it
+            overflowCounter.increment();
+            writeDirect(pending);
+        }
+        if (durability == Durability.COMMIT) {
+            await(pending);
+        }
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    double oldestPendingAgeMs() {
+        Pending head = queue.peek();
+        return head == null ? 0 : (System.nanoTime() - head.enqueuedAt) / 1_000_000.0;
+    }
+
+    /**
+     * Wait for a row under commit durability; throws, failing the caller's transaction, when it is not stored
+     */
+    void await(Pending pending) {
+        try {
+            pending.done.get(commitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Withdrawn if the writer has not taken it yet; otherwise it may still land after the rollback
+            queue.remove(pending);
+            timeoutCounter.increment();
+            throw new AuditNotStoredException("Audit row not stored within " + commitTimeoutMs + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queue.remove(pending);
+            throw new AuditNotStoredException("Interrupted while waiting for audit row");
+        } catch (ExecutionException e) {
+            throw new AuditNotStoredException("Audit row write failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (durability == Durability.PERIODIC) {
+                    Thread.sleep(flushIntervalMs);
+                } else {
+                    // Group commit: wait for the first row, then take whatever else has queued up
+                    Pending first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    List<Pending> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                }
+                while (drainOnce() == batchSize) {
+                    // a full batch means more may be waiting
+                }
+            } catch (InterruptedException e) {
+                if (running) {
+                    Thread.currentThread().interrupt();
+                }
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("Audit writer error: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Write at most one batch from the queue; returns the number of rows taken
+     */
+    int drainOnce() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        queue.drainTo(batch, batchSize);
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+        return batch.size();
+    }
+
+    private void write(List<Pending> batch) {
+        List<AuditLog> rows = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            rows.add(pending.auditLog);
+        }
+        try {
+            batchTimer.record(() -> batchTransaction.executeWithoutResult(status -> auditLogRepository.insertAll(rows)));
+            for (Pending pending : batch) {
+                completed(pending);
+            }
+        } catch (RuntimeException e) {
+            // One bad row must not take the rest of the batch with it: retry them one by one
+            System.err.println("Audit batch of " + batch.size() + " failed, retrying rows singly: " + e.getMessage());
+            for (Pending pending : batch) {
+                writeDirect(pending);
+            }
+        }
+    }
+
+    private void writeDirect(Pending pending) {
+        try {
+            directTransaction.executeWithoutResult(status -> auditLogRepository.insertAll(List.of(pending.auditLog)));
+            completed(pending);
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            System.err.println("Failed to write audit log " + pending.auditLog + ": " + e.getMessage());
+            pending.done.completeExceptionally(e);
+        }
+    }
+
+    private void completed(Pending pending) {
+        writtenCounter.increment();
+        lagTimer.record(System.nanoTime() - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+        pending.done.complete(null);
+    }
+}
@@ -0,0 +1,96 @@
+package com.interview.service;
+
+import com.interview.repository.AuditLogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Nightly maintenance of the partitioned audit log: rolls up every finished day into audit_rollup_daily
+ * and drops monthly partitions older than the retention period. Dropping a partition is a single DDL
+ * statement, so retention costs the same no matter how many rows a month holds.
+ */
+@Service
+public class AuditRetentionService {
+
+    private final AuditLogRepository auditLogRepository;
+    private final int retentionMonths;
+
+    @Autowired
+    public AuditRetentionService(AuditLogRepository auditLogRepository,
+                                 @Value("${audit.retention-months:12}") int retentionMonths) {
+        this.auditLogRepository = auditLogRepository;
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Catch up on days missed while the application was down
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        runMaintenance();
+    }
+
+    @Scheduled(cron = "${audit.rollup.cron:0 5 0 * * *}")
+    public void runMaintenance() {
+        try {
+            LocalDate today = LocalDate.now();
+            int days = rollupThrough(today.minusDays(1));
+            List<YearMonth> dropped = dropExpired(YearMonth.from(today));
+            if (days > 0 || !dropped.isEmpty()) {
+                System.out.println("Audit maintenance: rolled up " + days + " days, dropped partitions " + dropped);
+            }
+        } catch (Exception e) {
+            System.err.println("Audit maintenance failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Roll up every day from the last rolled-up day through lastDay; returns the number of days processed.
+     * The last rolled-up day is done again since the async writer may have added rows after its rollup.
+     */
+    int rollupThrough(LocalDate lastDay) {
+        List<YearMonth> partitions = auditLogRepository.getPartitions();
+        if (partitions.isEmpty()) {
+            return 0;
+        }
+        LocalDate day = partitions.get(0).atDay(1);
+        LocalDate lastRollup = auditLogRepository.findLastRollupDay();
+        if (lastRollup != null && lastRollup.isAfter(day)) {
+            day = lastRollup;
+        }
+        int days = 0;
+        for (; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            auditLogRepository.rollupDay(day);
+            days++;
+        }
+        return days;
+    }
+
+    /**
+     * Drop partitions of months that ended more than retentionMonths ago, keeping the current month and
+     * the retentionMonths before it. Their days are rolled up once more first, so the counts survive.
+     */
+    List<YearMonth> dropExpired(YearMonth currentMonth) {
+        if (retentionMonths <= 0) {
+            return List.of();
+        }
+        YearMonth cutoff = currentMonth.minusMonths(retentionMonths);
+        for (YearMonth month : auditLogRepository.getPartitions()) {
+            if (!month.isBefore(cutoff)) {
+                break;
+            }
+            for (int day = 1; day <= month.lengthOfMonth(); day++) {
+                auditLogRepository.rollupDay(month.atDay(day));
+            }
+        }
+        return auditLogRepository.dropPartitionsBefore(cutoff);
+    }
+}
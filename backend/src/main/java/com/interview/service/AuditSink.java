@@ -0,0 +1,16 @@
+package com.interview.service;
+
+import com.interview.model.AuditLog;
+
+/**
+ * Destination of audit rows produced by AuditLogService, selected with audit.sink:
+ * "database" (default, batched inserts into the monthly audit_log_yyyyMM partitions by AuditLogWriter) or "journal"
+ * (append-only memory-mapped segment files on local disk, see AuditJournal).
+ */
+public interface AuditSink {
+
+    /**
+     * Record one row. Implementations must not rely on the caller's transaction.
+     */
+    void submit(AuditLog auditLog);
+}
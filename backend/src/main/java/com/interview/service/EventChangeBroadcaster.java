@@ -0,0 +1,195 @@
+package com.interview.service;
+
+import com.interview.dto.EventChangeNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process fan-out of event change notifications to /api/events/stream subscribers.
+ *
+ * publish() never blocks: each subscriber has a bounded buffer drained by its own sender (a virtual
+ * thread), and a subscriber whose buffer is full is disconnected rather than allowed to hold up
+ * everyone else. A disconnected client reconnects and catches up through /api/events/changes.
+ *
+ * Subscribers are authenticated, and each principal may hold at most max-subscribers-per-principal
+ * connections, so one client cannot take every one of the node's max-subscribers slots.
+ */
+@Component
+public class EventChangeBroadcaster {
+
+    // Queued like a notification so a stalled client also fills its buffer when nothing changes
+    private static final EventChangeNotification HEARTBEAT = new EventChangeNotification();
+
+    static final class Subscriber {
+        final String principal;
+        final SseEmitter emitter;
+        final BlockingQueue<EventChangeNotification> buffer;
+        volatile boolean closed;
+
+        Subscriber(String principal, SseEmitter emitter, int bufferSize) {
+            this.principal = principal;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Open connections per principal; entries are removed when they drop to zero
+    private final ConcurrentHashMap<String, Integer> connectionsByPrincipal = new ConcurrentHashMap<>();
+    private final Executor senders;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final int maxPerPrincipal;
+    private final long timeoutMs;
+    private final Counter slowConsumerCounter;
+
+    @Autowired
+    public EventChangeBroadcaster(MeterRegistry meterRegistry,
+                                  @Value("${events.stream.buffer-size:256}") int bufferSize,
+                                  @Value("${events.stream.max-subscribers:1000}") int maxSubscribers,
+                                  @Value("${events.stream.max-subscribers-per-principal:4}") int maxPerPrincipal,
+                                  @Value("${events.stream.timeout-ms:300000}") long timeoutMs) {
+        this(meterRegistry, bufferSize, maxSubscribers, maxPerPrincipal, timeoutMs,
+                task -> Thread.ofVirtual().name("sse-sender").start(task));
+    }
+
+    EventChangeBroadcaster(MeterRegistry meterRegistry, int bufferSize, int maxSubscribers, int maxPerPrincipal,
+                           long timeoutMs, Executor senders) {
+        this.senders = senders;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.maxPerPrincipal = maxPerPrincipal;
+        this.timeoutMs = timeoutMs;
+
+        Gauge.builder("events.stream.subscribers", subscribers, Set::size).register(meterRegistry);
+        this.slowConsumerCounter = Counter.builder("events.stream.disconnects").tag("reason", "slow-consumer")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Register a new subscriber for principal, or return null when max-subscribers are already connected
+     * or the principal already holds max-subscribers-per-principal connections
+     */
+    public SseEmitter subscribe(String principal) {
+        if (subscribers.size() >= maxSubscribers || !reserve(principal)) {
+            return null;
+        }
+        Subscriber subscriber = new Subscriber(principal, new SseEmitter(timeoutMs), bufferSize);
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+        subscribers.add(subscriber);
+        senders.execute(() -> drain(subscriber));
+        return subscriber.emitter;
+    }
+
+    /**
+     * Hand a notification to every local subscriber
+     */
+    public void publish(EventChangeNotification notification) {
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, notification);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${events.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, HEARTBEAT);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            remove(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    Set<Subscriber> getSubscribers() {
+        return subscribers;
+    }
+
+    private void offer(Subscriber subscriber, EventChangeNotification notification) {
+        if (subscriber.closed || subscriber.buffer.offer(notification)) {
+            return;
+        }
+        remove(subscriber);
+        slowConsumerCounter.increment();
+        System.err.println("Disconnecting slow event stream subscriber: " + bufferSize + " notifications pending");
+        // complete() waits for a send in progress; a stalled client must not stall the publisher
+        senders.execute(subscriber.emitter::complete);
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        // Called again by the emitter callbacks after a disconnect; release the slot only once
+        if (subscribers.remove(subscriber)) {
+            connectionsByPrincipal.computeIfPresent(subscriber.principal, (principal, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private boolean reserve(String principal) {
+        boolean[] reserved = {false};
+        connectionsByPrincipal.compute(principal, (key, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxPerPrincipal) {
+                return count;
+            }
+            reserved[0] = true;
+            return current + 1;
+        });
+        return reserved[0];
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (!subscriber.closed) {
+                EventChangeNotification notification = subscriber.buffer.poll(1, TimeUnit.SECONDS);
+                if (notification == null) {
+                    continue;
+                }
+                subscriber.emitter.send(notification == HEARTBEAT
+                        ? SseEmitter.event().comment("keepalive")
+                        : toSseEvent(notification));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            remove(subscriber);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away, or the emitter was completed
+            remove(subscriber);
+        }
+    }
+
+    static SseEmitter.SseEventBuilder toSseEvent(EventChangeNotification notification) {
+        SseEmitter.SseEventBuilder event = SseEmitter.event()
+                .name(notification.getType().toLowerCase())
+                .data(notification, MediaType.APPLICATION_JSON);
+        if (notification.getChangeSeq() != null) {
+            event.id(String.valueOf(notification.getChangeSeq()));
+        }
+        return event;
+    }
+}
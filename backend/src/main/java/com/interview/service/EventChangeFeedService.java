@@ -0,0 +1,135 @@
+package com.interview.service;
+
+import com.interview.model.Event;
+import com.interview.repository.EventRepository;
+import com.interview.repository.EventTombstoneRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync: events created or updated, and events deleted, after a client's watermark.
+ *
+ * Every Event write and every EventTombstone takes the next number from EventChangeSequence, so
+ * the feed is a keyset scan of both tables by change sequence, merged. A number is taken before its
+ * transaction commits, so a lower number can become visible after a higher one; to never let a
+ * watermark pass such a write, the feed stops at the first change made within the last settle-ms
+ * (longer than any write transaction) and returns it on a later call instead.
+ *
+ * "Within the last settle-ms" is judged by the database clock, read in the same query, so readers on
+ * different nodes agree; change times are still written by the writing node, whose offset from the
+ * database clock must stay well below settle-ms.
+ */
+@Service
+public class EventChangeFeedService {
+
+    /**
+     * One page of the feed: upserted events and deleted ids, in change order, and the watermark to
+     * pass as since next time
+     */
+    public static class Changes {
+        private final List<Event> upserted;
+        private final List<UUID> deleted;
+        private final long watermark;
+        private final boolean hasMore;
+
+        Changes(List<Event> upserted, List<UUID> deleted, long watermark, boolean hasMore) {
+            this.upserted = upserted;
+            this.deleted = deleted;
+            this.watermark = watermark;
+            this.hasMore = hasMore;
+        }
+
+        public List<Event> getUpserted() {
+            return upserted;
+        }
+
+        public List<UUID> getDeleted() {
+            return deleted;
+        }
+
+        public long getWatermark() {
+            return watermark;
+        }
+
+        public boolean isHasMore() {
+            return hasMore;
+        }
+    }
+
+    private final EventRepository eventRepository;
+    private final EventTombstoneRepository tombstoneRepository;
+    private final long settleMs;
+
+    @Autowired
+    public EventChangeFeedService(EventRepository eventRepository,
+                                  EventTombstoneRepository tombstoneRepository,
+                                  @Value("${events.changes.settle-ms:5000}") long settleMs) {
+        this.eventRepository = eventRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.settleMs = settleMs;
+    }
+
+    @Transactional(readOnly = true)
+    public Changes getChangesSince(long since, int limit) {
+        // limit + 1 from each side is enough to find the first limit + 1 of the merge
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<Object[]> writes = eventRepository.findChangesSince(since, pageable);
+        List<Object[]> deletes = tombstoneRepository.findChangesSince(since, pageable);
+
+        List<UUID> upsertedIds = new ArrayList<>();
+        List<UUID> deleted = new ArrayList<>();
+        long watermark = since;
+        boolean hasMore = false;
+        int w = 0;
+        int d = 0;
+        while (w < writes.size() || d < deletes.size()) {
+            boolean isWrite = d >= deletes.size()
+                    || (w < writes.size() && (Long) writes.get(w)[1] < (Long) deletes.get(d)[1]);
+            Object[] row = isWrite ? writes.get(w) : deletes.get(d);
+            LocalDateTime changedAt = (LocalDateTime) row[2];
+            LocalDateTime databaseNow = (LocalDateTime) row[3];
+            if (changedAt != null && changedAt.isAfter(databaseNow.minusNanos(settleMs * 1_000_000))) {
+                // Lower numbers may still be uncommitted; this change is returned once it has settled
+                break;
+            }
+            if (upsertedIds.size() + deleted.size() == limit) {
+                hasMore = true;
+                break;
+            }
+            if (isWrite) {
+                upsertedIds.add((UUID) row[0]);
+                w++;
+            } else {
+                deleted.add((UUID) row[0]);
+                d++;
+            }
+            watermark = (Long) row[1];
+        }
+
+        List<Event> upserted = new ArrayList<>(upsertedIds.size());
+        if (!upsertedIds.isEmpty()) {
+            Map<UUID, Event> byId = eventRepository.findAllWithDetailsByIdIn(upsertedIds).stream()
+                    .collect(Collectors.toMap(Event::getId, Function.identity()));
+            for (UUID id : upsertedIds) {
+                // Deleted since the scan: its tombstone comes with a later page
+                Event event = byId.get(id);
+                if (event != null) {
+                    upserted.add(event);
+                }
+            }
+        }
+        return new Changes(upserted, deleted, watermark, hasMore);
+    }
+}
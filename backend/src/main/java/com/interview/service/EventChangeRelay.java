@@ -0,0 +1,89 @@
+package com.interview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.dto.EventChangeNotification;
+import com.interview.model.Event;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+
+/**
+ * Carries committed event changes between nodes over a Redis pub/sub channel.
+ *
+ * Every node, including the one that made the write, receives the change from the channel and hands
+ * it to its EventChangeBroadcaster, so a stream subscriber sees writes made through any node. If the
+ * publish fails the change is delivered to this node's subscribers only. A bulk import is sent as one
+ * IMPORTED notification rather than one per created event.
+ */
+@Component
+public class EventChangeRelay implements MessageListener {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final EventChangeBroadcaster broadcaster;
+    private final ChannelTopic topic;
+
+    @Autowired
+    public EventChangeRelay(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                            EventChangeBroadcaster broadcaster,
+                            @Value("${events.stream.channel:events:changes}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.broadcaster = broadcaster;
+        this.topic = new ChannelTopic(channel);
+    }
+
+    public ChannelTopic getTopic() {
+        return topic;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.isImported()) {
+            // Announced once for the whole import by onEventsImported
+            return;
+        }
+        send(toNotification(change));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventsImported(EventsImportedEvent imported) {
+        EventChangeNotification notification = new EventChangeNotification("IMPORTED", null, null,
+                imported.getLastChangeSeq());
+        notification.setCount(imported.getCount());
+        send(notification);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            broadcaster.publish(objectMapper.readValue(message.getBody(), EventChangeNotification.class));
+        } catch (IOException e) {
+            System.err.println("Ignoring malformed event change message: " + e.getMessage());
+        }
+    }
+
+    private void send(EventChangeNotification notification) {
+        try {
+            redisTemplate.convertAndSend(topic.getTopic(), objectMapper.writeValueAsString(notification));
+        } catch (Exception e) {
+            System.err.println("Failed to publish " + notification.getType() + " change"
+                    + (notification.getEventId() != null ? " of event " + notification.getEventId() : "")
+                    + " to Redis, notifying local subscribers only: " + e.getMessage());
+            broadcaster.publish(notification);
+        }
+    }
+
+    static EventChangeNotification toNotification(EventChangedEvent change) {
+        Event event = change.getEvent();
+        return new EventChangeNotification(change.getType().name(), change.getEventId(),
+                event == null ? null : event.getVersion(), change.getChangeSeq());
+    }
+}
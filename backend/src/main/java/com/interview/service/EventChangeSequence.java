@@ -0,0 +1,70 @@
+package com.interview.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Database sequence behind Event.changeSeq and EventTombstone.changeSeq, the watermark of
+ * GET /api/events/changes.
+ *
+ * Numbers are not cached across transactions: with one shared counter, the order of numbers follows
+ * the order of writes across all nodes, which the change feed relies on. A bulk write can reserve a
+ * block for its own transaction in one round trip; next() hands those out first.
+ */
+@Component
+public class EventChangeSequence {
+
+    static final String SEQUENCE = "event_change_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public EventChangeSequence(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE);
+    }
+
+    public long next() {
+        if (TransactionSynchronizationManager.getResource(this) instanceof ArrayDeque<?> reserved && !reserved.isEmpty()) {
+            return (Long) reserved.poll();
+        }
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + SEQUENCE, Long.class);
+    }
+
+    /**
+     * Draw count numbers with one query and keep them for the rest of the current transaction, so
+     * a chunk of inserts does not add a SELECT per row between its JDBC batches. Numbers left unused
+     * when the transaction ends are dropped; the feed does not mind gaps. No-op outside a transaction.
+     */
+    @SuppressWarnings("unchecked")
+    public void reserve(int count) {
+        if (count <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        List<Long> numbers = jdbcTemplate.queryForList(
+                "SELECT NEXT VALUE FOR " + SEQUENCE + " FROM SYSTEM_RANGE(1, ?)", Long.class, count);
+        ArrayDeque<Long> reserved = (ArrayDeque<Long>) TransactionSynchronizationManager.getResource(this);
+        if (reserved == null) {
+            reserved = new ArrayDeque<>();
+            TransactionSynchronizationManager.bindResource(this, reserved);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EventChangeSequence.this);
+                }
+            });
+        }
+        numbers.stream().sorted().forEach(reserved::add);
+    }
+}
@@ -0,0 +1,67 @@
+package com.interview.service;
+
+import com.interview.model.Event;
+
+import java.util.UUID;
+
+/**
+ * Application event published by EventService whenever an event is created, updated or deleted.
+ * Listeners that depend on committed data should use @TransactionalEventListener.
+ */
+public class EventChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final UUID eventId;
+    private final Event event; // null for DELETED
+    private final Long tombstoneChangeSeq; // DELETED only
+    private final boolean imported;
+
+    public EventChangedEvent(Type type, UUID eventId, Event event) {
+        this(type, eventId, event, null);
+    }
+
+    public EventChangedEvent(Type type, UUID eventId, Event event, Long tombstoneChangeSeq) {
+        this(type, eventId, event, tombstoneChangeSeq, false);
+    }
+
+    private EventChangedEvent(Type type, UUID eventId, Event event, Long tombstoneChangeSeq, boolean imported) {
+        this.type = type;
+        this.eventId = eventId;
+        this.event = event;
+        this.tombstoneChangeSeq = tombstoneChangeSeq;
+        this.imported = imported;
+    }
+
+    /**
+     * An event created by a bulk import, which also publishes one EventsImportedEvent when it is done
+     */
+    public static EventChangedEvent imported(Event event) {
+        return new EventChangedEvent(Type.CREATED, event.getId(), event, null, true);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public boolean isImported() {
+        return imported;
+    }
+
+    /**
+     * Change sequence number of the write: the event's, read when asked since an update is only stamped at
+     * flush, or for DELETED the tombstone's
+     */
+    public Long getChangeSeq() {
+        return event != null ? event.getChangeSeq() : tombstoneChangeSeq;
+    }
+}
@@ -0,0 +1,114 @@
+package com.interview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.dto.EventMapper;
+import com.interview.model.Event;
+import com.interview.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Full catalog export as NDJSON (one EventResponse per line).
+ *
+ * Event IDs come from a forward-only JPA stream (JDBC fetch size 500). Every export.clear-interval IDs,
+ * that chunk is loaded with its venues and performers in one query, written, and detached again, so
+ * memory stays flat however large the table is and the query count grows per chunk, not per event.
+ *
+ * An export holds one pooled connection for the whole download, so at most export.max-concurrent run
+ * at once (callers take a slot with tryStartExport first); the rest of the pool stays free for requests.
+ */
+@Service
+public class EventExportService {
+
+    private final EventRepository eventRepository;
+    private final EventMapper eventMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final int clearInterval;
+    private final Semaphore exportSlots;
+
+    @Autowired
+    public EventExportService(EventRepository eventRepository, EventMapper eventMapper, ObjectMapper objectMapper,
+                              EntityManager entityManager,
+                              @Value("${export.clear-interval:500}") int clearInterval,
+                              @Value("${export.max-concurrent:2}") int maxConcurrent) {
+        this.eventRepository = eventRepository;
+        this.eventMapper = eventMapper;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.clearInterval = clearInterval;
+        this.exportSlots = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Take an export slot; false when export.max-concurrent exports are already running.
+     * Every successful call must be paired with finishExport.
+     */
+    public boolean tryStartExport() {
+        return exportSlots.tryAcquire();
+    }
+
+    public void finishExport() {
+        exportSlots.release();
+    }
+
+    /**
+     * Write every event to out, one JSON object per line; returns the number of events written.
+     * Runs in one read-only transaction that stays open while the client downloads.
+     */
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream out, boolean isAdmin) throws IOException {
+        long count = 0;
+        List<UUID> chunk = new ArrayList<>(clearInterval);
+        try (Stream<UUID> ids = eventRepository.streamAllIdsForExport()) {
+            Iterator<UUID> iterator = ids.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == clearInterval) {
+                    count += writeChunk(chunk, out, isAdmin);
+                    chunk.clear();
+                }
+            }
+        }
+        count += writeChunk(chunk, out, isAdmin);
+        out.flush();
+        return count;
+    }
+
+    private int writeChunk(List<UUID> chunk, OutputStream out, boolean isAdmin) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, Event> byId = eventRepository.findAllWithDetailsByIdIn(chunk).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        int written = 0;
+        for (UUID id : chunk) {
+            // Deleted since the ID was read
+            Event event = byId.get(id);
+            if (event != null) {
+                out.write(objectMapper.writeValueAsBytes(eventMapper.toResponse(event, isAdmin)));
+                out.write('\n');
+                written++;
+            }
+        }
+        // Written events are not needed again; detach them so the session does not grow
+        entityManager.clear();
+        out.flush();
+        return written;
+    }
+}
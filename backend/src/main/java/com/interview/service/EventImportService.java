@@ -0,0 +1,404 @@
+package com.interview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.dto.EventMapper;
+import com.interview.dto.EventRequest;
+import com.interview.dto.ImportReport;
+import com.interview.model.Event;
+import com.interview.model.Performer;
+import com.interview.model.Venue;
+import com.interview.repository.PerformerRepository;
+import com.interview.repository.VenueRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk event import from NDJSON (one EventRequest per line) or CSV.
+ *
+ * The upload is read as a stream and handled in chunks of import.chunk-size rows: rows are validated in
+ * parallel, venues and performers not seen before are looked up with one findAllById each, and the valid
+ * rows are inserted in one transaction per chunk through Hibernate JDBC batching
+ * (hibernate.jdbc.batch_size, ordered inserts). A failing chunk is rolled back and reported without
+ * stopping the import. The "events" cache is cleared and the new events are bulk indexed once, at the end.
+ * In-process listeners see every created event; the live change stream gets one EventsImportedEvent.
+ */
+@Service
+public class EventImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+    static final List<String> CSV_COLUMNS = List.of("name", "description", "eventDate", "location", "venueId", "performerIds");
+
+    private final VenueRepository venueRepository;
+    private final PerformerRepository performerRepository;
+    private final EventMapper eventMapper;
+    private final EventSearchService searchService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventChangeSequence changeSequence;
+    private final int chunkSize;
+
+    @Autowired
+    public EventImportService(VenueRepository venueRepository,
+                              PerformerRepository performerRepository,
+                              EventMapper eventMapper,
+                              EventSearchService searchService,
+                              Validator validator,
+                              ObjectMapper objectMapper,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              CacheManager cacheManager,
+                              ApplicationEventPublisher eventPublisher,
+                              EventChangeSequence changeSequence,
+                              @Value("${import.chunk-size:500}") int chunkSize) {
+        this.venueRepository = venueRepository;
+        this.performerRepository = performerRepository;
+        this.eventMapper = eventMapper;
+        this.searchService = searchService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.changeSequence = changeSequence;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * One parsed input row; request is null when the line could not be parsed
+     */
+    static final class Row {
+        private final long line;
+        private final EventRequest request;
+        private String error;
+
+        Row(long line, EventRequest request, String error) {
+            this.line = line;
+            this.request = request;
+            this.error = error;
+        }
+    }
+
+    public ImportReport importNdjson(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Importer importer = new Importer();
+        String text;
+        long line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                importer.add(new Row(line, objectMapper.readValue(text, EventRequest.class), null));
+            } catch (IOException e) {
+                importer.add(new Row(line, null, "Invalid JSON: " + e.getOriginalMessage()));
+            }
+        }
+        return importer.finish();
+    }
+
+    /**
+     * CSV with a header row naming the CSV_COLUMNS (any order; name, eventDate and location required).
+     * performerIds are separated by ';'. Fields may be double-quoted; quoted fields cannot span lines.
+     */
+    public ImportReport importCsv(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return new Importer().finish();
+        }
+        List<String> columns = parseCsvLine(header.replace("\uFEFF", "")).stream().map(String::trim).toList();
+        for (String required : List.of("name", "eventDate", "location")) {
+            if (!columns.contains(required)) {
+                throw new IllegalArgumentException("CSV header must contain " + required + "; columns are " + CSV_COLUMNS);
+            }
+        }
+
+        Importer importer = new Importer();
+        String text;
+        long line = 1;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                importer.add(new Row(line, toRequest(columns, parseCsvLine(text)), null));
+            } catch (RuntimeException e) {
+                importer.add(new Row(line, null, "Invalid CSV row: " + e.getMessage()));
+            }
+        }
+        return importer.finish();
+    }
+
+    /**
+     * State of one import run: the current chunk, the venues/performers resolved so far and the report
+     */
+    private final class Importer {
+        private final long start = System.nanoTime();
+        private final ImportReport report = new ImportReport();
+        private final List<Row> chunk = new ArrayList<>();
+        private final Map<UUID, Venue> venues = new HashMap<>();
+        private final Map<UUID, Performer> performers = new HashMap<>();
+        private final Set<UUID> missingVenues = new HashSet<>();
+        private final Set<UUID> missingPerformers = new HashSet<>();
+        private final List<UUID> importedIds = new ArrayList<>();
+        private Long lastChangeSeq;
+
+        void add(Row row) {
+            report.setReceived(report.getReceived() + 1);
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        ImportReport finish() {
+            flushChunk();
+            if (!importedIds.isEmpty()) {
+                Cache cache = cacheManager.getCache("events");
+                if (cache != null) {
+                    cache.clear();
+                }
+                try {
+                    searchService.indexEventsById(importedIds);
+                } catch (RuntimeException e) {
+                    // The events are stored; the reconciler repairs the index later
+                    System.err.println("Failed to index imported events: " + e.getMessage());
+                }
+                // One stream notification for the whole import instead of one per row
+                eventPublisher.publishEvent(new EventsImportedEvent(importedIds.size(), lastChangeSeq));
+            }
+            report.setImported(importedIds.size());
+            report.getErrors().sort(Comparator.comparingLong(ImportReport.RowError::getLine));
+            report.setDurationMs((System.nanoTime() - start) / 1_000_000);
+            return report;
+        }
+
+        private void flushChunk() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            // Bean validation is CPU-only and the Validator is thread-safe
+            chunk.parallelStream()
+                    .filter(row -> row.error == null)
+                    .forEach(row -> row.error = validate(row.request));
+            resolveReferences();
+
+            List<Row> valid = chunk.stream().filter(row -> row.error == null).toList();
+            if (!valid.isEmpty()) {
+                try {
+                    for (Event event : insert(valid)) {
+                        importedIds.add(event.getId());
+                        if (event.getChangeSeq() != null && (lastChangeSeq == null || event.getChangeSeq() > lastChangeSeq)) {
+                            lastChangeSeq = event.getChangeSeq();
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    String message = "Chunk rolled back: " + e.getMessage();
+                    valid.forEach(row -> row.error = message);
+                }
+            }
+            for (Row row : chunk) {
+                if (row.error != null) {
+                    reportError(row);
+                }
+            }
+            chunk.clear();
+        }
+
+        /**
+         * Look up the venue and performer ids not seen in earlier chunks, one findAllById each
+         */
+        private void resolveReferences() {
+            Set<UUID> venueIds = new LinkedHashSet<>();
+            Set<UUID> performerIds = new LinkedHashSet<>();
+            for (Row row : chunk) {
+                if (row.error != null) {
+                    continue;
+                }
+                UUID venueId = row.request.getVenueId();
+                if (venueId != null && !venues.containsKey(venueId) && !missingVenues.contains(venueId)) {
+                    venueIds.add(venueId);
+                }
+                if (row.request.getPerformerIds() != null) {
+                    for (UUID performerId : row.request.getPerformerIds()) {
+                        if (!performers.containsKey(performerId) && !missingPerformers.contains(performerId)) {
+                            performerIds.add(performerId);
+                        }
+                    }
+                }
+            }
+            if (!venueIds.isEmpty()) {
+                venueRepository.findAllById(venueIds).forEach(venue -> venues.put(venue.getId(), venue));
+                venueIds.stream().filter(id -> !venues.containsKey(id)).forEach(missingVenues::add);
+            }
+            if (!performerIds.isEmpty()) {
+                performerRepository.findAllById(performerIds).forEach(performer -> performers.put(performer.getId(), performer));
+                performerIds.stream().filter(id -> !performers.containsKey(id)).forEach(missingPerformers::add);
+            }
+
+            for (Row row : chunk) {
+                if (row.error != null) {
+                    continue;
+                }
+                UUID venueId = row.request.getVenueId();
+                if (venueId != null && missingVenues.contains(venueId)) {
+                    row.error = "Venue not found with id: " + venueId;
+                } else if (row.request.getPerformerIds() != null) {
+                    row.request.getPerformerIds().stream()
+                            .filter(missingPerformers::contains)
+                            .findFirst()
+                            .ifPresent(id -> row.error = "Performer not found with id: " + id);
+                }
+            }
+        }
+
+        /**
+         * Insert one chunk in one transaction; the session is flushed as JDBC batches and cleared at the end
+         */
+        private List<Event> insert(List<Row> rows) {
+            return transactionTemplate.execute(status -> {
+                // One query for the chunk's change sequence numbers instead of one per persist
+                changeSequence.reserve(rows.size());
+                List<Event> events = new ArrayList<>(rows.size());
+                for (Row row : rows) {
+                    Event event = eventMapper.toEntity(row.request);
+                    if (row.request.getVenueId() != null) {
+                        event.setVenue(venues.get(row.request.getVenueId()));
+                    }
+                    if (row.request.getPerformerIds() != null) {
+                        event.setPerformers(row.request.getPerformerIds().stream()
+                                .map(performers::get)
+                                .collect(Collectors.toCollection(HashSet::new)));
+                    }
+                    entityManager.persist(event);
+                    events.add(event);
+                    eventPublisher.publishEvent(EventChangedEvent.imported(event));
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return events;
+            });
+        }
+
+        private void reportError(Row row) {
+            report.setFailed(report.getFailed() + 1);
+            if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+                report.getErrors().add(new ImportReport.RowError(row.line, row.error));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+    }
+
+    private String validate(EventRequest request) {
+        Set<ConstraintViolation<EventRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static EventRequest toRequest(List<String> columns, List<String> values) {
+        if (values.size() > columns.size()) {
+            throw new IllegalArgumentException("expected " + columns.size() + " fields, got " + values.size());
+        }
+        EventRequest request = new EventRequest();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (columns.get(i).toLowerCase(Locale.ROOT)) {
+                case "name" -> request.setName(value);
+                case "description" -> request.setDescription(value);
+                case "eventdate" -> request.setEventDate(LocalDateTime.parse(value));
+                case "location" -> request.setLocation(value);
+                case "venueid" -> request.setVenueId(UUID.fromString(value));
+                case "performerids" -> {
+                    Set<UUID> ids = new HashSet<>();
+                    for (String id : value.split(";")) {
+                        if (!id.isBlank()) {
+                            ids.add(UUID.fromString(id.trim()));
+                        }
+                    }
+                    request.setPerformerIds(ids);
+                }
+                default -> {
+                    // Unknown columns are ignored
+                }
+            }
+        }
+        return request;
+    }
+
+    /**
+     * Split one CSV line on commas, honouring double quotes ("" is a literal quote)
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
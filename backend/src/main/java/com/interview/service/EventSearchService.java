@@ -1,134 +1,238 @@
 package com.interview.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.interview.dto.BatchSearchResult;
+import com.interview.dto.FacetBucket;
+import com.interview.dto.FacetedSearchResponse;
+import com.interview.dto.SearchQuerySpec;
 import com.interview.model.Event;
 import com.interview.model.EventDocument;
 import com.interview.repository.EventRepository;
-import org.opensearch.action.bulk.BulkRequest;
-import org.opensearch.action.bulk.BulkResponse;
-import org.opensearch.action.delete.DeleteRequest;
-import org.opensearch.action.delete.DeleteResponse;
-import org.opensearch.action.index.IndexRequest;
-import org.opensearch.action.index.IndexResponse;
-import org.opensearch.client.RequestOptions;
-import org.opensearch.client.RestHighLevelClient;
-import org.opensearch.common.xcontent.XContentType;
-import org.opensearch.action.search.SearchRequest;
-import org.opensearch.action.search.SearchResponse;
-import org.opensearch.index.query.BoolQueryBuilder;
-import org.opensearch.index.query.QueryBuilders;
-import org.opensearch.search.SearchHit;
-import org.opensearch.search.builder.SearchSourceBuilder;
-import org.opensearch.search.sort.SortOrder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Event search on top of the configured SearchBackend (search.backend=opensearch|lucene).
+ * Adds the result cache and builds index documents from Event entities.
+ */
 @Service
 public class EventSearchService {
 
-    private final RestHighLevelClient client;
+    private final SearchBackend backend;
     private final EventRepository eventRepository;
-    private final ObjectMapper objectMapper;
+    private final SearchResultCache resultCache;
+    private final RecentWritesBuffer recentWrites;
 
-    public EventSearchService(RestHighLevelClient client, EventRepository eventRepository) {
-        this.client = client;
+    public EventSearchService(SearchBackend backend, EventRepository eventRepository,
+                              SearchResultCache resultCache, RecentWritesBuffer recentWrites) {
+        this.backend = backend;
         this.eventRepository = eventRepository;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+        this.resultCache = resultCache;
+        this.recentWrites = recentWrites;
     }
 
-    public List<EventDocument> search(
+    /**
+     * Search events without blocking the caller.
+     * Results are served from the result cache while the index has not been written to, then merged
+     * with this node's writes that the index may not show yet (read-your-writes).
+     */
+    public CompletableFuture<List<EventDocument>> search(
             String keyword,
             String city,
             int page,
             int size
-    ) throws Exception {
+    ) {
+        return resultCache.getOrLoad("docs:" + SearchResultCache.signature(keyword, city, page, size),
+                        () -> backend.search(keyword, city, page, size))
+                .thenApply(results -> recentWrites.merge(results, keyword, city, page, size));
+    }
 
-        SearchRequest request = new SearchRequest("events");
-        SearchSourceBuilder builder = new SearchSourceBuilder();
+    /**
+     * Search plus facet counts (city, month of eventDate, performer genre).
+     * With a keyword the hits and facets come from one request. Without one, the facets depend only on
+     * the city filter, so they are cached separately and only the hits are fetched.
+     */
+    public CompletableFuture<FacetedSearchResponse> searchWithFacets(
+            String keyword,
+            String city,
+            int page,
+            int size
+    ) {
+        if (keyword == null || keyword.isBlank()) {
+            CompletableFuture<Map<String, List<FacetBucket>>> facets = resultCache.getOrLoad(
+                    "facets:c=" + SearchResultCache.normalizeCity(city),
+                    () -> backend.facets(null, city));
+            return search(null, city, page, size)
+                    .thenCombine(facets, FacetedSearchResponse::new);
+        }
 
-        BoolQueryBuilder boolQuery = QueryBuilders.boolQuery();
+        return resultCache.getOrLoad("faceted:" + SearchResultCache.signature(keyword, city, page, size),
+                        () -> backend.searchWithFacets(keyword, city, page, size))
+                .thenApply(response -> new FacetedSearchResponse(
+                        recentWrites.merge(response.getResults(), keyword, city, page, size), response.getFacets()));
+    }
 
-        if (keyword != null && !keyword.isBlank()) {
-            boolQuery.should(QueryBuilders.matchQuery("name", keyword));
-            boolQuery.should(QueryBuilders.matchQuery("description", keyword));
+    /**
+     * Run several searches with one backend round trip (one _msearch on OpenSearch).
+     * Queries already in the result cache are answered from it; only the misses go into the batch.
+     * Each query completes or fails on its own, so the response is in query order with per-query errors.
+     */
+    public CompletableFuture<List<BatchSearchResult>> searchBatch(List<SearchQuerySpec> queries) {
+        List<SearchQuerySpec> misses = new ArrayList<>();
+        CompletableFuture<List<BatchSearchResult>> batch = new CompletableFuture<>();
+        List<CompletableFuture<BatchSearchResult>> results = new ArrayList<>();
+
+        for (SearchQuerySpec query : queries) {
+            String key = "docs:" + SearchResultCache.signature(query.getKeyword(), query.getCity(),
+                    query.getPage(), query.getSize());
+            CompletableFuture<List<EventDocument>> docs = resultCache.getOrLoad(key, () -> {
+                int slot = misses.size();
+                misses.add(query);
+                return batch.thenCompose(batchResults -> {
+                    BatchSearchResult result = batchResults.get(slot);
+                    return result.getError() == null
+                            ? CompletableFuture.completedFuture(result.getResults())
+                            : CompletableFuture.<List<EventDocument>>failedFuture(new RuntimeException(result.getError()));
+                });
+            });
+            results.add(docs.handle((list, error) -> error == null
+                    ? BatchSearchResult.of(recentWrites.merge(list, query.getKeyword(), query.getCity(),
+                            query.getPage(), query.getSize()))
+                    : BatchSearchResult.failed(rootMessage(error))));
         }
 
-        if (city != null && !city.isBlank()) {
-            boolQuery.filter(QueryBuilders.matchQuery("location", city));
+        if (misses.isEmpty()) {
+            batch.complete(List.of());
+        } else {
+            backend.multiSearch(misses).whenComplete((batchResults, error) -> {
+                if (error != null) {
+                    batch.completeExceptionally(error);
+                } else {
+                    batch.complete(batchResults);
+                }
+            });
         }
 
-        builder.query(boolQuery);
-        builder.sort("eventDate", SortOrder.ASC);
-        builder.from((page - 1) * size);
-        builder.size(size);
-
-        request.source(builder);
-        SearchResponse response = client.search(request, RequestOptions.DEFAULT);
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> results.stream().map(CompletableFuture::join).toList());
+    }
 
-        List<EventDocument> results = new ArrayList<>();
-        for (SearchHit hit : response.getHits().getHits()) {
-            EventDocument doc = objectMapper.readValue(hit.getSourceAsString(), EventDocument.class);
-            results.add(doc);
+    private static String rootMessage(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause != cause.getCause()) {
+            cause = cause.getCause();
         }
-        return results;
+        return cause.getMessage();
     }
 
+    /**
+     * Events within radiusKm of a point, sorted by distance, straight from the backend's geo query (not cached)
+     */
+    public CompletableFuture<List<EventDocument>> searchNearby(double lat, double lon, double radiusKm,
+                                                               LocalDateTime from, LocalDateTime to,
+                                                               int page, int size) {
+        return backend.nearby(lat, lon, radiusKm, from, to, page, size);
+    }
+
+    /**
+     * Search returning the hits as SUMMARY_FIELDS JSON, to be written out without a Jackson round trip
+     */
+    public CompletableFuture<SearchBackend.RawHits> searchRaw(
+            String keyword,
+            String city,
+            int page,
+            int size
+    ) {
+        return resultCache.getOrLoad("raw:" + SearchResultCache.signature(keyword, city, page, size),
+                () -> backend.searchRaw(keyword, city, page, size));
+    }
+
+    /**
+     * Reindex every event in batches. One bulk request is kept in flight while the next page is read from the DB.
+     */
     public void indexAllEvents() throws Exception {
+        ensureIndex();
         int page = 0;
         int size = 200;  // batch size
-        Page<Event> eventPage;
+        Page<UUID> idPage;
+        CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
 
         do {
-            eventPage = eventRepository.findAll(PageRequest.of(page, size));
-            BulkRequest bulk = new BulkRequest();
-
-            for (Event event : eventPage) {
-                EventDocument doc = EventDocument.fromEvent(event);
-                bulk.add(new IndexRequest("events")
-                        .id(doc.getId())
-                        .source(objectMapper.writeValueAsString(doc), XContentType.JSON));
-            }
-
-            if (bulk.numberOfActions() > 0) {
-                BulkResponse response = client.bulk(bulk, RequestOptions.DEFAULT);
-                if (response.hasFailures()) {
-                    System.out.println("Some failures occurred: " + response.buildFailureMessage());
-                } else {
-                    System.out.println("Indexed batch " + page + ", count = " + bulk.numberOfActions());
-                }
-            }
+            idPage = eventRepository.findAllIds(PageRequest.of(page, size));
+            // Venue and performers are fetched with the events, so the documents are fully denormalized
+            List<Event> events = eventRepository.findAllWithDetailsByIdIn(idPage.getContent());
+
+            inFlight.join();
+            int batch = page;
+            inFlight = bulkIndex(events).thenAccept(count ->
+                    System.out.println("Indexed batch " + batch + ", count = " + count));
 
             page++; // next batch
 
-        } while (!eventPage.isLast());
+        } while (!idPage.isLast());
+
+        inFlight.join();
     }
 
     /**
-     * Index a single event to OpenSearch
+     * Index the given events in batches of 200, the way indexAllEvents does; used after bulk imports.
      */
-    public void indexEvent(Event event) throws Exception {
-        EventDocument doc = EventDocument.fromEvent(event);
-        IndexRequest request = new IndexRequest("events")
-                .id(doc.getId())
-                .source(objectMapper.writeValueAsString(doc), XContentType.JSON);
+    public void indexEventsById(List<UUID> ids) {
+        int size = 200;
+        CompletableFuture<Integer> inFlight = CompletableFuture.completedFuture(0);
+        for (int from = 0; from < ids.size(); from += size) {
+            List<Event> events = eventRepository.findAllWithDetailsByIdIn(ids.subList(from, Math.min(from + size, ids.size())));
+            inFlight.join();
+            inFlight = bulkIndex(events);
+        }
+        inFlight.join();
+    }
 
-        IndexResponse response = client.index(request, RequestOptions.DEFAULT);
-        System.out.println("Indexed event: " + event.getId() + " with result: " + response.getResult());
+    /**
+     * Index a batch of events (with venue and performers loaded) in one bulk request.
+     * Completes with the number of documents indexed; fails with BulkIndexException when some items failed.
+     * The result cache is invalidated either way, since a partly failed request still wrote documents.
+     */
+    public CompletableFuture<Integer> bulkIndex(List<Event> events) {
+        List<EventDocument> docs = new ArrayList<>(events.size());
+        for (Event event : events) {
+            docs.add(EventDocument.fromEvent(event));
+        }
+        if (docs.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+        return backend.bulkIndex(docs).whenComplete((count, error) -> resultCache.bumpGeneration());
+    }
+
+    /**
+     * Create the events index if it does not exist yet
+     */
+    public void ensureIndex() throws Exception {
+        backend.ensureIndex();
+    }
+
+    /**
+     * Index a single event.
+     * The document is built on the calling thread (it may touch lazy associations), the write itself is async.
+     */
+    public CompletableFuture<Void> indexEvent(Event event) {
+        EventDocument doc = EventDocument.fromEvent(event);
+        recentWrites.recordWrite(doc);
+        return backend.index(doc).thenRun(resultCache::bumpGeneration);
     }
 
     /**
-     * Delete an event from OpenSearch by ID
+     * Delete an event from the index by ID
      */
-    public void deleteEvent(UUID eventId) throws Exception {
-        DeleteRequest request = new DeleteRequest("events", eventId.toString());
-        DeleteResponse response = client.delete(request, RequestOptions.DEFAULT);
-        System.out.println("Deleted event: " + eventId + " with result: " + response.getResult());
+    public CompletableFuture<Void> deleteEvent(UUID eventId) {
+        recentWrites.recordDelete(eventId.toString());
+        return backend.delete(eventId.toString()).thenRun(resultCache::bumpGeneration);
     }
 }
@@ -1,11 +1,17 @@
 package com.interview.service;
 
 import com.interview.dto.CursorPageResponse;
+import com.interview.exception.PreconditionFailedException;
+import com.interview.exception.ResourceNotFoundException;
 import com.interview.model.Event;
+import com.interview.model.EventTombstone;
+import com.interview.model.Performer;
 import com.interview.repository.EventRepository;
+import com.interview.repository.EventTombstoneRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -14,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -22,16 +29,19 @@ public class EventService {
 
     private final EventRepository eventRepository;
     private final EventSearchService searchService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventTombstoneRepository tombstoneRepository;
+    private final EventChangeSequence changeSequence;
 
     @Autowired
-    public EventService(EventRepository eventRepository, EventSearchService searchService) {
+    public EventService(EventRepository eventRepository, EventSearchService searchService,
+                        ApplicationEventPublisher eventPublisher, EventTombstoneRepository tombstoneRepository,
+                        EventChangeSequence changeSequence) {
         this.eventRepository = eventRepository;
         this.searchService = searchService;
-    }
-
-    @Cacheable(value = "events", key = "'all'")
-    public List<Event> getAllEvents() {
-        return eventRepository.findAll();
+        this.eventPublisher = eventPublisher;
+        this.tombstoneRepository = tombstoneRepository;
+        this.changeSequence = changeSequence;
     }
 
     @Transactional(readOnly = true)
@@ -43,10 +53,16 @@ public class EventService {
     @Transactional
     @CacheEvict(value = "events", allEntries = true)
     public Event createEvent(Event event) {
+        EventChangedEvent.Type changeType = event.getId() == null
+                ? EventChangedEvent.Type.CREATED : EventChangedEvent.Type.UPDATED;
         Event savedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(changeType, savedEvent.getId(), savedEvent));
         // Index to OpenSearch
         try {
-            searchService.indexEvent(savedEvent);
+            searchService.indexEvent(savedEvent).exceptionally(e -> {
+                System.err.println("Failed to index event to OpenSearch: " + e.getMessage());
+                return null;
+            });
         } catch (Exception e) {
             System.err.println("Failed to index event to OpenSearch: " + e.getMessage());
         }
@@ -56,33 +72,105 @@ public class EventService {
     @Transactional
     @CacheEvict(value = "events", allEntries = true)
     public Event updateEvent(UUID id, Event eventDetails) {
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
+        return updateEvent(id, eventDetails, null);
+    }
 
-        event.setName(eventDetails.getName());
-        event.setDescription(eventDetails.getDescription());
-        event.setEventDate(eventDetails.getEventDate());
-        event.setLocation(eventDetails.getLocation());
+    /**
+     * Replace an event's fields, venue and performers with those of eventDetails.
+     * With an expectedVersion (from If-Match) the version check and the column changes are a single
+     * conditional UPDATE, with no read before it; PreconditionFailedException when the event has moved on.
+     * Without one, the event is read and saved, and @Version still rejects a concurrent write at flush.
+     * Either way the version advances by exactly one: performer links are excluded from optimistic
+     * locking and only rewritten when the set of performer ids actually changes.
+     */
+    @Transactional
+    @CacheEvict(value = "events", allEntries = true)
+    public Event updateEvent(UUID id, Event eventDetails, Long expectedVersion) {
+        Event event;
+        if (expectedVersion != null) {
+            int updated = eventRepository.updateIfVersionMatches(id, expectedVersion, eventDetails.getName(),
+                    eventDetails.getDescription(), eventDetails.getEventDate(), eventDetails.getLocation(),
+                    eventDetails.getVenue(), LocalDateTime.now(), changeSequence.next());
+            if (updated == 0) {
+                if (!eventRepository.existsById(id)) {
+                    throw new ResourceNotFoundException("Event not found with id: " + id);
+                }
+                throw new PreconditionFailedException("Event " + id + " is no longer at version " + expectedVersion);
+            }
+            // Loaded after the update for the performers, the response and the change listeners
+            event = eventRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+        } else {
+            event = eventRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+            event.setName(eventDetails.getName());
+            event.setDescription(eventDetails.getDescription());
+            event.setEventDate(eventDetails.getEventDate());
+            event.setLocation(eventDetails.getLocation());
+            event.setVenue(eventDetails.getVenue());
+            // Always dirty, so a performer-only change still produces the one versioned UPDATE
+            event.setUpdatedAt(LocalDateTime.now());
+        }
+        syncPerformers(event, eventDetails.getPerformers());
 
-        Event updatedEvent = eventRepository.save(event);
+        Event updatedEvent = expectedVersion != null ? event : eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(EventChangedEvent.Type.UPDATED, id, updatedEvent));
         // Re-index to OpenSearch
         try {
-            searchService.indexEvent(updatedEvent);
+            searchService.indexEvent(updatedEvent).exceptionally(e -> {
+                System.err.println("Failed to update event in OpenSearch: " + e.getMessage());
+                return null;
+            });
         } catch (Exception e) {
             System.err.println("Failed to update event in OpenSearch: " + e.getMessage());
         }
         return updatedEvent;
     }
 
+    private static void syncPerformers(Event event, Set<Performer> performers) {
+        Set<Performer> wanted = performers != null ? performers : Set.of();
+        if (performerIds(event.getPerformers()).equals(performerIds(wanted))) {
+            return;
+        }
+        // Changed in place: a new collection instance would make Hibernate delete and re-insert every link
+        event.getPerformers().clear();
+        event.getPerformers().addAll(wanted);
+    }
+
+    private static Set<UUID> performerIds(Set<Performer> performers) {
+        return performers.stream().map(Performer::getId).collect(Collectors.toSet());
+    }
+
     @Transactional
     @CacheEvict(value = "events", allEntries = true)
     public void deleteEvent(UUID id) {
+        deleteEvent(id, null);
+    }
+
+    /**
+     * Delete an event; with an expectedVersion (from If-Match) only while it is still at that version.
+     * The row is read first so Hibernate can remove its event_performer rows; the DELETE itself
+     * is conditional on the version that was read.
+     */
+    @Transactional
+    @CacheEvict(value = "events", allEntries = true)
+    public void deleteEvent(UUID id, Long expectedVersion) {
         Event event = eventRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(event.getVersion())) {
+            throw new PreconditionFailedException("Event " + id + " is no longer at version " + expectedVersion);
+        }
         eventRepository.delete(event);
+        // Delta sync clients only learn about the delete from this
+        EventTombstone tombstone = tombstoneRepository.save(new EventTombstone(id));
+        eventPublisher.publishEvent(new EventChangedEvent(EventChangedEvent.Type.DELETED, id, null,
+                tombstone.getChangeSeq()));
         // Delete from OpenSearch
         try {
-            searchService.deleteEvent(id);
+            searchService.deleteEvent(id).exceptionally(e -> {
+                System.err.println("Failed to delete event from OpenSearch: " + e.getMessage());
+                return null;
+            });
         } catch (Exception e) {
             System.err.println("Failed to delete event from OpenSearch: " + e.getMessage());
         }
@@ -108,6 +196,29 @@ public class EventService {
         return eventRepository.findByEventDateBetween(startDate, endDate);
     }
 
+    /**
+     * Hash of the ids and versions of the rows getEventsCursorPaginated(cursor, pageSize) would return
+     * (including the look-ahead row behind hasMore), read with a two-column query. It changes whenever
+     * an event on the page is created, updated or deleted, so it can serve as the page's ETag.
+     */
+    @Transactional(readOnly = true)
+    public long getPageVersionHash(UUID cursor, int pageSize) {
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<Object[]> rows = cursor == null
+                ? eventRepository.findFirstPageVersions(pageable)
+                : eventRepository.findVersionsAfterCursor(cursor, pageable);
+        // FNV-style multiply-xor over the (id, version) words; the rotation lets high bits reach the low ones
+        long hash = 0xcbf29ce484222325L ^ pageSize;
+        for (Object[] row : rows) {
+            UUID id = (UUID) row[0];
+            Long version = (Long) row[1];
+            for (long value : new long[] {id.getMostSignificantBits(), id.getLeastSignificantBits(), version == null ? 0 : version}) {
+                hash = Long.rotateLeft((hash ^ value) * 0x100000001b3L, 31);
+            }
+        }
+        return hash;
+    }
+
     @Transactional(readOnly = true)
     public CursorPageResponse<Event> getEventsCursorPaginated(UUID cursor, int pageSize) {
         // Fetch one extra to determine if there are more results
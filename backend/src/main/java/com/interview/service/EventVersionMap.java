@@ -0,0 +1,100 @@
+package com.interview.service;
+
+import com.interview.model.Event;
+import com.interview.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * id -> (version, last modified) of events, for answering conditional GETs (If-None-Match,
+ * If-Modified-Since) without loading the event or serializing its body.
+ *
+ * Writes through this node update the map after commit. A miss, or an entry older than ttl-ms, is
+ * refreshed with a two-column query by primary key, which bounds how long a write made on another
+ * node can go unnoticed here.
+ */
+@Component
+public class EventVersionMap {
+
+    /**
+     * Version and last-modified time (epoch ms, -1 when unknown) of one event
+     */
+    public record Stamp(long version, long lastModified) {
+    }
+
+    private record Entry(Stamp stamp, long checkedAt) {
+    }
+
+    private final EventRepository eventRepository;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int capacity;
+
+    @Autowired
+    public EventVersionMap(EventRepository eventRepository,
+                           @Value("${events.version-map.ttl-ms:2000}") long ttlMs,
+                           @Value("${events.version-map.capacity:50000}") int capacity) {
+        this.eventRepository = eventRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Current stamp of an event, or null when it does not exist
+     */
+    public Stamp get(UUID id) {
+        Entry entry = entries.get(id);
+        if (entry != null && System.nanoTime() - entry.checkedAt < ttlNanos) {
+            return entry.stamp;
+        }
+        List<Object[]> rows = eventRepository.findStampById(id);
+        if (rows.isEmpty()) {
+            entries.remove(id);
+            return null;
+        }
+        Object[] row = rows.get(0);
+        Stamp stamp = new Stamp(row[0] == null ? 0 : (Long) row[0], toEpochMillis((LocalDateTime) row[1]));
+        put(id, stamp);
+        return stamp;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        Event event = change.getEvent();
+        if (change.getType() == EventChangedEvent.Type.DELETED || event == null || event.getVersion() == null) {
+            entries.remove(change.getEventId());
+        } else {
+            put(change.getEventId(), new Stamp(event.getVersion(), toEpochMillis(event.getUpdatedAt())));
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(UUID id, Stamp stamp) {
+        if (entries.size() >= capacity && !entries.containsKey(id)) {
+            // Full: drop an arbitrary entry; it is reloaded on its next lookup
+            Iterator<UUID> it = entries.keySet().iterator();
+            if (it.hasNext()) {
+                entries.remove(it.next());
+            }
+        }
+        entries.put(id, new Entry(stamp, System.nanoTime()));
+    }
+
+    static long toEpochMillis(LocalDateTime time) {
+        return time == null ? -1 : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,24 @@
+package com.interview.service;
+
+/**
+ * Application event published by EventImportService once per import that created events, after all of
+ * its chunks have committed. Stands in for the per-row changes on the live change stream.
+ */
+public class EventsImportedEvent {
+
+    private final int count;
+    private final Long lastChangeSeq;
+
+    public EventsImportedEvent(int count, Long lastChangeSeq) {
+        this.count = count;
+        this.lastChangeSeq = lastChangeSeq;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public Long getLastChangeSeq() {
+        return lastChangeSeq;
+    }
+}
@@ -0,0 +1,179 @@
+package com.interview.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable in-memory spatial index of upcoming events at their venue's coordinates.
+ *
+ * Entries are bucketed into a fixed grid of CELL_DEGREES x CELL_DEGREES cells. A radius query visits only the
+ * cells overlapping the circle's bounding box and checks each candidate with the haversine distance, so the
+ * cost depends on the events near the point, not on the catalog size.
+ */
+public final class GeoIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    static final double CELL_DEGREES = 0.5;
+    private static final double KM_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_KM / 180;
+
+    public static final class Entry {
+        private final String eventId;
+        private final String name;
+        private final LocalDateTime eventDate;
+        private final String location;
+        private final String venueId;
+        private final String venueName;
+        private final double latitude;
+        private final double longitude;
+
+        public Entry(String eventId, String name, LocalDateTime eventDate, String location,
+                     String venueId, String venueName, double latitude, double longitude) {
+            this.eventId = eventId;
+            this.name = name;
+            this.eventDate = eventDate;
+            this.location = location;
+            this.venueId = venueId;
+            this.venueName = venueName;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+
+        public String getEventId() { return eventId; }
+        public String getName() { return name; }
+        public LocalDateTime getEventDate() { return eventDate; }
+        public String getLocation() { return location; }
+        public String getVenueId() { return venueId; }
+        public String getVenueName() { return venueName; }
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+    }
+
+    public static final class Match {
+        private final Entry entry;
+        private final double distanceKm;
+
+        Match(Entry entry, double distanceKm) {
+            this.entry = entry;
+            this.distanceKm = distanceKm;
+        }
+
+        public Entry getEntry() { return entry; }
+        public double getDistanceKm() { return distanceKm; }
+    }
+
+    private static final Comparator<Match> BY_DISTANCE_THEN_DATE = Comparator
+            .comparingDouble(Match::getDistanceKm)
+            .thenComparing(match -> match.entry.eventDate, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final GeoIndex EMPTY = build(Collections.emptyList());
+
+    private final Map<Long, List<Entry>> cells;
+    private final List<Entry> entries;
+
+    private GeoIndex(Map<Long, List<Entry>> cells, List<Entry> entries) {
+        this.cells = cells;
+        this.entries = entries;
+    }
+
+    public static GeoIndex empty() {
+        return EMPTY;
+    }
+
+    public static GeoIndex build(List<Entry> entries) {
+        Map<Long, List<Entry>> cells = new HashMap<>();
+        for (Entry entry : entries) {
+            cells.computeIfAbsent(cellKey(cell(entry.latitude), cell(entry.longitude)), key -> new ArrayList<>())
+                    .add(entry);
+        }
+        return new GeoIndex(cells, List.copyOf(entries));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Events within radiusKm of (lat, lon) whose date is in [from, to] (either bound may be null),
+     * sorted by distance, then event date.
+     * Collection stops once more than maxMatches events match; the caller sees size() > maxMatches and
+     * the list is then unsorted and incomplete.
+     */
+    public List<Match> query(double lat, double lon, double radiusKm, LocalDateTime from, LocalDateTime to,
+                             int maxMatches) {
+        List<Match> matches = new ArrayList<>();
+        double dLat = radiusKm / KM_PER_DEGREE_LAT;
+        double cosLat = Math.cos(Math.toRadians(lat));
+        double dLon = cosLat < 1e-6 ? 360 : dLat / cosLat;
+
+        int minLatCell = cell(Math.max(-90, lat - dLat));
+        int maxLatCell = cell(Math.min(90, lat + dLat));
+        long candidateCells = (long) (maxLatCell - minLatCell + 1) * (cell(lon + dLon) - cell(lon - dLon) + 1);
+
+        if (lon - dLon < -180 || lon + dLon > 180 || candidateCells > cells.size()) {
+            // Box crosses the antimeridian or covers more cells than are occupied: scan every entry
+            if (!collect(entries, lat, lon, radiusKm, from, to, maxMatches, matches)) {
+                return matches;
+            }
+        } else {
+            for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                for (int lonCell = cell(lon - dLon); lonCell <= cell(lon + dLon); lonCell++) {
+                    List<Entry> cell = cells.get(cellKey(latCell, lonCell));
+                    if (cell != null && !collect(cell, lat, lon, radiusKm, from, to, maxMatches, matches)) {
+                        return matches;
+                    }
+                }
+            }
+        }
+
+        matches.sort(BY_DISTANCE_THEN_DATE);
+        return matches;
+    }
+
+    /**
+     * Add the entries within range to matches; false once matches exceeds maxMatches
+     */
+    private static boolean collect(List<Entry> candidates, double lat, double lon, double radiusKm,
+                                   LocalDateTime from, LocalDateTime to, int maxMatches, List<Match> matches) {
+        for (Entry entry : candidates) {
+            if (from != null && (entry.eventDate == null || entry.eventDate.isBefore(from))) {
+                continue;
+            }
+            if (to != null && (entry.eventDate == null || entry.eventDate.isAfter(to))) {
+                continue;
+            }
+            double distance = distanceKm(lat, lon, entry.latitude, entry.longitude);
+            if (distance <= radiusKm) {
+                matches.add(new Match(entry, distance));
+                if (matches.size() > maxMatches) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Great-circle distance in km (haversine)
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static int cell(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+}
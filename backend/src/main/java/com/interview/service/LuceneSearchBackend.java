@@ -0,0 +1,553 @@
+package com.interview.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.interview.dto.BatchSearchResult;
+import com.interview.dto.FacetBucket;
+import com.interview.dto.FacetedSearchResponse;
+import com.interview.dto.SearchQuerySpec;
+import com.interview.model.EventDocument;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LatLonDocValuesField;
+import org.apache.lucene.document.LatLonPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TermRangeQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SearchBackend on an embedded Lucene index in an MMapDirectory on local disk (search.backend=lucene).
+ *
+ * For dev boxes, edge deployments and small catalogs: no OpenSearch cluster and no network hop.
+ * Readers are near-real-time: every write refreshes the SearcherManager from the IndexWriter, so a
+ * document is searchable as soon as its future completes. Commits (fsync) happen on a schedule and on shutdown.
+ * Calls run on the caller's thread and return already-completed futures.
+ */
+@Component
+@ConditionalOnProperty(name = "search.backend", havingValue = "lucene")
+public class LuceneSearchBackend implements SearchBackend {
+
+    private static final String SOURCE = "_source";
+    private static final String SUMMARY = "_summary";
+    private static final String[] KEYWORD_FIELDS = {"name", "description", "performers.name", "venue.name"};
+    private static final String LOCATION = "venue.location";
+
+    private final Directory directory;
+    private final Analyzer analyzer;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public LuceneSearchBackend(@Value("${search.lucene.path:data/lucene/events}") String path) throws IOException {
+        this(Paths.get(path));
+    }
+
+    LuceneSearchBackend(Path path) throws IOException {
+        this.directory = new MMapDirectory(path);
+        this.analyzer = new StandardAnalyzer();
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        System.out.println("Opened Lucene index at " + path.toAbsolutePath());
+    }
+
+    @Override
+    public CompletableFuture<List<EventDocument>> search(String keyword, String city, int page, int size) {
+        return call(() -> {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return readSources(searcher, topDocs(searcher, buildQuery(keyword, city), page, size), page, size);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<FacetedSearchResponse> searchWithFacets(String keyword, String city, int page, int size) {
+        return call(() -> {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                Query query = buildQuery(keyword, city);
+                List<EventDocument> results = readSources(searcher, topDocs(searcher, query, page, size), page, size);
+                return new FacetedSearchResponse(results, countFacets(searcher, query));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<String, List<FacetBucket>>> facets(String keyword, String city) {
+        return call(() -> {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return countFacets(searcher, buildQuery(keyword, city));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        });
+    }
+
+    /**
+     * Queries run one after another against the same searcher; each is in-process, so there is no round trip to save
+     */
+    @Override
+    public CompletableFuture<List<BatchSearchResult>> multiSearch(List<SearchQuerySpec> queries) {
+        return call(() -> {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                List<BatchSearchResult> results = new ArrayList<>();
+                for (SearchQuerySpec query : queries) {
+                    try {
+                        TopDocs top = topDocs(searcher, buildQuery(query.getKeyword(), query.getCity()),
+                                query.getPage(), query.getSize());
+                        results.add(BatchSearchResult.of(readSources(searcher, top, query.getPage(), query.getSize())));
+                    } catch (IOException | RuntimeException e) {
+                        results.add(BatchSearchResult.failed(e.getMessage()));
+                    }
+                }
+                return results;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        });
+    }
+
+    /**
+     * LatLonPoint distance query on venue.location, sorted by doc-values distance and then eventDate
+     */
+    @Override
+    public CompletableFuture<List<EventDocument>> nearby(double lat, double lon, double radiusKm,
+                                                         LocalDateTime from, LocalDateTime to, int page, int size) {
+        return call(() -> {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                BooleanQuery.Builder query = new BooleanQuery.Builder()
+                        .add(LatLonPoint.newDistanceQuery(LOCATION, lat, lon, radiusKm * 1000), BooleanClause.Occur.FILTER);
+                if (from != null || to != null) {
+                    long lower = from != null ? from.toInstant(ZoneOffset.UTC).toEpochMilli() : Long.MIN_VALUE;
+                    long upper = to != null ? to.toInstant(ZoneOffset.UTC).toEpochMilli() : Long.MAX_VALUE;
+                    query.add(NumericDocValuesField.newSlowRangeQuery("eventDate", lower, upper), BooleanClause.Occur.FILTER);
+                }
+                int limit = offset(page, size) + size;
+                if (limit <= 0) {
+                    return List.<EventDocument>of();
+                }
+                Sort sort = new Sort(LatLonDocValuesField.newDistanceSort(LOCATION, lat, lon), eventDateSort());
+                return readSources(searcher, searcher.search(query.build(), limit, sort), page, size);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        });
+    }
+
+    /**
+     * Raw hits from the stored summary JSON (SUMMARY_FIELDS only), copied out as-is
+     */
+    @Override
+    public CompletableFuture<RawHits> searchRaw(String keyword, String city, int page, int size) {
+        return call(() -> {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = topDocs(searcher, buildQuery(keyword, city), page, size);
+                StoredFields stored = searcher.storedFields();
+                List<BytesRef> sources = new ArrayList<>();
+                for (int i = offset(page, size); i < top.scoreDocs.length; i++) {
+                    sources.add(BytesRef.deepCopyOf(
+                            stored.document(top.scoreDocs[i].doc, Set.of(SUMMARY)).getBinaryValue(SUMMARY)));
+                }
+                return new RawHits() {
+                    @Override
+                    public int size() {
+                        return sources.size();
+                    }
+
+                    @Override
+                    public void writeTo(OutputStream out) throws IOException {
+                        out.write('[');
+                        for (int i = 0; i < sources.size(); i++) {
+                            if (i > 0) {
+                                out.write(',');
+                            }
+                            BytesRef source = sources.get(i);
+                            out.write(source.bytes, source.offset, source.length);
+                        }
+                        out.write(']');
+                        out.flush();
+                    }
+                };
+            } finally {
+                searcherManager.release(searcher);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> index(EventDocument doc) {
+        return call(() -> {
+            writer.updateDocument(new Term("id", doc.getId()), toLuceneDocument(doc));
+            searcherManager.maybeRefreshBlocking();
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> bulkIndex(List<EventDocument> docs) {
+        return call(() -> {
+            for (EventDocument doc : docs) {
+                writer.updateDocument(new Term("id", doc.getId()), toLuceneDocument(doc));
+            }
+            // One reader refresh per batch
+            searcherManager.maybeRefreshBlocking();
+            return docs.size();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String id) {
+        return call(() -> {
+            writer.deleteDocuments(new Term("id", id));
+            searcherManager.maybeRefreshBlocking();
+            return null;
+        });
+    }
+
+    /**
+     * The index directory is created when the writer opens; committing makes it visible to a fresh process
+     */
+    @Override
+    public void ensureIndex() throws IOException {
+        writer.commit();
+    }
+
+    @Override
+    public CompletableFuture<RangeDigest> digest(String fromId, String toId) {
+        return call(() -> {
+            long[] digest = new long[2];
+            collectRange(fromId, toId, (id, hash) -> {
+                digest[0]++;
+                digest[1] += Math.max(hash, 0);
+            });
+            return new RangeDigest(digest[0], digest[1]);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Long>> versions(String fromId, String toId) {
+        return call(() -> {
+            Map<String, Long> versions = new HashMap<>();
+            collectRange(fromId, toId, versions::put);
+            return versions;
+        });
+    }
+
+    /**
+     * Visit (id, versionHash) of every document in an id range from doc values; the hash is -1 when absent
+     */
+    private void collectRange(String fromId, String toId, BiConsumer<String, Long> visitor) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            Query range = TermRangeQuery.newStringRange("id", fromId, toId, true, true);
+            searcher.search(range, new SimpleCollector() {
+                private SortedDocValues idValues;
+                private NumericDocValues hashValues;
+
+                @Override
+                protected void doSetNextReader(LeafReaderContext context) throws IOException {
+                    idValues = DocValues.getSorted(context.reader(), "id");
+                    hashValues = DocValues.getNumeric(context.reader(), "versionHash");
+                }
+
+                @Override
+                public void collect(int doc) throws IOException {
+                    if (idValues.advanceExact(doc)) {
+                        long hash = hashValues.advanceExact(doc) ? hashValues.longValue() : -1L;
+                        visitor.accept(idValues.lookupOrd(idValues.ordValue()).utf8ToString(), hash);
+                    }
+                }
+
+                @Override
+                public ScoreMode scoreMode() {
+                    return ScoreMode.COMPLETE_NO_SCORES;
+                }
+            });
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * Persist recent writes; searches do not depend on commits, only durability does
+     */
+    @Scheduled(fixedDelayString = "${search.lucene.commit-interval-ms:5000}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            System.err.println("Lucene commit failed: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();  // commits pending changes
+        directory.close();
+    }
+
+    private Document toLuceneDocument(EventDocument doc) throws IOException {
+        Document document = new Document();
+        document.add(new StringField("id", doc.getId(), Field.Store.NO));
+        document.add(new SortedDocValuesField("id", new BytesRef(doc.getId())));
+        document.add(new NumericDocValuesField("versionHash", doc.getVersionHash()));
+        document.add(new StoredField(SOURCE, objectMapper.writeValueAsBytes(doc)));
+        ObjectNode summary = objectMapper.valueToTree(doc);
+        summary.retain(SUMMARY_FIELDS);
+        document.add(new StoredField(SUMMARY, objectMapper.writeValueAsBytes(summary)));
+
+        addText(document, "name", doc.getName());
+        addText(document, "description", doc.getDescription());
+        addText(document, "location", doc.getLocation());
+        if (doc.getVenue() != null) {
+            addText(document, "venue.name", doc.getVenue().getName());
+            addText(document, "venue.city", doc.getVenue().getCity());
+            EventDocument.GeoPoint location = doc.getVenue().getLocation();
+            if (location != null) {
+                document.add(new LatLonPoint(LOCATION, location.getLat(), location.getLon()));
+                document.add(new LatLonDocValuesField(LOCATION, location.getLat(), location.getLon()));
+            }
+        }
+        if (doc.getPerformers() != null) {
+            for (EventDocument.PerformerInfo performer : doc.getPerformers()) {
+                addText(document, "performers.name", performer.getName());
+            }
+        }
+
+        if (doc.getEventDate() != null) {
+            document.add(new NumericDocValuesField("eventDate",
+                    doc.getEventDate().toInstant(ZoneOffset.UTC).toEpochMilli()));
+        }
+        if (doc.getCity() != null) {
+            document.add(new SortedDocValuesField("city", new BytesRef(doc.getCity())));
+            // Lowercased term for the case-insensitive city filter; the doc values keep the facet's spelling
+            document.add(new StringField("city", doc.getCity().toLowerCase(Locale.ROOT), Field.Store.NO));
+        }
+        if (doc.getGenres() != null) {
+            for (String genre : doc.getGenres()) {
+                document.add(new SortedSetDocValuesField("genres", new BytesRef(genre)));
+            }
+        }
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    /**
+     * Keyword: any analyzed term in any KEYWORD_FIELDS. City: the document's city (the city facet value),
+     * ignoring case.
+     * Both are required when present, like the OpenSearch bool query.
+     */
+    Query buildQuery(String keyword, String city) {
+        QueryBuilder builder = new QueryBuilder(analyzer);
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        boolean constrained = false;
+
+        if (keyword != null && !keyword.isBlank()) {
+            query.add(anyField(builder, KEYWORD_FIELDS, keyword), BooleanClause.Occur.MUST);
+            constrained = true;
+        }
+        if (city != null && !city.isBlank()) {
+            query.add(new TermQuery(new Term("city", city.trim().toLowerCase(Locale.ROOT))), BooleanClause.Occur.FILTER);
+            constrained = true;
+        }
+        return constrained ? query.build() : new MatchAllDocsQuery();
+    }
+
+    private static Query anyField(QueryBuilder builder, String[] fields, String text) {
+        BooleanQuery.Builder any = new BooleanQuery.Builder();
+        for (String field : fields) {
+            Query match = builder.createBooleanQuery(field, text);
+            if (match != null) {
+                any.add(match, BooleanClause.Occur.SHOULD);
+            }
+        }
+        return any.build();
+    }
+
+    private static int offset(int page, int size) {
+        return Math.max(0, (page - 1) * size);
+    }
+
+    private static TopDocs topDocs(IndexSearcher searcher, Query query, int page, int size) throws IOException {
+        int limit = offset(page, size) + size;
+        if (limit <= 0) {
+            return new TopDocs(new TotalHits(0, TotalHits.Relation.EQUAL_TO), new ScoreDoc[0]);
+        }
+        return searcher.search(query, limit, new Sort(eventDateSort()));
+    }
+
+    /**
+     * Events without a date sort last, as in OpenSearch
+     */
+    private static SortField eventDateSort() {
+        SortField eventDate = new SortField("eventDate", SortField.Type.LONG);
+        eventDate.setMissingValue(Long.MAX_VALUE);
+        return eventDate;
+    }
+
+    private List<EventDocument> readSources(IndexSearcher searcher, TopDocs top, int page, int size) throws IOException {
+        StoredFields stored = searcher.storedFields();
+        List<EventDocument> results = new ArrayList<>();
+        for (int i = offset(page, size); i < top.scoreDocs.length; i++) {
+            BytesRef source = stored.document(top.scoreDocs[i].doc, Set.of(SOURCE)).getBinaryValue(SOURCE);
+            results.add(objectMapper.readValue(source.bytes, source.offset, source.length, EventDocument.class));
+        }
+        return results;
+    }
+
+    /**
+     * City and genre term counts (top FACET_SIZE by count) and per-month counts over every match, from doc values
+     */
+    private Map<String, List<FacetBucket>> countFacets(IndexSearcher searcher, Query query) throws IOException {
+        Map<String, Long> cities = new HashMap<>();
+        Map<String, Long> genres = new HashMap<>();
+        Map<String, Long> months = new TreeMap<>();
+
+        searcher.search(query, new SimpleCollector() {
+            private SortedDocValues cityValues;
+            private SortedSetDocValues genreValues;
+            private NumericDocValues dateValues;
+
+            @Override
+            protected void doSetNextReader(LeafReaderContext context) throws IOException {
+                cityValues = DocValues.getSorted(context.reader(), "city");
+                genreValues = DocValues.getSortedSet(context.reader(), "genres");
+                dateValues = DocValues.getNumeric(context.reader(), "eventDate");
+            }
+
+            @Override
+            public void collect(int doc) throws IOException {
+                if (cityValues.advanceExact(doc)) {
+                    cities.merge(cityValues.lookupOrd(cityValues.ordValue()).utf8ToString(), 1L, Long::sum);
+                }
+                if (genreValues.advanceExact(doc)) {
+                    for (int i = 0; i < genreValues.docValueCount(); i++) {
+                        genres.merge(genreValues.lookupOrd(genreValues.nextOrd()).utf8ToString(), 1L, Long::sum);
+                    }
+                }
+                if (dateValues.advanceExact(doc)) {
+                    String month = YearMonth.from(Instant.ofEpochMilli(dateValues.longValue()).atZone(ZoneOffset.UTC)).toString();
+                    months.merge(month, 1L, Long::sum);
+                }
+            }
+
+            @Override
+            public ScoreMode scoreMode() {
+                return ScoreMode.COMPLETE_NO_SCORES;
+            }
+        });
+
+        Map<String, List<FacetBucket>> facets = new LinkedHashMap<>();
+        facets.put(FACET_CITY, topTerms(cities));
+        facets.put(FACET_GENRE, topTerms(genres));
+        List<FacetBucket> monthBuckets = new ArrayList<>();
+        months.forEach((month, count) -> monthBuckets.add(new FacetBucket(month, count)));
+        facets.put(FACET_MONTH, monthBuckets);
+        return facets;
+    }
+
+    /**
+     * Terms ordered like OpenSearch terms aggregations: count descending, then key
+     */
+    private static List<FacetBucket> topTerms(Map<String, Long> counts) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(FACET_SIZE)
+                .map(entry -> new FacetBucket(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private static <T> CompletableFuture<T> call(Callable<T> task) {
+        try {
+            return CompletableFuture.completedFuture(task.call());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.interview.service;
+
+import com.interview.dto.NearbyEventResponse;
+import com.interview.model.Event;
+import com.interview.model.EventDocument;
+import com.interview.model.Venue;
+import com.interview.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * "Events near me" over upcoming events at venues with coordinates.
+ *
+ * Queries are answered from an immutable GeoIndex snapshot, rebuilt from the DB when events or venues change.
+ * When a query matches more than geo.max-in-memory-results events (a large radius in a dense area), it is
+ * sent to the search backend's geo_distance query instead, which pages without materializing every match.
+ */
+@Service
+public class NearbyEventService {
+
+    private static final long FULL_REBUILD_INTERVAL_MS = Duration.ofHours(1).toMillis();
+
+    private final EventRepository eventRepository;
+    private final EventSearchService searchService;
+    private final int maxInMemoryResults;
+
+    private volatile GeoIndex index = GeoIndex.empty();
+    private volatile boolean stale;
+    private volatile long lastBuild;
+
+    @Autowired
+    public NearbyEventService(EventRepository eventRepository, EventSearchService searchService,
+                              @Value("${geo.max-in-memory-results:1000}") int maxInMemoryResults) {
+        this.eventRepository = eventRepository;
+        this.searchService = searchService;
+        this.maxInMemoryResults = maxInMemoryResults;
+    }
+
+    /**
+     * Upcoming events within radiusKm of (lat, lon) and in [from, to], sorted by distance, then event date.
+     * from is raised to now: past events are not indexed.
+     */
+    public CompletableFuture<List<NearbyEventResponse>> nearby(double lat, double lon, double radiusKm,
+                                                               LocalDateTime from, LocalDateTime to,
+                                                               int page, int size) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime effectiveFrom = from == null || from.isBefore(now) ? now : from;
+
+        List<GeoIndex.Match> matches = index.query(lat, lon, radiusKm, effectiveFrom, to, maxInMemoryResults);
+        if (matches.size() > maxInMemoryResults) {
+            return searchService.searchNearby(lat, lon, radiusKm, effectiveFrom, to, page, size)
+                    .thenApply(docs -> toResponses(docs, lat, lon));
+        }
+
+        List<NearbyEventResponse> responses = new ArrayList<>();
+        int start = Math.max(0, (page - 1) * size);
+        for (int i = start; i < matches.size() && i < start + size; i++) {
+            responses.add(toResponse(matches.get(i)));
+        }
+        return CompletableFuture.completedFuture(responses);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadIndex() {
+        rebuild();
+        System.out.println("Geo index built with " + index.size() + " upcoming events");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        stale = true;
+    }
+
+    /**
+     * Called by VenueGeoListener when a venue (and possibly its coordinates) changed
+     */
+    public void markStale() {
+        stale = true;
+    }
+
+    /**
+     * Rebuild when something changed, and hourly so events that have started drop out
+     */
+    @Scheduled(fixedDelayString = "${geo.rebuild-interval-ms:5000}")
+    public void rebuildIfNeeded() {
+        if (stale || System.currentTimeMillis() - lastBuild > FULL_REBUILD_INTERVAL_MS) {
+            rebuild();
+        }
+    }
+
+    void rebuild() {
+        stale = false;
+        List<GeoIndex.Entry> entries = new ArrayList<>();
+        // Venue and performers are fetch-joined, so this needs no open session
+        for (Event event : eventRepository.findUpcomingWithDetails(LocalDateTime.now())) {
+            Venue venue = event.getVenue();
+            if (venue == null || venue.getLatitude() == null || venue.getLongitude() == null) {
+                continue;
+            }
+            entries.add(new GeoIndex.Entry(event.getId().toString(), event.getName(), event.getEventDate(),
+                    event.getLocation(), venue.getId().toString(), venue.getName(),
+                    venue.getLatitude(), venue.getLongitude()));
+        }
+        index = GeoIndex.build(entries);
+        lastBuild = System.currentTimeMillis();
+    }
+
+    int indexSize() {
+        return index.size();
+    }
+
+    private static NearbyEventResponse toResponse(GeoIndex.Match match) {
+        GeoIndex.Entry entry = match.getEntry();
+        NearbyEventResponse response = new NearbyEventResponse();
+        response.setId(entry.getEventId());
+        response.setName(entry.getName());
+        response.setEventDate(entry.getEventDate());
+        response.setLocation(entry.getLocation());
+        response.setVenueId(entry.getVenueId());
+        response.setVenueName(entry.getVenueName());
+        response.setLatitude(entry.getLatitude());
+        response.setLongitude(entry.getLongitude());
+        response.setDistanceKm(round(match.getDistanceKm()));
+        return response;
+    }
+
+    private static List<NearbyEventResponse> toResponses(List<EventDocument> docs, double lat, double lon) {
+        List<NearbyEventResponse> responses = new ArrayList<>(docs.size());
+        for (EventDocument doc : docs) {
+            NearbyEventResponse response = new NearbyEventResponse();
+            response.setId(doc.getId());
+            response.setName(doc.getName());
+            response.setEventDate(doc.getEventDate());
+            response.setLocation(doc.getLocation());
+            EventDocument.VenueInfo venue = doc.getVenue();
+            if (venue != null) {
+                response.setVenueId(venue.getId());
+                response.setVenueName(venue.getName());
+                if (venue.getLocation() != null) {
+                    response.setLatitude(venue.getLocation().getLat());
+                    response.setLongitude(venue.getLocation().getLon());
+                    response.setDistanceKm(round(GeoIndex.distanceKm(lat, lon,
+                            venue.getLocation().getLat(), venue.getLocation().getLon())));
+                }
+            }
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    private static double round(double km) {
+        return Math.round(km * 100) / 100.0;
+    }
+}
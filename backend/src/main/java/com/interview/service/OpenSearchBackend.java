@@ -0,0 +1,492 @@
+package com.interview.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.interview.dto.BatchSearchResult;
+import com.interview.dto.FacetBucket;
+import com.interview.dto.FacetedSearchResponse;
+import com.interview.dto.SearchQuerySpec;
+import com.interview.exception.BulkIndexException;
+import com.interview.model.EventDocument;
+import jakarta.annotation.PreDestroy;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.delete.DeleteRequest;
+import org.opensearch.action.delete.DeleteResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.unit.DistanceUnit;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.client.indices.CreateIndexRequest;
+import org.opensearch.client.indices.GetIndexRequest;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.opensearch.search.aggregations.bucket.histogram.Histogram;
+import org.opensearch.search.aggregations.bucket.terms.Terms;
+import org.opensearch.search.aggregations.metrics.Sum;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortBuilders;
+import org.opensearch.search.sort.SortOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SearchBackend on an OpenSearch cluster through the async RestHighLevelClient API.
+ * Responses arrive on the client's I/O reactor threads; hits are deserialized on a separate, bounded
+ * parser pool so that JSON parsing of large pages does not stall the reactor (and every other in-flight
+ * request on it).
+ */
+@Component
+@ConditionalOnProperty(name = "search.backend", havingValue = "opensearch", matchIfMissing = true)
+public class OpenSearchBackend implements SearchBackend {
+
+    static final String INDEX = "events";
+    private static final String VERSION_SUM = "version_sum";
+    private static final int VERSIONS_PAGE_SIZE = 1000;
+
+    /**
+     * Explicit mapping for the events index: keyword fields for facets and a real date type for eventDate
+     */
+    static final String INDEX_MAPPING = "{\"properties\":{"
+            + "\"id\":{\"type\":\"keyword\"},"
+            + "\"name\":{\"type\":\"text\",\"fields\":{\"keyword\":{\"type\":\"keyword\",\"ignore_above\":256}}},"
+            + "\"description\":{\"type\":\"text\"},"
+            + "\"location\":{\"type\":\"text\",\"fields\":{\"keyword\":{\"type\":\"keyword\",\"ignore_above\":256}}},"
+            + "\"city\":{\"type\":\"keyword\"},"
+            + "\"genres\":{\"type\":\"keyword\"},"
+            + "\"venue\":{\"properties\":{"
+            + "\"id\":{\"type\":\"keyword\"},"
+            + "\"name\":{\"type\":\"text\"},"
+            + "\"city\":{\"type\":\"text\",\"fields\":{\"keyword\":{\"type\":\"keyword\"}}},"
+            + "\"state\":{\"type\":\"keyword\"},"
+            + "\"zipCode\":{\"type\":\"keyword\"},"
+            + "\"capacity\":{\"type\":\"integer\"},"
+            + "\"location\":{\"type\":\"geo_point\"}}},"
+            + "\"performers\":{\"properties\":{"
+            + "\"id\":{\"type\":\"keyword\"},"
+            + "\"name\":{\"type\":\"text\",\"fields\":{\"keyword\":{\"type\":\"keyword\"}}},"
+            + "\"genre\":{\"type\":\"keyword\"}}},"
+            + "\"eventDate\":{\"type\":\"date\"},"
+            + "\"createdAt\":{\"type\":\"date\"},"
+            + "\"updatedAt\":{\"type\":\"date\"},"
+            + "\"versionHash\":{\"type\":\"long\"}"
+            + "}}";
+
+    private final RestHighLevelClient client;
+    private final String refreshInterval;
+    private final ObjectMapper objectMapper;
+    private final Executor parser;
+
+    /**
+     * Parses on the thread that completes the response; for tests and benchmarks with a stubbed client
+     */
+    public OpenSearchBackend(RestHighLevelClient client) {
+        this(client, "1s", Runnable::run);
+    }
+
+    /**
+     * refreshInterval is applied when the index is created. A longer interval raises indexing
+     * throughput; RecentWritesBuffer keeps this node's own writes visible in the meantime.
+     * Hits are parsed on parseThreads threads (0: one per core) with at most parseQueue responses waiting;
+     * beyond that the I/O thread parses the response itself, which slows it down instead of failing.
+     */
+    @Autowired
+    public OpenSearchBackend(RestHighLevelClient client,
+                             @Value("${opensearch.refresh-interval:1s}") String refreshInterval,
+                             @Value("${opensearch.parse-threads:0}") int parseThreads,
+                             @Value("${opensearch.parse-queue:1000}") int parseQueue) {
+        this(client, refreshInterval, parserPool(parseThreads, parseQueue));
+    }
+
+    private OpenSearchBackend(RestHighLevelClient client, String refreshInterval, Executor parser) {
+        this.client = client;
+        this.refreshInterval = refreshInterval;
+        this.parser = parser;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        // ISO date strings, so eventDate is mapped as a date (sorting, date_histogram) rather than an int array
+        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    private static ThreadPoolExecutor parserPool(int threads, int queue) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queue),
+                task -> {
+                    Thread thread = new Thread(task, "opensearch-parse-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (parser instanceof ExecutorService pool) {
+            pool.shutdown();
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<EventDocument>> search(String keyword, String city, int page, int size) {
+        return execute(buildSearchRequest(keyword, city, page, size)).thenApplyAsync(this::toDocuments, parser);
+    }
+
+    @Override
+    public CompletableFuture<FacetedSearchResponse> searchWithFacets(String keyword, String city, int page, int size) {
+        SearchRequest request = buildSearchRequest(keyword, city, page, size);
+        addFacetAggregations(request.source());
+        return execute(request)
+                .thenApplyAsync(response -> new FacetedSearchResponse(toDocuments(response), toFacets(response)), parser);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, List<FacetBucket>>> facets(String keyword, String city) {
+        SearchRequest request = buildSearchRequest(keyword, city, 1, 0);
+        addFacetAggregations(request.source());
+        return execute(request).thenApply(this::toFacets);
+    }
+
+    /**
+     * All queries go out as one _msearch request; OpenSearch runs them in parallel and reports failures per item
+     */
+    @Override
+    public CompletableFuture<List<BatchSearchResult>> multiSearch(List<SearchQuerySpec> queries) {
+        MultiSearchRequest request = new MultiSearchRequest();
+        for (SearchQuerySpec query : queries) {
+            request.add(buildSearchRequest(query.getKeyword(), query.getCity(), query.getPage(), query.getSize()));
+        }
+        CompletableFuture<MultiSearchResponse> future = new CompletableFuture<>();
+        client.msearchAsync(request, RequestOptions.DEFAULT, completing(future));
+        return future.thenApplyAsync(response -> {
+            List<BatchSearchResult> results = new ArrayList<>();
+            for (MultiSearchResponse.Item item : response.getResponses()) {
+                if (item.isFailure()) {
+                    results.add(BatchSearchResult.failed(item.getFailureMessage()));
+                } else {
+                    try {
+                        results.add(BatchSearchResult.of(toDocuments(item.getResponse())));
+                    } catch (RuntimeException e) {
+                        results.add(BatchSearchResult.failed(e.getMessage()));
+                    }
+                }
+            }
+            return results;
+        }, parser);
+    }
+
+    /**
+     * geo_distance filter on venue.location, sorted by _geo_distance (arc) and then eventDate
+     */
+    @Override
+    public CompletableFuture<List<EventDocument>> nearby(double lat, double lon, double radiusKm,
+                                                         LocalDateTime from, LocalDateTime to, int page, int size) {
+        BoolQueryBuilder boolQuery = QueryBuilders.boolQuery()
+                .filter(QueryBuilders.geoDistanceQuery("venue.location")
+                        .point(lat, lon)
+                        .distance(radiusKm, DistanceUnit.KILOMETERS));
+        if (from != null || to != null) {
+            RangeQueryBuilder dates = QueryBuilders.rangeQuery("eventDate");
+            if (from != null) {
+                dates.gte(from.toString());
+            }
+            if (to != null) {
+                dates.lte(to.toString());
+            }
+            boolQuery.filter(dates);
+        }
+
+        SearchSourceBuilder builder = new SearchSourceBuilder()
+                .query(boolQuery)
+                .sort(SortBuilders.geoDistanceSort("venue.location", lat, lon)
+                        .unit(DistanceUnit.KILOMETERS)
+                        .order(SortOrder.ASC))
+                .sort("eventDate", SortOrder.ASC)
+                .from((page - 1) * size)
+                .size(size);
+        return execute(new SearchRequest(INDEX).source(builder)).thenApplyAsync(this::toDocuments, parser);
+    }
+
+    /**
+     * Raw hits with _source trimmed to SUMMARY_FIELDS by OpenSearch; the source bytes are copied out as-is
+     */
+    @Override
+    public CompletableFuture<RawHits> searchRaw(String keyword, String city, int page, int size) {
+        SearchRequest request = buildSearchRequest(keyword, city, page, size);
+        request.source().fetchSource(SUMMARY_FIELDS, null);
+        return execute(request).thenApply(response -> {
+            SearchHit[] hits = response.getHits().getHits();
+            return new RawHits() {
+                @Override
+                public int size() {
+                    return hits.length;
+                }
+
+                @Override
+                public void writeTo(OutputStream out) throws IOException {
+                    writeSourceArray(hits, out);
+                }
+            };
+        });
+    }
+
+    /**
+     * Write the _source of each hit as one JSON array, copying the source bytes as-is
+     */
+    static void writeSourceArray(SearchHit[] hits, OutputStream out) throws IOException {
+        out.write('[');
+        for (int i = 0; i < hits.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            hits[i].getSourceRef().writeTo(out);
+        }
+        out.write(']');
+        out.flush();
+    }
+
+    @Override
+    public CompletableFuture<Void> index(EventDocument doc) {
+        IndexRequest request = toIndexRequest(doc);
+        CompletableFuture<IndexResponse> future = new CompletableFuture<>();
+        client.indexAsync(request, RequestOptions.DEFAULT, completing(future));
+        return future.thenAccept(response ->
+                System.out.println("Indexed event: " + doc.getId() + " with result: " + response.getResult()));
+    }
+
+    @Override
+    public CompletableFuture<Integer> bulkIndex(List<EventDocument> docs) {
+        BulkRequest bulk = new BulkRequest();
+        for (EventDocument doc : docs) {
+            bulk.add(toIndexRequest(doc));
+        }
+        if (bulk.numberOfActions() == 0) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        CompletableFuture<BulkResponse> future = new CompletableFuture<>();
+        client.bulkAsync(bulk, RequestOptions.DEFAULT, completing(future));
+        return future.thenApply(response -> {
+            if (!response.hasFailures()) {
+                return bulk.numberOfActions();
+            }
+            int failed = 0;
+            String firstFailure = null;
+            for (BulkItemResponse item : response.getItems()) {
+                if (item.isFailed()) {
+                    failed++;
+                    if (firstFailure == null) {
+                        firstFailure = item.getId() + ": " + item.getFailureMessage();
+                    }
+                }
+            }
+            int indexed = bulk.numberOfActions() - failed;
+            System.err.println("Bulk index: " + failed + " of " + bulk.numberOfActions() + " documents failed: "
+                    + response.buildFailureMessage());
+            throw new BulkIndexException(failed + " of " + bulk.numberOfActions()
+                    + " documents failed to index, first: " + firstFailure, indexed, failed);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String id) {
+        DeleteRequest request = new DeleteRequest(INDEX, id);
+        CompletableFuture<DeleteResponse> future = new CompletableFuture<>();
+        client.deleteAsync(request, RequestOptions.DEFAULT, completing(future));
+        return future.thenAccept(response ->
+                System.out.println("Deleted event: " + id + " with result: " + response.getResult()));
+    }
+
+    /**
+     * Create the events index with INDEX_MAPPING if it does not exist yet.
+     * An index created earlier by dynamic mapping has to be deleted and reindexed to pick up the mapping.
+     */
+    @Override
+    public void ensureIndex() throws IOException {
+        if (!client.indices().exists(new GetIndexRequest(INDEX), RequestOptions.DEFAULT)) {
+            CreateIndexRequest request = new CreateIndexRequest(INDEX)
+                    .settings(Settings.builder().put("index.refresh_interval", refreshInterval))
+                    .mapping(INDEX_MAPPING, XContentType.JSON);
+            client.indices().create(request, RequestOptions.DEFAULT);
+            System.out.println("Created OpenSearch index 'events'");
+        }
+    }
+
+    /**
+     * Count and versionHash sum of an id range computed by OpenSearch, so matching ranges transfer no documents
+     */
+    @Override
+    public CompletableFuture<RangeDigest> digest(String fromId, String toId) {
+        SearchSourceBuilder builder = new SearchSourceBuilder()
+                .query(QueryBuilders.rangeQuery("id").gte(fromId).lte(toId))
+                .size(0)
+                .trackTotalHits(true)
+                .aggregation(AggregationBuilders.sum(VERSION_SUM).field("versionHash"));
+        return execute(new SearchRequest(INDEX).source(builder)).thenApply(response -> {
+            Sum sum = response.getAggregations().get(VERSION_SUM);
+            return new RangeDigest(response.getHits().getTotalHits().value, (long) sum.getValue());
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Long>> versions(String fromId, String toId) {
+        return versionsAfter(fromId, toId, null, new HashMap<>());
+    }
+
+    /**
+     * Page through an id range with search_after on id, fetching only the versionHash
+     */
+    private CompletableFuture<Map<String, Long>> versionsAfter(String fromId, String toId, Object[] after,
+                                                               Map<String, Long> versions) {
+        SearchSourceBuilder builder = new SearchSourceBuilder()
+                .query(QueryBuilders.rangeQuery("id").gte(fromId).lte(toId))
+                .sort("id", SortOrder.ASC)
+                .size(VERSIONS_PAGE_SIZE)
+                .fetchSource(new String[]{"versionHash"}, null);
+        if (after != null) {
+            builder.searchAfter(after);
+        }
+        return execute(new SearchRequest(INDEX).source(builder)).thenCompose(response -> {
+            SearchHit[] hits = response.getHits().getHits();
+            for (SearchHit hit : hits) {
+                Object hash = hit.getSourceAsMap().get("versionHash");
+                versions.put(hit.getId(), hash instanceof Number number ? number.longValue() : -1L);
+            }
+            if (hits.length < VERSIONS_PAGE_SIZE) {
+                return CompletableFuture.completedFuture(versions);
+            }
+            return versionsAfter(fromId, toId, hits[hits.length - 1].getSortValues(), versions);
+        });
+    }
+
+    private IndexRequest toIndexRequest(EventDocument doc) {
+        try {
+            return new IndexRequest(INDEX)
+                    .id(doc.getId())
+                    .source(objectMapper.writeValueAsString(doc), XContentType.JSON);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CompletableFuture<SearchResponse> execute(SearchRequest request) {
+        CompletableFuture<SearchResponse> future = new CompletableFuture<>();
+        client.searchAsync(request, RequestOptions.DEFAULT, completing(future));
+        return future;
+    }
+
+    private List<EventDocument> toDocuments(SearchResponse response) {
+        List<EventDocument> results = new ArrayList<>();
+        for (SearchHit hit : response.getHits().getHits()) {
+            try {
+                results.add(objectMapper.readValue(hit.getSourceAsString(), EventDocument.class));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return results;
+    }
+
+    private static void addFacetAggregations(SearchSourceBuilder builder) {
+        builder.aggregation(AggregationBuilders.terms(FACET_CITY).field("city").size(FACET_SIZE));
+        builder.aggregation(AggregationBuilders.dateHistogram(FACET_MONTH)
+                .field("eventDate")
+                .calendarInterval(DateHistogramInterval.MONTH)
+                .format("yyyy-MM")
+                .minDocCount(1));
+        builder.aggregation(AggregationBuilders.terms(FACET_GENRE).field("genres").size(FACET_SIZE));
+    }
+
+    private Map<String, List<FacetBucket>> toFacets(SearchResponse response) {
+        Map<String, List<FacetBucket>> facets = new LinkedHashMap<>();
+        if (response.getAggregations() == null) {
+            return facets;
+        }
+        for (String name : new String[]{FACET_CITY, FACET_GENRE}) {
+            Terms terms = response.getAggregations().get(name);
+            List<FacetBucket> buckets = new ArrayList<>();
+            for (Terms.Bucket bucket : terms.getBuckets()) {
+                buckets.add(new FacetBucket(bucket.getKeyAsString(), bucket.getDocCount()));
+            }
+            facets.put(name, buckets);
+        }
+        Histogram months = response.getAggregations().get(FACET_MONTH);
+        List<FacetBucket> buckets = new ArrayList<>();
+        for (Histogram.Bucket bucket : months.getBuckets()) {
+            buckets.add(new FacetBucket(bucket.getKeyAsString(), bucket.getDocCount()));
+        }
+        facets.put(FACET_MONTH, buckets);
+        return facets;
+    }
+
+    private SearchRequest buildSearchRequest(String keyword, String city, int page, int size) {
+        SearchRequest request = new SearchRequest(INDEX);
+        SearchSourceBuilder builder = new SearchSourceBuilder();
+
+        BoolQueryBuilder boolQuery = QueryBuilders.boolQuery();
+
+        if (keyword != null && !keyword.isBlank()) {
+            boolQuery.should(QueryBuilders.matchQuery("name", keyword));
+            boolQuery.should(QueryBuilders.matchQuery("description", keyword));
+            boolQuery.should(QueryBuilders.matchQuery("performers.name", keyword));
+            boolQuery.should(QueryBuilders.matchQuery("venue.name", keyword));
+            // With a filter clause present, should clauses become optional unless required explicitly
+            boolQuery.minimumShouldMatch(1);
+        }
+
+        if (city != null && !city.isBlank()) {
+            // The keyword field the city facet counts, so a facet value selects exactly its count
+            boolQuery.filter(QueryBuilders.termQuery("city", city.trim()).caseInsensitive(true));
+        }
+
+        builder.query(boolQuery);
+        builder.sort("eventDate", SortOrder.ASC);
+        builder.from((page - 1) * size);
+        builder.size(size);
+
+        request.source(builder);
+        return request;
+    }
+
+    /**
+     * Adapt the client's callback API to a CompletableFuture
+     */
+    private static <T> ActionListener<T> completing(CompletableFuture<T> future) {
+        return ActionListener.wrap(future::complete, future::completeExceptionally);
+    }
+}
@@ -0,0 +1,354 @@
+package com.interview.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Immutable in-memory prefix index for typeahead.
+ *
+ * Each entry is indexed under every word start of its normalized text ("taylor swift - the eras tour",
+ * "swift - the eras tour", "the eras tour", ...). A key is not materialized: it is the entry's normalized
+ * text (held once per entry) read from an int start offset, so the keys cost one int and one target per
+ * word instead of a copied suffix string each. The keys are kept in sorted order, so all keys with a
+ * given prefix form a contiguous range found by two binary searches. A max segment tree over the key
+ * weights then yields the k heaviest entries of that range in O(k log n), independent of the range size.
+ */
+public final class PrefixIndex {
+
+    public static final class Entry {
+        private final String text;
+        private final String type;
+        private final String id;
+        private final double weight;
+
+        public Entry(String text, String type, String id, double weight) {
+            this.text = text;
+            this.type = type;
+            this.id = id;
+            this.weight = weight;
+        }
+
+        public String getText() { return text; }
+        public String getType() { return type; }
+        public String getId() { return id; }
+        public double getWeight() { return weight; }
+    }
+
+    private static final PrefixIndex EMPTY = build(Collections.emptyList());
+
+    private final String[] terms;    // entry index -> normalized text
+    private final int[] starts;      // key position -> offset of the key in its entry's term
+    private final int[] targets;     // key position -> entry index
+    private final double[] weights;  // key position -> entry weight
+    private final Entry[] entries;
+    private final int[] tree;        // argmax segment tree over key positions
+    private final int n;
+
+    private PrefixIndex(int[] starts, int[] targets, Entry[] entries, String[] terms) {
+        this.starts = starts;
+        this.targets = targets;
+        this.entries = entries;
+        this.terms = terms;
+        this.n = starts.length;
+        this.weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            weights[i] = entries[targets[i]].weight;
+        }
+        this.tree = new int[2 * Math.max(n, 1)];
+        for (int i = 0; i < n; i++) {
+            tree[n + i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            tree[i] = heavier(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    public static PrefixIndex empty() {
+        return EMPTY;
+    }
+
+    public static PrefixIndex build(List<Entry> source) {
+        Entry[] entries = source.toArray(new Entry[0]);
+        String[] terms = new String[entries.length];
+        SortedKeys sorted = sortedKeys(entries, terms, 0);
+        return new PrefixIndex(sorted.starts, sorted.targets, entries, terms);
+    }
+
+    /**
+     * A new index without the entries matching remove and with the added ones. The kept keys are already in
+     * order, so only the added entries' keys are sorted and then merged in: O(n + m log m) for m added entries,
+     * instead of re-deriving and sorting every key as build() does.
+     */
+    public PrefixIndex apply(Predicate<Entry> remove, List<Entry> added) {
+        int[] renumbered = new int[entries.length];
+        List<Entry> merged = new ArrayList<>(entries.length + added.size());
+        for (int e = 0; e < entries.length; e++) {
+            if (remove.test(entries[e])) {
+                renumbered[e] = -1;
+            } else {
+                renumbered[e] = merged.size();
+                merged.add(entries[e]);
+            }
+        }
+        int firstAdded = merged.size();
+        merged.addAll(added);
+        Entry[] mergedEntries = merged.toArray(new Entry[0]);
+        String[] mergedTerms = new String[mergedEntries.length];
+        for (int e = 0; e < entries.length; e++) {
+            if (renumbered[e] >= 0) {
+                mergedTerms[renumbered[e]] = terms[e];
+            }
+        }
+        SortedKeys fresh = sortedKeys(mergedEntries, mergedTerms, firstAdded);
+
+        int kept = 0;
+        for (int i = 0; i < n; i++) {
+            if (renumbered[targets[i]] >= 0) {
+                kept++;
+            }
+        }
+        int[] mergedStarts = new int[kept + fresh.starts.length];
+        int[] mergedTargets = new int[mergedStarts.length];
+        int i = 0;
+        int j = 0;
+        for (int out = 0; out < mergedStarts.length; out++) {
+            while (i < n && renumbered[targets[i]] < 0) {
+                i++;
+            }
+            if (i < n && (j == fresh.starts.length || compareKeys(terms[targets[i]], starts[i],
+                    mergedTerms[fresh.targets[j]], fresh.starts[j]) <= 0)) {
+                mergedStarts[out] = starts[i];
+                mergedTargets[out] = renumbered[targets[i++]];
+            } else {
+                mergedStarts[out] = fresh.starts[j];
+                mergedTargets[out] = fresh.targets[j++];
+            }
+        }
+        return new PrefixIndex(mergedStarts, mergedTargets, mergedEntries, mergedTerms);
+    }
+
+    /**
+     * The k heaviest distinct entries having a word that starts with the prefix
+     */
+    public List<Entry> topK(String prefix, int k) {
+        String p = normalize(prefix);
+        if (p.isEmpty() || n == 0 || k <= 0) {
+            return Collections.emptyList();
+        }
+        int lo = bound(p, false);
+        int hi = bound(p, true);
+        if (lo >= hi) {
+            return Collections.emptyList();
+        }
+
+        // Ranges ordered by the weight of their heaviest key
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> Double.compare(weights[b[2]], weights[a[2]]));
+        ranges.add(new int[]{lo, hi, argmax(lo, hi)});
+        List<Entry> result = new ArrayList<>(k);
+        Set<Integer> seen = new HashSet<>();
+        while (result.size() < k && !ranges.isEmpty()) {
+            int[] range = ranges.poll();
+            int best = range[2];
+            if (seen.add(targets[best])) {
+                result.add(entries[targets[best]]);
+            }
+            if (range[0] < best) {
+                ranges.add(new int[]{range[0], best, argmax(range[0], best)});
+            }
+            if (best + 1 < range[1]) {
+                ranges.add(new int[]{best + 1, range[1], argmax(best + 1, range[1])});
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    /**
+     * The keys an entry text is indexed under: the normalized text from each word start on
+     */
+    static List<String> keysFor(String text) {
+        String normalized = normalize(text);
+        List<String> keys = new ArrayList<>();
+        for (int start : keyStarts(normalized)) {
+            keys.add(normalized.substring(start));
+        }
+        return keys;
+    }
+
+    /**
+     * Offsets of the word starts of a normalized text, i.e. of its keys
+     */
+    private static int[] keyStarts(String normalized) {
+        int count = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (isWordStart(normalized, i)) {
+                count++;
+            }
+        }
+        int[] result = new int[count];
+        int next = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (isWordStart(normalized, i)) {
+                result[next++] = i;
+            }
+        }
+        return result;
+    }
+
+    private static boolean isWordStart(String normalized, int i) {
+        return Character.isLetterOrDigit(normalized.charAt(i))
+                && (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1)));
+    }
+
+    /**
+     * String.compareTo of a.substring(aStart) and b.substring(bStart), without the substrings
+     */
+    private static int compareKeys(String a, int aStart, String b, int bStart) {
+        int aLength = a.length() - aStart;
+        int bLength = b.length() - bStart;
+        int limit = Math.min(aLength, bLength);
+        for (int i = 0; i < limit; i++) {
+            char ca = a.charAt(aStart + i);
+            char cb = b.charAt(bStart + i);
+            if (ca != cb) {
+                return ca - cb;
+            }
+        }
+        return aLength - bLength;
+    }
+
+    private static final class SortedKeys {
+        final int[] starts;
+        final int[] targets;
+
+        SortedKeys(int[] starts, int[] targets) {
+            this.starts = starts;
+            this.targets = targets;
+        }
+    }
+
+    /**
+     * The keys of entries[from..], sorted, each with the position of its entry; fills in terms[from..]
+     */
+    private static SortedKeys sortedKeys(Entry[] entries, String[] terms, int from) {
+        List<int[]> perEntry = new ArrayList<>(entries.length - from);
+        int count = 0;
+        for (int e = from; e < entries.length; e++) {
+            terms[e] = normalize(entries[e].text);
+            int[] entryStarts = keyStarts(terms[e]);
+            perEntry.add(entryStarts);
+            count += entryStarts.length;
+        }
+        int[] starts = new int[count];
+        int[] targets = new int[count];
+        int i = 0;
+        for (int e = from; e < entries.length; e++) {
+            for (int start : perEntry.get(e - from)) {
+                starts[i] = start;
+                targets[i++] = e;
+            }
+        }
+        // Merge sort on the parallel arrays, alternating between them and a copy; no boxed index array
+        mergeSort(terms, starts.clone(), targets.clone(), starts, targets, 0, count);
+        return new SortedKeys(starts, targets);
+    }
+
+    /**
+     * Sort [from, to) of the source arrays into the target arrays, which hold the same elements on entry
+     */
+    private static void mergeSort(String[] terms, int[] srcStarts, int[] srcTargets, int[] starts, int[] targets,
+                                  int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(terms, starts, targets, srcStarts, srcTargets, from, mid);
+        mergeSort(terms, starts, targets, srcStarts, srcTargets, mid, to);
+        for (int i = from, l = from, r = mid; i < to; i++) {
+            if (r >= to || (l < mid && compareKeys(terms[srcTargets[l]], srcStarts[l],
+                    terms[srcTargets[r]], srcStarts[r]) <= 0)) {
+                starts[i] = srcStarts[l];
+                targets[i] = srcTargets[l++];
+            } else {
+                starts[i] = srcStarts[r];
+                targets[i] = srcTargets[r++];
+            }
+        }
+    }
+
+    /**
+     * First key position whose key, cut to the prefix length, is not below the prefix (after = false:
+     * the start of the prefix range) or is above it (after = true: the end of the range)
+     */
+    private int bound(String prefix, boolean after) {
+        int lo = 0;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = comparePrefix(terms[targets[mid]], starts[mid], prefix);
+            if (cmp < 0 || (after && cmp == 0)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * compareKeys of the key at start, cut to the prefix length, and the prefix
+     */
+    private static int comparePrefix(String term, int start, String prefix) {
+        int keyLength = Math.min(term.length() - start, prefix.length());
+        for (int i = 0; i < keyLength; i++) {
+            char c = term.charAt(start + i);
+            char p = prefix.charAt(i);
+            if (c != p) {
+                return c - p;
+            }
+        }
+        return keyLength - prefix.length();
+    }
+
+    /**
+     * Position of the heaviest key in [from, to)
+     */
+    private int argmax(int from, int to) {
+        int best = -1;
+        for (int l = from + n, r = to + n; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                best = heavier(best, tree[l++]);
+            }
+            if ((r & 1) == 1) {
+                best = heavier(best, tree[--r]);
+            }
+        }
+        return best;
+    }
+
+    private int heavier(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        return weights[b] > weights[a] ? b : a;
+    }
+}
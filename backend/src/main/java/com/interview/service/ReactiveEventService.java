@@ -0,0 +1,202 @@
+package com.interview.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.interview.dto.EventMapper;
+import com.interview.dto.EventResponse;
+import com.interview.dto.EventSummaryResponse;
+import com.interview.model.Event;
+import com.interview.model.EventDocument;
+import com.interview.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Read side of the v2 events API, without blocking the caller's thread.
+ *
+ * Cache lookups go to Redis through the reactive (Lettuce) template; JPA reads are bridged onto the
+ * bounded-elastic scheduler; searches adapt the async search backend's futures. List reads are fetched one
+ * page of v2.page-size events at a time, and the next page is only read once the previous one has been
+ * consumed, so a slow client holds neither a thread nor the whole list.
+ *
+ * Pages are keyset pages on (eventDate, id): every page after the first is "the page after this row",
+ * cached under that row, so cached pages computed at different times still join up without duplicating
+ * or skipping rows, and a deep page costs the same index range scan as the first. Only the first upcoming
+ * page depends on "now"; it is keyed by "now" truncated to the minute.
+ *
+ * Cache keys live under the "events::" prefix of the Spring "events" cache, so the
+ * {@code @CacheEvict(value = "events", allEntries = true)} on every EventService write clears them too.
+ * Redis failures are treated as cache misses.
+ */
+@Service
+public class ReactiveEventService {
+
+    static final String KEY_PREFIX = "events::v2:";
+
+    private static final TypeReference<List<EventSummaryResponse>> SUMMARY_LIST = new TypeReference<>() {};
+
+    private final EventRepository eventRepository;
+    private final EventMapper eventMapper;
+    private final EventSearchService searchService;
+    private final ReactiveStringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+    private final Duration cacheTtl;
+
+    @Autowired
+    public ReactiveEventService(EventRepository eventRepository,
+                                EventMapper eventMapper,
+                                EventSearchService searchService,
+                                ReactiveStringRedisTemplate redis,
+                                @Value("${v2.page-size:100}") int pageSize,
+                                @Value("${v2.cache.ttl-ms:600000}") long cacheTtlMs) {
+        this.eventRepository = eventRepository;
+        this.eventMapper = eventMapper;
+        this.searchService = searchService;
+        this.redis = redis;
+        this.pageSize = pageSize;
+        this.cacheTtl = Duration.ofMillis(cacheTtlMs);
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    public Mono<EventResponse> getEventById(UUID id, boolean isAdmin) {
+        String key = KEY_PREFIX + role(isAdmin) + ":id:" + id;
+        return cached(key, EventResponse.class,
+                blocking(() -> eventRepository.findByIdWithDetails(id)
+                        .map(event -> eventMapper.toResponse(event, isAdmin))
+                        .orElse(null)));
+    }
+
+    public Flux<EventSummaryResponse> getUpcomingEvents(boolean isAdmin) {
+        return Flux.defer(() -> {
+            // Part of the first page's key, so it is shared for a minute and never outlives it
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+            String keyBase = "upcoming:" + role(isAdmin);
+            return pages(keyBase + ":from:" + now, keyBase, (after, limit) -> after == null
+                    ? eventRepository.findUpcomingFirstPage(now, limit)
+                    : eventRepository.findUpcomingAfter(after.getEventDate(), after.getId(), limit), isAdmin);
+        });
+    }
+
+    public Flux<EventSummaryResponse> getEventsByLocation(String location, boolean isAdmin) {
+        String keyBase = "location:" + role(isAdmin) + ":" + location;
+        return pages(keyBase, keyBase, (after, limit) -> after == null
+                ? eventRepository.findByLocationFirstPage(location, limit)
+                : eventRepository.findByLocationAfter(location, after.getEventDate(), after.getId(), limit), isAdmin);
+    }
+
+    public Flux<EventDocument> search(String keyword, String city, int page, int size) {
+        return Mono.fromFuture(() -> searchService.search(keyword, city, page, size))
+                .flatMapIterable(results -> results);
+    }
+
+    /**
+     * Stream a keyset-paged query: each page is looked up in Redis, read from the DB on a miss, and the next
+     * page (the one after the last row of this one) is requested only after the current one was emitted.
+     * Stops after the first short page. The first page is cached under firstPageKey, later pages under
+     * keyBase and the row they follow.
+     */
+    Flux<EventSummaryResponse> pages(String firstPageKey, String keyBase, KeysetQuery query, boolean isAdmin) {
+        return page(KEY_PREFIX + firstPageKey + ":page:" + pageSize + ":first", query, null, isAdmin)
+                .expand(events -> {
+                    if (events.size() < pageSize) {
+                        return Mono.empty();
+                    }
+                    EventSummaryResponse last = events.get(events.size() - 1);
+                    String key = KEY_PREFIX + keyBase + ":page:" + pageSize + ":after:" + last.getEventDate() + ":" + last.getId();
+                    return page(key, query, last, isAdmin);
+                })
+                .concatMapIterable(events -> events, 1);
+    }
+
+    private Mono<List<EventSummaryResponse>> page(String key, KeysetQuery query, EventSummaryResponse after,
+                                                  boolean isAdmin) {
+        Mono<List<EventSummaryResponse>> fromDb = blocking(() -> query.page(after, PageRequest.of(0, pageSize))
+                .stream()
+                .map(event -> eventMapper.toSummaryResponse(event, isAdmin))
+                .toList());
+        return cached(key, SUMMARY_LIST, fromDb);
+    }
+
+    private <T> Mono<T> cached(String key, Class<T> type, Mono<T> loader) {
+        return cached(key, json -> objectMapper.readValue(json, type), loader);
+    }
+
+    private <T> Mono<T> cached(String key, TypeReference<T> type, Mono<T> loader) {
+        return cached(key, json -> objectMapper.readValue(json, type), loader);
+    }
+
+    private <T> Mono<T> cached(String key, JsonReader<T> reader, Mono<T> loader) {
+        Mono<T> lookup = redis.opsForValue().get(key)
+                .flatMap(json -> {
+                    try {
+                        return Mono.just(reader.read(json));
+                    } catch (JsonProcessingException e) {
+                        return Mono.empty();
+                    }
+                })
+                .onErrorResume(e -> {
+                    System.err.println("v2 cache lookup failed for " + key + ": " + e.getMessage());
+                    return Mono.empty();
+                });
+        return lookup.switchIfEmpty(Mono.defer(() -> loader.flatMap(value -> store(key, value))));
+    }
+
+    /**
+     * Write-behind: the value is emitted right away, the cache write is not awaited
+     */
+    private <T> Mono<T> store(String key, T value) {
+        try {
+            redis.opsForValue().set(key, objectMapper.writeValueAsString(value), cacheTtl)
+                    .subscribe(ignored -> { }, e -> System.err.println("v2 cache write failed for " + key + ": " + e.getMessage()));
+        } catch (JsonProcessingException e) {
+            System.err.println("v2 cache write failed for " + key + ": " + e.getMessage());
+        }
+        return Mono.just(value);
+    }
+
+    /**
+     * Run a blocking JPA read on the bounded-elastic scheduler; null results complete empty
+     */
+    private static <T> Mono<T> blocking(Callable<T> read) {
+        return Mono.fromCallable(read).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static String role(boolean isAdmin) {
+        return isAdmin ? "admin" : "public";
+    }
+
+    @FunctionalInterface
+    private interface JsonReader<T> {
+        T read(String json) throws JsonProcessingException;
+    }
+
+    /**
+     * One keyset page: the first page when after is null, otherwise the rows following after's (eventDate, id)
+     */
+    @FunctionalInterface
+    interface KeysetQuery {
+        List<Event> page(EventSummaryResponse after, Pageable limit);
+    }
+}
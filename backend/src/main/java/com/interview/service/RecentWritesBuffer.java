@@ -0,0 +1,180 @@
+package com.interview.service;
+
+import com.interview.model.EventDocument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-your-writes for search: a small ring of documents written (or deleted) through this node
+ * that the index may not show yet because its next refresh has not happened.
+ *
+ * Entries live for window-ms, which should exceed opensearch.refresh-interval; after that the
+ * index is assumed to have caught up. Search results are merged with the entries that match the
+ * query, using the same keyword/city rules and eventDate order as the backends, and deduplicated
+ * by id. Inserting into a later page uses that page's date window, so around page boundaries a
+ * document may briefly appear on a neighbouring page; this only lasts until the refresh.
+ */
+@Component
+public class RecentWritesBuffer {
+
+    private static final Comparator<EventDocument> BY_EVENT_DATE =
+            Comparator.comparing(EventDocument::getEventDate, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final class Entry {
+        final String id;
+        final EventDocument doc;  // null for a delete
+        final long writtenAt;
+
+        Entry(String id, EventDocument doc, long writtenAt) {
+            this.id = id;
+            this.doc = doc;
+            this.writtenAt = writtenAt;
+        }
+    }
+
+    private final Entry[] ring;
+    private final long windowNanos;
+    private int next;
+
+    @Autowired
+    public RecentWritesBuffer(@Value("${search.ryw.capacity:256}") int capacity,
+                              @Value("${search.ryw.window-ms:5000}") long windowMs) {
+        this.ring = new Entry[Math.max(1, capacity)];
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+    }
+
+    public void recordWrite(EventDocument doc) {
+        add(new Entry(doc.getId(), doc, System.nanoTime()));
+    }
+
+    public void recordDelete(String id) {
+        add(new Entry(id, null, System.nanoTime()));
+    }
+
+    private synchronized void add(Entry entry) {
+        if (windowNanos <= 0) {
+            return;
+        }
+        ring[next] = entry;
+        next = (next + 1) % ring.length;
+    }
+
+    /**
+     * Latest live entry per id, oldest first
+     */
+    private synchronized Map<String, Entry> snapshot() {
+        Map<String, Entry> latest = new LinkedHashMap<>();
+        long now = System.nanoTime();
+        for (int i = 0; i < ring.length; i++) {
+            Entry entry = ring[(next + i) % ring.length];
+            if (entry != null && now - entry.writtenAt <= windowNanos) {
+                latest.remove(entry.id);
+                latest.put(entry.id, entry);
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Merge recent writes into one page of index results
+     */
+    public List<EventDocument> merge(List<EventDocument> results, String keyword, String city, int page, int size) {
+        if (windowNanos <= 0) {
+            return results;
+        }
+        Map<String, Entry> recent = snapshot();
+        if (recent.isEmpty()) {
+            return results;
+        }
+
+        List<EventDocument> merged = new ArrayList<>(results.size());
+        for (EventDocument doc : results) {
+            // Recent writes replace (or delete) whatever version the index returned
+            if (!recent.containsKey(doc.getId())) {
+                merged.add(doc);
+            }
+        }
+
+        if (page > 1 && results.isEmpty()) {
+            return merged;
+        }
+        // The page's eventDate window; the first page is open below, a short (last) page is open above
+        LocalDateTime lower = page <= 1 ? null : results.get(0).getEventDate();
+        LocalDateTime upper = results.size() < size ? null : results.get(results.size() - 1).getEventDate();
+
+        Set<String> keywordTokens = tokens(keyword);
+        boolean added = false;
+        for (Entry entry : recent.values()) {
+            EventDocument doc = entry.doc;
+            if (doc == null || !matches(doc, keywordTokens, city)) {
+                continue;
+            }
+            LocalDateTime date = doc.getEventDate();
+            boolean inWindow = date == null
+                    ? upper == null
+                    : (lower == null || !date.isBefore(lower)) && (upper == null || !date.isAfter(upper));
+            if (inWindow) {
+                merged.add(doc);
+                added = true;
+            }
+        }
+        if (added) {
+            merged.sort(BY_EVENT_DATE);
+        }
+        return merged.size() > size ? new ArrayList<>(merged.subList(0, size)) : merged;
+    }
+
+    /**
+     * Same rules as the backends: any keyword term in name, description, performer or venue name,
+     * and the document's city equal to the city filter, ignoring case
+     */
+    static boolean matches(EventDocument doc, Set<String> keywordTokens, String city) {
+        if (!keywordTokens.isEmpty()) {
+            Set<String> text = tokens(doc.getName());
+            text.addAll(tokens(doc.getDescription()));
+            if (doc.getVenue() != null) {
+                text.addAll(tokens(doc.getVenue().getName()));
+            }
+            if (doc.getPerformers() != null) {
+                for (EventDocument.PerformerInfo performer : doc.getPerformers()) {
+                    text.addAll(tokens(performer.getName()));
+                }
+            }
+            if (keywordTokens.stream().noneMatch(text::contains)) {
+                return false;
+            }
+        }
+        if (city != null && !city.isBlank()) {
+            return doc.getCity() != null && doc.getCity().equalsIgnoreCase(city.trim());
+        }
+        return true;
+    }
+
+    /**
+     * Lowercased letter/digit runs, close to the standard analyzer for the text we index
+     */
+    static Set<String> tokens(String text) {
+        Set<String> tokens = new HashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
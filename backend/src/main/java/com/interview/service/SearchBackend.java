@@ -0,0 +1,126 @@
+package com.interview.service;
+
+import com.interview.dto.BatchSearchResult;
+import com.interview.dto.FacetBucket;
+import com.interview.dto.FacetedSearchResponse;
+import com.interview.dto.SearchQuerySpec;
+import com.interview.model.EventDocument;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Index/query engine behind EventSearchService, selected with search.backend:
+ * "opensearch" (default) or "lucene" for an embedded index on local disk.
+ *
+ * Every backend applies the same semantics: the keyword matches name, description, performer names
+ * and venue name; the city filter equals the event's city (venue city, or the city part of location: the
+ * value the city facet counts), ignoring case; results are sorted by eventDate ascending
+ * and paged with 1-based page numbers.
+ */
+public interface SearchBackend {
+
+    /**
+     * Facet names
+     */
+    String FACET_CITY = "city";
+    String FACET_MONTH = "month";
+    String FACET_GENRE = "genre";
+    int FACET_SIZE = 20;
+
+    /**
+     * Fields returned by the raw search mode
+     */
+    String[] SUMMARY_FIELDS = {"id", "name", "description", "eventDate", "location"};
+
+    CompletableFuture<List<EventDocument>> search(String keyword, String city, int page, int size);
+
+    /**
+     * Hits plus facet counts (city, month of eventDate, performer genre) over all matches
+     */
+    CompletableFuture<FacetedSearchResponse> searchWithFacets(String keyword, String city, int page, int size);
+
+    /**
+     * Facet counts only
+     */
+    CompletableFuture<Map<String, List<FacetBucket>>> facets(String keyword, String city);
+
+    /**
+     * Run several searches in one round trip. The result list is in query order; a failing query
+     * yields a BatchSearchResult with an error and does not fail the others.
+     */
+    CompletableFuture<List<BatchSearchResult>> multiSearch(List<SearchQuerySpec> queries);
+
+    /**
+     * Events whose venue.location is within radiusKm of (lat, lon) and whose date is in [from, to]
+     * (either bound may be null), sorted by distance, then eventDate
+     */
+    CompletableFuture<List<EventDocument>> nearby(double lat, double lon, double radiusKm,
+                                                  LocalDateTime from, LocalDateTime to, int page, int size);
+
+    /**
+     * Hits as SUMMARY_FIELDS JSON, written out without a Jackson round trip
+     */
+    CompletableFuture<RawHits> searchRaw(String keyword, String city, int page, int size);
+
+    CompletableFuture<Void> index(EventDocument doc);
+
+    /**
+     * Index a batch; completes with the number of documents indexed, or fails with BulkIndexException
+     * when some of them were not
+     */
+    CompletableFuture<Integer> bulkIndex(List<EventDocument> docs);
+
+    CompletableFuture<Void> delete(String id);
+
+    /**
+     * Create the index (and its mapping) if it does not exist yet
+     */
+    void ensureIndex() throws IOException;
+
+    /**
+     * Count and versionHash sum of the documents whose id is in [fromId, toId]
+     */
+    CompletableFuture<RangeDigest> digest(String fromId, String toId);
+
+    /**
+     * id to versionHash of every document whose id is in [fromId, toId]; -1 when a document has no hash
+     */
+    CompletableFuture<Map<String, Long>> versions(String fromId, String toId);
+
+    /**
+     * Digest of one id range, compared against the same digest computed from the database
+     */
+    final class RangeDigest {
+        private final long count;
+        private final long hashSum;
+
+        public RangeDigest(long count, long hashSum) {
+            this.count = count;
+            this.hashSum = hashSum;
+        }
+
+        public long getCount() { return count; }
+        public long getHashSum() { return hashSum; }
+
+        public boolean matches(long count, long hashSum) {
+            return this.count == count && this.hashSum == hashSum;
+        }
+    }
+
+    /**
+     * Raw hit sources of one search
+     */
+    interface RawHits {
+        int size();
+
+        /**
+         * Write the hits as one JSON array
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,208 @@
+package com.interview.service;
+
+import com.interview.model.Event;
+import com.interview.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Background fan-out reindexing for venue and performer changes.
+ *
+ * Event documents embed their venue and performers, so renaming a venue or performer
+ * leaves every related document stale. Changes are queued here after commit and a
+ * scheduled job reindexes the affected events in bulk, at most batch-size events per
+ * bulk request and max-batches-per-run requests per run. A large fan-out therefore
+ * spreads over several runs instead of flooding OpenSearch in one go.
+ *
+ * The queue is per node and in memory, so pending fan-outs are lost on restart. The document version
+ * compared by SearchIndexReconciler includes the venue's and performers' updatedAt, so the reconciler
+ * finds and reindexes the documents a lost fan-out left stale.
+ *
+ * Event API responses embed the same fields, so each batch also bumps the events' version and change
+ * sequence number: their ETags and the list page hash move on, delta sync clients receive them again,
+ * cached bodies are dropped, and an UPDATED change is published.
+ */
+@Service
+public class SearchFanoutService {
+
+    public enum SourceType { VENUE, PERFORMER }
+
+    /**
+     * One pending fan-out; page is the next page of affected event IDs to reindex.
+     * rerun is set when the source changes again after the first page was loaded: pages already done
+     * hold the old row, so the task starts over from page 0 once it reaches the end.
+     */
+    static class FanoutTask {
+        final SourceType type;
+        final UUID sourceId;
+        int page;
+        volatile boolean started;
+        volatile boolean rerun;
+
+        FanoutTask(SourceType type, UUID sourceId) {
+            this.type = type;
+            this.sourceId = sourceId;
+        }
+
+        String key() {
+            return type + ":" + sourceId;
+        }
+    }
+
+    private final EventRepository eventRepository;
+    private final EventSearchService searchService;
+    private final TransactionTemplate transaction;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final Queue<FanoutTask> queue = new ConcurrentLinkedQueue<>();
+    private final Map<String, FanoutTask> queuedTasks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SearchFanoutService(EventRepository eventRepository,
+                               EventSearchService searchService,
+                               PlatformTransactionManager transactionManager,
+                               CacheManager cacheManager,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${search.fanout.batch-size:200}") int batchSize,
+                               @Value("${search.fanout.max-batches-per-run:10}") int maxBatchesPerRun) {
+        this.eventRepository = eventRepository;
+        this.searchService = searchService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * Queue a reindex of all events at the venue, once the current transaction commits
+     */
+    public void venueChanged(UUID venueId) {
+        enqueueAfterCommit(new FanoutTask(SourceType.VENUE, venueId));
+    }
+
+    /**
+     * Queue a reindex of all events the performer appears in, once the current transaction commits
+     */
+    public void performerChanged(UUID performerId) {
+        enqueueAfterCommit(new FanoutTask(SourceType.PERFORMER, performerId));
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    private void enqueueAfterCommit(FanoutTask task) {
+        if (task.sourceId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(task);
+                }
+            });
+        } else {
+            enqueue(task);
+        }
+    }
+
+    private void enqueue(FanoutTask task) {
+        queuedTasks.compute(task.key(), (key, queued) -> {
+            if (queued == null) {
+                queue.add(task);
+                return task;
+            }
+            // Not started yet: its pages will load the latest row anyway
+            if (queued.started) {
+                queued.rerun = true;
+            }
+            return queued;
+        });
+    }
+
+    private void finish(FanoutTask task) {
+        queue.poll();
+        queuedTasks.compute(task.key(), (key, queued) -> {
+            if (!task.rerun) {
+                return null;
+            }
+            task.rerun = false;
+            task.started = false;
+            task.page = 0;
+            queue.add(task);
+            return task;
+        });
+    }
+
+    /**
+     * Drain the queue, bounded to max-batches-per-run bulk requests.
+     * An unfinished task keeps its page and continues on the next run.
+     */
+    @Scheduled(fixedDelayString = "${search.fanout.interval-ms:1000}")
+    public void drain() {
+        int batches = 0;
+        FanoutTask task;
+        while (batches < maxBatchesPerRun && (task = queue.peek()) != null) {
+            try {
+                boolean done = reindexNextBatch(task);
+                batches++;
+                if (done) {
+                    finish(task);
+                }
+            } catch (Exception e) {
+                // Leave the task at the head; it is retried from the same page on the next run
+                System.err.println("Fan-out reindex failed for " + task.key() + ": " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reindex one page of events affected by the task.
+     * Returns true when this was the last page.
+     */
+    boolean reindexNextBatch(FanoutTask task) throws Exception {
+        task.started = true;
+        PageRequest pageRequest = PageRequest.of(task.page, batchSize);
+        List<UUID> ids = task.type == SourceType.VENUE
+                ? eventRepository.findIdsByVenueId(task.sourceId, pageRequest)
+                : eventRepository.findIdsByPerformerId(task.sourceId, pageRequest);
+
+        if (!ids.isEmpty()) {
+            transaction.executeWithoutResult(status -> eventRepository.touchAll(ids));
+            Cache cache = cacheManager.getCache("events");
+            if (cache != null) {
+                cache.clear();
+            }
+            List<Event> events = eventRepository.findAllWithDetailsByIdIn(ids);
+            searchService.bulkIndex(events).join();
+            for (Event event : events) {
+                eventPublisher.publishEvent(new EventChangedEvent(EventChangedEvent.Type.UPDATED, event.getId(), event));
+            }
+        }
+        task.page++;
+        return ids.size() < batchSize;
+    }
+}
@@ -0,0 +1,191 @@
+package com.interview.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache for OpenSearch results, keyed by a normalized query signature.
+ *
+ * Every entry remembers the index-write generation it was loaded under. Index writes call
+ * bumpGeneration(), after which older entries are treated as misses, so no explicit invalidation
+ * of individual keys is needed. The short TTL bounds staleness for writes made on other nodes and
+ * for documents that become visible only after the next index refresh.
+ *
+ * Entries live in an access-ordered LinkedHashMap guarded by a lock, so a lookup and the install of a
+ * new in-flight future are one step and the least recently used entry is dropped in O(1) when full.
+ * The lock is never held while a loader runs.
+ */
+@Component
+public class SearchResultCache {
+
+    private final Map<String, Entry> entries;
+    // Not synchronized: a virtual thread would pin its carrier while waiting
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer savedLatency;
+
+    @Autowired
+    public SearchResultCache(MeterRegistry meterRegistry,
+                             @Value("${search.cache.ttl-ms:5000}") long ttlMs,
+                             @Value("${search.cache.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > SearchResultCache.this.maxEntries;
+            }
+        };
+        this.hits = Counter.builder("search.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("search.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.savedLatency = Timer.builder("search.cache.saved.latency")
+                .description("OpenSearch latency avoided by serving a cached result")
+                .register(meterRegistry);
+        Gauge.builder("search.cache.hit.ratio", this, SearchResultCache::hitRatio).register(meterRegistry);
+        Gauge.builder("search.cache.size", this, SearchResultCache::size).register(meterRegistry);
+        Gauge.builder("search.cache.generation", generation, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * Normalized signature of a search: lowercased, trimmed, whitespace-collapsed and token-sorted
+     * keyword (token order never changes a match query result), the lowercased and trimmed city (an
+     * exact, case-insensitive filter), plus the page window.
+     */
+    public static String signature(String keyword, String city, int page, int size) {
+        return "k=" + normalize(keyword) + "|c=" + normalizeCity(city) + "|p=" + page + "|s=" + size;
+    }
+
+    public static String normalizeCity(String city) {
+        return city == null ? "" : city.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        String[] tokens = text.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        Arrays.sort(tokens);
+        return String.join(" ", tokens);
+    }
+
+    /**
+     * Return the cached result for the key, or start the loader and cache its future.
+     * Concurrent callers for the same key share one in-flight request; failed loads are not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> getOrLoad(String key, Supplier<CompletableFuture<T>> loader) {
+        if (ttlNanos <= 0) {
+            return loader.get();
+        }
+
+        long now = System.nanoTime();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Entry entry;
+        lock.lock();
+        try {
+            long currentGeneration = generation.get();
+            Entry cached = entries.get(key);
+            if (cached != null && cached.generation == currentGeneration && now < cached.expiresAt) {
+                hits.increment();
+                if (cached.loadNanos > 0) {
+                    savedLatency.record(cached.loadNanos, TimeUnit.NANOSECONDS);
+                }
+                return (CompletableFuture<T>) cached.future;
+            }
+            // Installed before the loader starts, so concurrent misses for the key wait on this load
+            entry = new Entry(future, currentGeneration, now + ttlNanos);
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                remove(key, entry);
+            } else {
+                entry.loadNanos = System.nanoTime() - now;
+            }
+        });
+        try {
+            loader.get().whenComplete((result, error) -> {
+                if (error != null) {
+                    future.completeExceptionally(error);
+                } else {
+                    future.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        }
+        return future;
+    }
+
+    /**
+     * Called after index writes; every entry loaded under an older generation becomes stale
+     */
+    public void bumpGeneration() {
+        generation.incrementAndGet();
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    private void remove(String key, Entry entry) {
+        lock.lock();
+        try {
+            entries.remove(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<?> future;
+        private final long generation;
+        private final long expiresAt;
+        private volatile long loadNanos;
+
+        private Entry(CompletableFuture<?> future, long generation, long expiresAt) {
+            this.future = future;
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.interview.service;
+
+import com.interview.model.Event;
+import com.interview.model.EventDocument;
+import com.interview.model.Performer;
+import com.interview.repository.EventRepository;
+import com.interview.repository.PerformerRepository;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Typeahead suggestions over upcoming event names, performer names and cities.
+ *
+ * Queries are answered from an immutable PrefixIndex snapshot. Event writes update a compact in-memory copy of
+ * the upcoming catalog and are visible immediately through a small pending overlay, which also hides what the
+ * snapshot still holds for the changed events. Every rebuild-interval-ms the changed events are applied to the
+ * snapshot incrementally; a full rebuild from the catalog (no DB access), which also refreshes the time-decayed
+ * weights and drops performers and cities without upcoming events, runs at startup and every
+ * full-rebuild-interval-ms.
+ */
+@Service
+public class SuggestionService {
+
+    static final String TYPE_EVENT = "EVENT";
+    static final String TYPE_PERFORMER = "PERFORMER";
+    static final String TYPE_CITY = "CITY";
+
+    private final EventRepository eventRepository;
+    private final PerformerRepository performerRepository;
+    private final long fullRebuildIntervalMs;
+
+    private final Map<UUID, CatalogEvent> catalog = new ConcurrentHashMap<>();
+    // Normalized event name -> catalog events carrying it (tour dates share one suggestion)
+    private final Map<String, Set<UUID>> idsByName = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, PrefixIndex.Entry> pending = new ConcurrentSkipListMap<>();
+    private final Set<String> performerNames = ConcurrentHashMap.newKeySet();
+    // Events changed since they were last applied to the snapshot; the stamp tells a later change apart
+    private final Map<String, Long> changedIds = new ConcurrentHashMap<>();
+    private final AtomicLong changeStamps = new AtomicLong();
+    private volatile PrefixIndex index = PrefixIndex.empty();
+    private volatile boolean dirty;
+    private volatile long lastBuild;
+
+    // Contents of the snapshot, kept by the (synchronized) rebuild and applyChanges
+    private final Map<String, String> indexedEventIds = new HashMap<>();    // normalized name -> id of its entry
+    private final Map<String, String> indexedEventNames = new HashMap<>();  // id -> normalized name
+    private final Set<String> indexedOthers = new HashSet<>();              // type|text of performers and cities
+
+    @Autowired
+    public SuggestionService(EventRepository eventRepository, PerformerRepository performerRepository,
+                             @Value("${suggest.full-rebuild-interval-ms:3600000}") long fullRebuildIntervalMs) {
+        this.eventRepository = eventRepository;
+        this.performerRepository = performerRepository;
+        this.fullRebuildIntervalMs = fullRebuildIntervalMs;
+    }
+
+    public List<PrefixIndex.Entry> suggest(String prefix, int limit) {
+        if (pending.isEmpty() && changedIds.isEmpty()) {
+            return index.topK(prefix, limit);
+        }
+
+        // Entries of changed events are hidden; ask for more until enough visible ones are found
+        Map<String, PrefixIndex.Entry> merged = new HashMap<>();
+        for (int k = limit; ; k *= 2) {
+            List<PrefixIndex.Entry> fromIndex = index.topK(prefix, k);
+            merged.clear();
+            for (PrefixIndex.Entry entry : fromIndex) {
+                if (entry.getId() == null || !changedIds.containsKey(entry.getId())) {
+                    merged.put(entry.getType() + "|" + entry.getText(), entry);
+                }
+            }
+            if (merged.size() >= limit || fromIndex.size() < k) {
+                break;
+            }
+        }
+        String p = PrefixIndex.normalize(prefix);
+        for (PrefixIndex.Entry entry : pending.subMap(p, p + Character.MAX_VALUE).values()) {
+            merged.put(entry.getType() + "|" + entry.getText(), entry);
+        }
+        return merged.values().stream()
+                .sorted((a, b) -> Double.compare(b.getWeight(), a.getWeight()))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadCatalog() {
+        catalog.clear();
+        idsByName.clear();
+        performerRepository.findAll().forEach(performer -> performerNames.add(performer.getName()));
+        for (Event event : eventRepository.findUpcomingWithDetails(LocalDateTime.now())) {
+            CatalogEvent entry = CatalogEvent.of(event);
+            catalog.put(event.getId(), entry);
+            link(entry, event.getId());
+        }
+        rebuild();
+        System.out.println("Suggestion index built with " + index.size() + " entries from "
+                + catalog.size() + " upcoming events and " + performerNames.size() + " performers");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        UUID eventId = change.getEventId();
+        String id = eventId.toString();
+        CatalogEvent entry = change.getType() == EventChangedEvent.Type.DELETED ? null : CatalogEvent.of(change.getEvent());
+        CatalogEvent previous = entry == null ? catalog.remove(eventId) : catalog.put(eventId, entry);
+        // Hides the snapshot's entry of this event (old name, or a date now past) until the change is applied
+        changedIds.put(id, changeStamps.incrementAndGet());
+        if (previous != null) {
+            unlink(previous, eventId);
+            // and its overlay entry under the old name, if it changed earlier in this interval
+            for (String key : PrefixIndex.keysFor(previous.name)) {
+                pending.remove(key + '\u0000' + id);
+            }
+        }
+        if (entry != null) {
+            link(entry, eventId);
+            performerNames.addAll(entry.performers);
+            if (entry.isUpcoming(LocalDateTime.now())) {
+                // Visible right away; weights are recomputed properly on the next full rebuild
+                PrefixIndex.Entry suggestion = new PrefixIndex.Entry(entry.name, TYPE_EVENT, id, entry.score(LocalDateTime.now()));
+                for (String key : PrefixIndex.keysFor(entry.name)) {
+                    pending.put(key + '\u0000' + id, suggestion);
+                }
+            }
+        }
+        dirty = true;
+    }
+
+    @Scheduled(fixedDelayString = "${suggest.rebuild-interval-ms:2000}")
+    public void rebuildIfNeeded() {
+        if (System.currentTimeMillis() - lastBuild > fullRebuildIntervalMs) {
+            rebuild();
+        } else if (dirty) {
+            applyChanges();
+        }
+    }
+
+    /**
+     * Rebuild the snapshot from the in-memory catalog. Event scores decay with time until the event date,
+     * performers and cities score the sum of their upcoming events.
+     */
+    synchronized void rebuild() {
+        dirty = false;
+        Map<String, Long> changed = new HashMap<>(changedIds);
+        Map<String, PrefixIndex.Entry> pendingSnapshot = new HashMap<>(pending);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<PrefixIndex.Entry> entries = new ArrayList<>();
+        Map<String, Double> performerScores = new HashMap<>();
+        Map<String, Double> cityScores = new HashMap<>();
+        Map<String, PrefixIndex.Entry> events = new HashMap<>();
+        for (Map.Entry<UUID, CatalogEvent> item : catalog.entrySet()) {
+            CatalogEvent event = item.getValue();
+            if (!event.isUpcoming(now)) {
+                continue;
+            }
+            double score = event.score(now);
+            // Repeated names (tours) collapse into one suggestion carrying the soonest date's weight
+            events.merge(PrefixIndex.normalize(event.name),
+                    new PrefixIndex.Entry(event.name, TYPE_EVENT, item.getKey().toString(), score),
+                    (a, b) -> a.getWeight() >= b.getWeight() ? a : b);
+            for (String performer : event.performers) {
+                performerScores.merge(performer, score, Double::sum);
+            }
+            if (event.city != null) {
+                cityScores.merge(event.city, score, Double::sum);
+            }
+        }
+        indexedEventIds.clear();
+        indexedEventNames.clear();
+        indexedOthers.clear();
+        events.forEach((name, entry) -> {
+            entries.add(entry);
+            indexedEventIds.put(name, entry.getId());
+            indexedEventNames.put(entry.getId(), name);
+        });
+        for (String name : performerNames) {
+            entries.add(new PrefixIndex.Entry(name, TYPE_PERFORMER, null, performerScores.getOrDefault(name, 0.0)));
+            indexedOthers.add(TYPE_PERFORMER + "|" + name);
+        }
+        cityScores.forEach((city, score) -> {
+            entries.add(new PrefixIndex.Entry(city, TYPE_CITY, null, score));
+            indexedOthers.add(TYPE_CITY + "|" + city);
+        });
+
+        index = PrefixIndex.build(entries);
+        lastBuild = System.currentTimeMillis();
+        settle(changed, pendingSnapshot);
+    }
+
+    /**
+     * Fold the events changed since the last update into the snapshot: the suggestion of every name such an
+     * event had or has now is replaced by the current soonest upcoming event of that name (if any), and new
+     * performers and cities are added. Stale performers and cities stay until the next full rebuild.
+     */
+    synchronized void applyChanges() {
+        dirty = false;
+        Map<String, Long> changed = new HashMap<>(changedIds);
+        Map<String, PrefixIndex.Entry> pendingSnapshot = new HashMap<>(pending);
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> names = new HashSet<>();
+        List<CatalogEvent> changedEvents = new ArrayList<>();
+        for (String id : changed.keySet()) {
+            String indexedName = indexedEventNames.get(id);
+            if (indexedName != null) {
+                names.add(indexedName);
+            }
+            CatalogEvent event = catalog.get(UUID.fromString(id));
+            if (event != null) {
+                names.add(PrefixIndex.normalize(event.name));
+                changedEvents.add(event);
+            }
+        }
+
+        Set<String> replacedIds = new HashSet<>();
+        List<PrefixIndex.Entry> added = new ArrayList<>();
+        for (String name : names) {
+            String replaced = indexedEventIds.remove(name);
+            if (replaced != null) {
+                replacedIds.add(replaced);
+                indexedEventNames.remove(replaced);
+            }
+            PrefixIndex.Entry best = null;
+            for (UUID id : idsByName.getOrDefault(name, Set.of())) {
+                CatalogEvent event = catalog.get(id);
+                if (event != null && event.isUpcoming(now)
+                        && (best == null || event.score(now) > best.getWeight())) {
+                    best = new PrefixIndex.Entry(event.name, TYPE_EVENT, id.toString(), event.score(now));
+                }
+            }
+            if (best != null) {
+                added.add(best);
+                indexedEventIds.put(name, best.getId());
+                indexedEventNames.put(best.getId(), name);
+            }
+        }
+        for (CatalogEvent event : changedEvents) {
+            double score = event.isUpcoming(now) ? event.score(now) : 0.0;
+            for (String performer : event.performers) {
+                if (indexedOthers.add(TYPE_PERFORMER + "|" + performer)) {
+                    added.add(new PrefixIndex.Entry(performer, TYPE_PERFORMER, null, score));
+                }
+            }
+            if (event.city != null && event.isUpcoming(now) && indexedOthers.add(TYPE_CITY + "|" + event.city)) {
+                added.add(new PrefixIndex.Entry(event.city, TYPE_CITY, null, score));
+            }
+        }
+
+        index = index.apply(entry -> entry.getId() != null && replacedIds.contains(entry.getId()), added);
+        settle(changed, pendingSnapshot);
+    }
+
+    /**
+     * Drop the overlay state now reflected in the snapshot, keeping whatever changed again in the meantime
+     */
+    private void settle(Map<String, Long> changed, Map<String, PrefixIndex.Entry> pendingSnapshot) {
+        changed.forEach(changedIds::remove);
+        pendingSnapshot.forEach(pending::remove);
+    }
+
+    private void link(CatalogEvent event, UUID id) {
+        idsByName.computeIfAbsent(PrefixIndex.normalize(event.name), name -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private void unlink(CatalogEvent event, UUID id) {
+        idsByName.computeIfPresent(PrefixIndex.normalize(event.name), (name, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * The few fields of an event the suggestion index needs
+     */
+    private static final class CatalogEvent {
+        private final String name;
+        private final String city;
+        private final List<String> performers;
+        private final LocalDateTime eventDate;
+
+        private CatalogEvent(String name, String city, List<String> performers, LocalDateTime eventDate) {
+            this.name = name;
+            this.city = city;
+            this.performers = performers;
+            this.eventDate = eventDate;
+        }
+
+        static CatalogEvent of(Event event) {
+            List<String> performers = Collections.emptyList();
+            if (event.getPerformers() != null && Hibernate.isInitialized(event.getPerformers())) {
+                performers = event.getPerformers().stream().map(Performer::getName).collect(Collectors.toList());
+            }
+            return new CatalogEvent(event.getName(), EventDocument.cityOf(event), performers, event.getEventDate());
+        }
+
+        boolean isUpcoming(LocalDateTime now) {
+            return eventDate != null && eventDate.isAfter(now);
+        }
+
+        double score(LocalDateTime now) {
+            double days = Duration.between(now, eventDate).toHours() / 24.0;
+            return 1.0 / (1.0 + Math.max(days, 0));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.interview.service;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Offline zip code to centroid lookup, loaded once from the bundled geo/zip-centroids.csv.
+ * Used to give venues coordinates without calling a geocoding service.
+ */
+@Component
+public class ZipCentroids {
+
+    static final String RESOURCE = "geo/zip-centroids.csv";
+
+    private final Map<String, double[]> centroids;
+
+    public ZipCentroids() {
+        try (InputStream in = new ClassPathResource(RESOURCE).getInputStream()) {
+            this.centroids = parse(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load " + RESOURCE, e);
+        }
+        System.out.println("Loaded " + centroids.size() + " zip centroids");
+    }
+
+    /**
+     * {latitude, longitude} of a zip code (ZIP+4 is cut to 5 digits), or null when the zip is unknown
+     */
+    public double[] lookup(String zipCode) {
+        if (zipCode == null) {
+            return null;
+        }
+        String zip = zipCode.trim();
+        if (zip.length() > 5) {
+            zip = zip.substring(0, 5);
+        }
+        return centroids.get(zip);
+    }
+
+    public int size() {
+        return centroids.size();
+    }
+
+    /**
+     * Lines of zip,latitude,longitude; '#' comments and the header line are skipped
+     */
+    static Map<String, double[]> parse(InputStream in) throws IOException {
+        Map<String, double[]> centroids = new HashMap<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#") || line.startsWith("zip,")) {
+                continue;
+            }
+            String[] parts = line.split(",");
+            if (parts.length != 3) {
+                System.err.println("Skipping malformed zip centroid line: " + line);
+                continue;
+            }
+            centroids.put(parts[0].trim(),
+                    new double[]{Double.parseDouble(parts[1].trim()), Double.parseDouble(parts[2].trim())});
+        }
+        return centroids;
+    }
+}
@@ -0,0 +1,102 @@
+package com.interview.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.interview.dto.AuditLogMapper;
+import com.interview.exception.GlobalExceptionHandler;
+import com.interview.model.AuditLog;
+import com.interview.repository.AuditLogRepository;
+import com.interview.service.AuditJournal;
+import com.interview.service.AuditLogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * /api/audit with audit.sink=journal: rows never reach the database, so the endpoints must read the
+ * journal or say they cannot, not answer from the empty partitions
+ */
+class AuditControllerJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private AuditJournal journal;
+    private AuditLogRepository auditLogRepository;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        journal = new AuditJournal(new SimpleMeterRegistry(), directory.resolve("segments").toString(),
+                directory.resolve("export").toString(), 1, 3_600_000, 4096, 604_800_000);
+        auditLogRepository = mock(AuditLogRepository.class);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        AuditLogService auditLogService = new AuditLogService(journal, auditLogRepository, new AuditLogMapper(), objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(new AuditController(auditLogService, new AuditLogMapper()))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.close();
+    }
+
+    private void append(String action, String details, LocalDateTime timestamp) {
+        AuditLog auditLog = new AuditLog(UUID.randomUUID(), action, details, "admin@example.com");
+        auditLog.setTimestamp(timestamp);
+        journal.submit(auditLog);
+    }
+
+    @Test
+    void export_ShouldStreamMatchingJournalRecords() throws Exception {
+        append("CREATE", "Account created: Jane", LocalDateTime.of(2025, 5, 10, 9, 0));
+        append("UPDATE", "{\"phone\":[\"1\",\"2\"]}", LocalDateTime.of(2025, 5, 11, 9, 0));
+        append("CREATE", "Account created: John", LocalDateTime.of(2025, 6, 1, 0, 0));
+
+        MvcResult started = mockMvc.perform(get("/api/audit/export")
+                        .param("format", "ndjson")
+                        .param("action", "create")
+                        .param("to", "2025-06-01T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Account created: Jane")))
+                .andExpect(content().string(not(containsString("Account created: John"))))
+                .andExpect(content().string(not(containsString("phone"))));
+        verifyNoInteractions(auditLogRepository);
+    }
+
+    @Test
+    void search_ShouldFailClearlyInsteadOfReturningNothing() throws Exception {
+        append("CREATE", "Account created: Jane", LocalDateTime.of(2025, 5, 10, 9, 0));
+
+        mockMvc.perform(get("/api/audit"))
+                .andExpect(status().isNotImplemented())
+                .andExpect(jsonPath("$.message", containsString("audit.sink=journal")));
+        mockMvc.perform(get("/api/audit/rollups").param("from", "2025-05-01").param("to", "2025-05-31"))
+                .andExpect(status().isNotImplemented());
+        verifyNoInteractions(auditLogRepository);
+    }
+}
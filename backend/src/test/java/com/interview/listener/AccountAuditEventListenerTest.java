@@ -0,0 +1,42 @@
+package com.interview.listener;
+
+import org.hibernate.type.Type;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountAuditEventListenerTest {
+
+    private static final String[] NAMES = {"createdAt", "deletedAt", "email", "firstName", "lastName", "password", "phone", "updatedAt"};
+    private static final Type[] TYPES = new Type[NAMES.length];
+
+    private static Object[] state(String firstName, String password, String phone, LocalDateTime updatedAt) {
+        LocalDateTime created = LocalDateTime.of(2025, 1, 1, 9, 0);
+        return new Object[] {created, null, "john.doe@example.com", firstName, "Doe", password, phone, updatedAt};
+    }
+
+    @Test
+    void diff_ShouldKeepOnlyChangedFieldsAndMaskPassword() {
+        Object[] oldState = state("John", "$2a$old", "555-1234", LocalDateTime.of(2025, 1, 1, 9, 0));
+        Object[] newState = state("Johnny", "$2a$new", "555-1234", LocalDateTime.of(2025, 2, 1, 9, 0));
+
+        Map<String, Object[]> changes = AccountAuditEventListener.diff(NAMES, TYPES, new int[] {3, 5, 7}, oldState, newState);
+
+        assertEquals(List.of("firstName", "password"), List.copyOf(changes.keySet()));
+        assertArrayEquals(new Object[] {"John", "Johnny"}, changes.get("firstName"));
+        assertNull(changes.get("password"));
+    }
+
+    @Test
+    void diff_WhenOnlyBookkeepingChanged_ShouldBeEmpty() {
+        Object[] oldState = state("John", "$2a$old", "555-1234", LocalDateTime.of(2025, 1, 1, 9, 0));
+        Object[] newState = state("John", "$2a$old", "555-1234", LocalDateTime.of(2025, 2, 1, 9, 0));
+
+        // No dirty-property information: states are compared field by field
+        assertTrue(AccountAuditEventListener.diff(NAMES, TYPES, null, oldState, newState).isEmpty());
+    }
+}
@@ -0,0 +1,96 @@
+package com.interview.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_ShouldBeVersion7WithCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertTrue(UuidV7Generator.timestampOf(id) >= before);
+        assertTrue(UuidV7Generator.timestampOf(id) <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void next_ShouldIncreaseWithinAMillisecond() {
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID id = UuidV7Generator.next();
+            assertTrue(id.compareTo(previous) > 0);
+            previous = id;
+        }
+    }
+
+    @Test
+    void nextStamp_WhenCounterRunsOutOrClockStepsBack_ShouldCarryTimestampForward() {
+        long now = System.currentTimeMillis();
+        long previous = UuidV7Generator.nextStamp(now);
+        for (int i = 0; i < 5000; i++) {
+            long stamp = UuidV7Generator.nextStamp(now);
+            assertTrue(stamp > previous);
+            previous = stamp;
+        }
+        // 4096 ids per millisecond: the rest borrowed the next millisecond
+        assertTrue(previous >>> 12 > now);
+
+        assertTrue(UuidV7Generator.nextStamp(now - 10_000) > previous);
+    }
+
+    @Test
+    void next_ShouldBeUniqueAndOrderedPerThreadUnderContention() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        Set<UUID> all = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    boolean ordered = true;
+                    UUID previous = UuidV7Generator.next();
+                    all.add(previous);
+                    for (int i = 1; i < perThread; i++) {
+                        UUID id = UuidV7Generator.next();
+                        ordered &= id.compareTo(previous) > 0;
+                        all.add(id);
+                        previous = id;
+                    }
+                    return ordered;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(threads * perThread, all.size());
+    }
+
+    @Test
+    void fromStamp_ShouldKeepTimestampAndCounterInHighBits() {
+        long stamp = (1_700_000_000_000L << 12) | 0xABC;
+
+        UUID id = UuidV7Generator.fromStamp(stamp, -1L);
+
+        assertEquals(1_700_000_000_000L, UuidV7Generator.timestampOf(id));
+        assertEquals(0xABC, id.getMostSignificantBits() & 0xFFF);
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+}
@@ -0,0 +1,163 @@
+package com.interview.repository;
+
+import com.interview.dto.AuditLogQuery;
+import com.interview.dto.AuditRollupResponse;
+import com.interview.model.AuditLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 4, 30, 23, 0);
+
+    private AuditLogRepository repository;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Fresh in-memory database per test
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:audit-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new AuditLogRepository(jdbcTemplate);
+        repository.init();
+    }
+
+    private static AuditLog row(String action, String performedBy, LocalDateTime timestamp) {
+        AuditLog auditLog = new AuditLog(UUID.randomUUID(), action, "details", performedBy);
+        auditLog.setTimestamp(timestamp);
+        return auditLog;
+    }
+
+    // One row every 12 hours from 2025-04-30 23:00: 1 in April, 62 in May, 17 in June
+    private List<AuditLog> insertTwiceDaily(int count) {
+        List<AuditLog> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(row(i % 2 == 0 ? "UPDATE" : "CREATE", "SYSTEM", BASE.plusHours(i * 12L)));
+        }
+        repository.insertAll(rows);
+        return rows;
+    }
+
+    @Test
+    void insertAll_ShouldRouteRowsToMonthlyPartitions() {
+        insertTwiceDaily(80);
+
+        assertEquals(List.of(YearMonth.of(2025, 4), YearMonth.of(2025, 5), YearMonth.of(2025, 6)),
+                repository.getPartitions());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log_202504", Integer.class));
+        assertEquals(62, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log_202505", Integer.class));
+
+        // Partitions are found again after a restart
+        AuditLogRepository reopened = new AuditLogRepository(jdbcTemplate);
+        reopened.init();
+        assertEquals(3, reopened.getPartitions().size());
+    }
+
+    @Test
+    void partitionsCreatedAndDroppedByAnotherNode_ShouldBecomeVisible() {
+        // Another node: same database, its own partition cache, no throttling of catalog re-reads
+        AuditLogRepository otherNode = new AuditLogRepository(jdbcTemplate, 0);
+        otherNode.init();
+        AuditLogRepository thisNode = new AuditLogRepository(jdbcTemplate, 0);
+        thisNode.init();
+        otherNode.insertAll(List.of(row("CREATE", "SYSTEM", LocalDateTime.of(2025, 5, 10, 9, 0))));
+        AuditLogQuery may = new AuditLogQuery(null, null, null, LocalDateTime.of(2025, 5, 1, 0, 0),
+                LocalDateTime.of(2025, 6, 1, 0, 0));
+
+        // May is the newest month the query can reach, unknown here: the catalog is read again
+        assertEquals(1, thisNode.findPage(may, null, null, 10).size());
+        assertEquals(1, thisNode.rollupDay(LocalDate.of(2025, 5, 10)));
+
+        otherNode.dropPartitionsBefore(YearMonth.of(2025, 6));
+        thisNode.refreshPartitions();
+        assertTrue(thisNode.getPartitions().isEmpty());
+        assertTrue(thisNode.findPage(may, null, null, 10).isEmpty());
+    }
+
+    @Test
+    void findPage_ShouldWalkPartitionsNewestFirstAcrossCursor() {
+        insertTwiceDaily(80);
+        AuditLogQuery all = new AuditLogQuery(null, null, null, null, null);
+
+        List<AuditLog> seen = new ArrayList<>();
+        List<AuditLog> page = repository.findPage(all, null, null, 7);
+        while (!page.isEmpty()) {
+            seen.addAll(page);
+            AuditLog last = page.get(page.size() - 1);
+            page = repository.findPage(all, last.getTimestamp(), last.getId(), 7);
+        }
+
+        assertEquals(80, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i).getTimestamp().isBefore(seen.get(i - 1).getTimestamp()));
+        }
+    }
+
+    @Test
+    void findPage_ShouldApplyFiltersAndTimeRange() {
+        insertTwiceDaily(80);
+        AuditLogQuery query = new AuditLogQuery(null, "create", null,
+                LocalDateTime.of(2025, 5, 10, 0, 0), LocalDateTime.of(2025, 5, 20, 0, 0));
+
+        List<AuditLog> rows = repository.findPage(query, null, null, 100);
+
+        assertEquals(10, rows.size());
+        assertTrue(rows.stream().allMatch(row -> row.getAction().equals("CREATE")));
+    }
+
+    @Test
+    void streamAll_ShouldReturnRowsOldestFirst() {
+        insertTwiceDaily(80);
+        List<AuditLog> rows = new ArrayList<>();
+
+        repository.streamAll(new AuditLogQuery(null, null, null, null, null), rows::add);
+
+        assertEquals(80, rows.size());
+        assertEquals(BASE, rows.get(0).getTimestamp());
+    }
+
+    @Test
+    void rollupDay_ShouldCountByActionAndPerformer() {
+        LocalDateTime day = LocalDateTime.of(2025, 5, 3, 8, 0);
+        repository.insertAll(List.of(row("UPDATE", "admin@example.com", day), row("UPDATE", "admin@example.com", day.plusHours(1)),
+                row("DELETE", null, day.plusHours(2)), row("UPDATE", "admin@example.com", day.plusDays(1))));
+
+        assertEquals(2, repository.rollupDay(day.toLocalDate()));
+        // Running it again replaces the day's counts instead of adding to them
+        repository.rollupDay(day.toLocalDate());
+
+        List<AuditRollupResponse> rollups = repository.findRollups(day.toLocalDate(), day.toLocalDate());
+        assertEquals(2, rollups.size());
+        assertEquals("DELETE", rollups.get(0).getAction());
+        assertEquals("", rollups.get(0).getPerformedBy());
+        assertEquals(2, rollups.get(1).getEntries());
+        assertEquals(day.toLocalDate(), repository.findLastRollupDay());
+        assertEquals(1, repository.aggregateDay(day.toLocalDate().plusDays(1)).size());
+    }
+
+    @Test
+    void dropPartitionsBefore_ShouldDropWholeMonthsAndKeepRollups() {
+        insertTwiceDaily(80);
+        repository.rollupDay(LocalDate.of(2025, 4, 30));
+
+        assertEquals(List.of(YearMonth.of(2025, 4), YearMonth.of(2025, 5)),
+                repository.dropPartitionsBefore(YearMonth.of(2025, 6)));
+
+        assertEquals(List.of(YearMonth.of(2025, 6)), repository.getPartitions());
+        assertEquals(1, repository.findRollups(LocalDate.of(2025, 4, 30), LocalDate.of(2025, 4, 30)).size());
+        assertTrue(repository.findPage(new AuditLogQuery(null, null, null, null, LocalDateTime.of(2025, 6, 1, 0, 0)),
+                null, null, 10).isEmpty());
+    }
+}
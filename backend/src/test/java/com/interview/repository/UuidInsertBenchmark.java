@@ -0,0 +1,85 @@
+package com.interview.repository;
+
+import com.interview.model.UuidV7Generator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput into a BINARY(16) primary key with random (v4) vs time-ordered (v7) UUIDs,
+ * reported per tenth of the run so the slowdown as the table grows is visible. Only runs with
+ * -Pbenchmark; 1M rows by default, -Dbenchmark.rows=10000000 for the 10M run.
+ *
+ * The database is file-backed with a 32 MB page cache, so the index outgrows memory the way
+ * audit_log and event do in production.
+ */
+class UuidInsertBenchmark {
+
+    private static final int BATCH = 1000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void randomVersusTimeOrderedKeys() throws SQLException, IOException {
+        long rows = Long.getLong("benchmark.rows", 1_000_000L);
+        insert("v4", UUID::randomUUID, rows);
+        insert("v7", UuidV7Generator::next, rows);
+    }
+
+    private void insert(String label, Supplier<UUID> ids, long rows) throws SQLException, IOException {
+        Path file = dir.resolve(label);
+        long reportEvery = Math.max(BATCH, rows / 10);
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:file:" + file + ";CACHE_SIZE=32768", "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE id_bench (id BINARY(16) PRIMARY KEY, payload VARCHAR(64))");
+            }
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO id_bench (id, payload) VALUES (?, ?)")) {
+                long start = System.nanoTime();
+                long chunkStart = start;
+                for (long i = 1; i <= rows; i++) {
+                    insert.setBytes(1, toBytes(ids.get()));
+                    insert.setString(2, "row " + i);
+                    insert.addBatch();
+                    if (i % BATCH == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                    if (i % reportEvery == 0) {
+                        long now = System.nanoTime();
+                        System.out.printf("%s: rows %,d-%,d: %,d rows/s%n", label, i - reportEvery + 1, i,
+                                reportEvery * 1_000_000_000L / (now - chunkStart));
+                        chunkStart = now;
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+                long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+                System.out.printf("%s: %,d rows in %,d ms (%,d rows/s)%n", label, rows, elapsedMs,
+                        rows * 1000 / Math.max(1, elapsedMs));
+            }
+        }
+        Path dbFile = dir.resolve(label + ".mv.db");
+        System.out.printf("%s: database file %,d MB%n", label, Files.size(dbFile) / (1024 * 1024));
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
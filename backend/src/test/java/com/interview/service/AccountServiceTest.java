@@ -1,5 +1,6 @@
 package com.interview.service;
 
+import com.interview.exception.PreconditionFailedException;
 import com.interview.model.Account;
 import com.interview.repository.AccountRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -207,6 +208,33 @@ class AccountServiceTest {
         verify(accountRepository, never()).save(any(Account.class));
     }
 
+    @Test
+    void updateAccount_WhenIfMatchVersionIsStale_ShouldThrowPreconditionFailed() {
+        // Arrange
+        testAccount.setVersion(4L);
+        Account updatedDetails = new Account();
+        updatedDetails.setEmail("john.doe@example.com");
+        when(accountRepository.findById(testId)).thenReturn(Optional.of(testAccount));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> accountService.updateAccount(testId, updatedDetails, 3L));
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+
+    @Test
+    void deleteAccount_WhenIfMatchVersionIsCurrent_ShouldSoftDelete() {
+        // Arrange
+        testAccount.setVersion(4L);
+        when(accountRepository.findById(testId)).thenReturn(Optional.of(testAccount));
+
+        // Act
+        accountService.deleteAccount(testId, 4L);
+
+        // Assert
+        assertNotNull(testAccount.getDeletedAt());
+        verify(accountRepository, times(1)).save(testAccount);
+    }
+
     @Test
     void updateAccount_WhenEmailChangedToExistingEmail_ShouldThrowException() {
         // Arrange
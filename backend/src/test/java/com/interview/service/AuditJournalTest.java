@@ -0,0 +1,116 @@
+package com.interview.service;
+
+import com.interview.model.AuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private AuditJournal journal(long exportAfterMs) throws Exception {
+        // 4 KB segments so a few hundred records rotate several times
+        return new AuditJournal(new SimpleMeterRegistry(), dir.resolve("journal"), dir.resolve("export"),
+                4096, 3_600_000, 512, exportAfterMs);
+    }
+
+    private static AuditLog row(int i) {
+        AuditLog auditLog = new AuditLog(UUID.randomUUID(), "UPDATE", "Account updated: #" + i, "admin@example.com");
+        auditLog.setTimestamp(BASE.plusSeconds(i));
+        return auditLog;
+    }
+
+    @Test
+    void submit_ShouldRotateSegmentsAndReadRangesAcrossThem() throws Exception {
+        AuditJournal journal = journal(Long.MAX_VALUE);
+        for (int i = 0; i < 300; i++) {
+            journal.submit(row(i));
+        }
+
+        assertTrue(journal.getSegmentCount() > 3);
+        List<AuditLog> range = journal.read(BASE.plusSeconds(100), BASE.plusSeconds(149), 1000);
+        assertEquals(50, range.size());
+        assertEquals("Account updated: #100", range.get(0).getDetails());
+        assertEquals(BASE.plusSeconds(149), range.get(49).getTimestamp());
+        assertEquals(10, journal.read(null, null, 10).size());
+    }
+
+    @Test
+    void read_WhileAppending_ShouldSeeAnUnbrokenRange() throws Exception {
+        // One 1 MB segment, so the reads race the appends and index entries of the active segment
+        AuditJournal journal = new AuditJournal(new SimpleMeterRegistry(), dir.resolve("journal"), dir.resolve("export"),
+                1 << 20, 3_600_000, 512, Long.MAX_VALUE);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 2000; i++) {
+                journal.submit(row(i));
+            }
+        });
+
+        // A scan may stop before the newest records, but never skips one
+        while (!writer.isDone()) {
+            List<AuditLog> range = journal.read(BASE.plusSeconds(50), null, 5000);
+            for (int i = 0; i < range.size(); i++) {
+                assertEquals("Account updated: #" + (50 + i), range.get(i).getDetails());
+            }
+        }
+        writer.get();
+        assertEquals(1950, journal.read(BASE.plusSeconds(50), null, 5000).size());
+        journal.close();
+    }
+
+    @Test
+    void reopen_ShouldSeeRecordsFromPreviousRun() throws Exception {
+        AuditJournal journal = journal(Long.MAX_VALUE);
+        for (int i = 0; i < 120; i++) {
+            journal.submit(row(i));
+        }
+        journal.close();
+
+        AuditJournal reopened = journal(Long.MAX_VALUE);
+        reopened.submit(row(120));
+
+        assertEquals(121, reopened.read(null, null, 1000).size());
+        reopened.close();
+    }
+
+    @Test
+    void compact_ShouldExportExpiredSegmentsAndDeleteThem() throws Exception {
+        AuditJournal journal = journal(0);
+        for (int i = 0; i < 100; i++) {
+            journal.submit(row(i));
+        }
+        int segments = journal.getSegmentCount();
+
+        journal.compact();
+
+        // Only the active segment is left
+        assertEquals(1, journal.getSegmentCount());
+        long exported = 0;
+        try (Stream<Path> files = Files.list(dir.resolve("export"))) {
+            for (Path file : files.toList()) {
+                try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                    exported += new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().count();
+                }
+            }
+        }
+        assertEquals(100 - journal.read(null, null, 1000).size(), exported);
+        assertTrue(segments > 1);
+    }
+}
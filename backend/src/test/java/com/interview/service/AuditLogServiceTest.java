@@ -0,0 +1,169 @@
+package com.interview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.dto.AuditLogMapper;
+import com.interview.dto.AuditLogQuery;
+import com.interview.dto.AuditRollupResponse;
+import com.interview.dto.CursorPageResponse;
+import com.interview.model.Account;
+import com.interview.model.AuditLog;
+import com.interview.repository.AuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogServiceTest {
+
+    @Mock
+    private AuditSink auditSink;
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    private AuditLogService auditLogService;
+
+    @BeforeEach
+    void setUp() {
+        auditLogService = new AuditLogService(auditSink, auditLogRepository, new AuditLogMapper(), new ObjectMapper());
+    }
+
+    private static List<AuditLog> rows(int count) {
+        List<AuditLog> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            AuditLog row = new AuditLog(UUID.randomUUID(), "UPDATE", "Account updated", "SYSTEM");
+            row.setId(UUID.randomUUID());
+            row.setTimestamp(LocalDateTime.of(2025, 6, 1, 12, 0).minusMinutes(i));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Test
+    void search_ShouldFetchOneExtraAndReturnCursorOfLastRow() {
+        List<AuditLog> rows = rows(3);
+        UUID accountId = UUID.randomUUID();
+        AuditLogQuery query = new AuditLogQuery(accountId, "update", null, null, null);
+        when(auditLogRepository.findPage(query, null, null, 3)).thenReturn(rows);
+
+        CursorPageResponse<AuditLog> page = auditLogService.search(query, null, 2);
+
+        assertEquals("UPDATE", query.getAction());
+        assertEquals(2, page.getData().size());
+        assertTrue(page.isHasMore());
+        Object[] position = AuditLogService.decodeCursor(page.getNextCursor());
+        assertEquals(rows.get(1).getTimestamp(), position[0]);
+        assertEquals(rows.get(1).getId(), position[1]);
+    }
+
+    @Test
+    void search_WithCursor_ShouldSeekPastIt() {
+        LocalDateTime timestamp = LocalDateTime.of(2025, 6, 1, 12, 0, 0, 123_000_000);
+        UUID id = UUID.randomUUID();
+        when(auditLogRepository.findPage(any(), eq(timestamp), eq(id), eq(11))).thenReturn(rows(1));
+
+        CursorPageResponse<AuditLog> page = auditLogService.search(new AuditLogQuery(null, null, null, null, null),
+                AuditLogService.encodeCursor(timestamp, id), 10);
+
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void search_WithForeignCursor_ShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () ->
+                auditLogService.search(new AuditLogQuery(null, null, null, null, null), "not-a-cursor", 10));
+        verify(auditLogRepository, never()).findPage(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void rollups_ShouldCountDaysAfterLastRollupLive() {
+        LocalDate today = LocalDate.now();
+        AuditRollupResponse stored = new AuditRollupResponse(today.minusDays(2), "CREATE", "SYSTEM", 7);
+        when(auditLogRepository.findRollups(today.minusDays(2), today.minusDays(2))).thenReturn(List.of(stored));
+        when(auditLogRepository.findLastRollupDay()).thenReturn(today.minusDays(2));
+        when(auditLogRepository.getPartitions()).thenReturn(List.of(YearMonth.from(today.minusMonths(1))));
+        when(auditLogRepository.aggregateDay(any())).thenAnswer(invocation ->
+                List.of(new AuditRollupResponse(invocation.getArgument(0), "UPDATE", "SYSTEM", 1)));
+
+        List<AuditRollupResponse> rollups = auditLogService.rollups(today.minusDays(2), today.plusDays(3));
+
+        // Yesterday and today are counted live; future days are not queried
+        assertEquals(3, rollups.size());
+        assertSame(stored, rollups.get(0));
+        assertEquals(today.minusDays(1), rollups.get(1).getDate());
+        assertEquals(today, rollups.get(2).getDate());
+        verify(auditLogRepository, times(2)).aggregateDay(any());
+    }
+
+    @Test
+    void rollups_WithoutStoredRollups_ShouldCountLiveOnlyFromOldestPartition() {
+        LocalDate today = LocalDate.now();
+        when(auditLogRepository.findLastRollupDay()).thenReturn(null);
+        when(auditLogRepository.getPartitions()).thenReturn(List.of(YearMonth.from(today)));
+        when(auditLogRepository.aggregateDay(any())).thenReturn(List.of());
+
+        auditLogService.rollups(today.minusDays(365), today);
+
+        verify(auditLogRepository, never()).findRollups(any(), any());
+        verify(auditLogRepository, times(today.getDayOfMonth())).aggregateDay(any());
+        verify(auditLogRepository).aggregateDay(today.withDayOfMonth(1));
+    }
+
+    @Test
+    void rollups_WithOversizedRange_ShouldBeRejected() {
+        LocalDate today = LocalDate.now();
+
+        assertThrows(IllegalArgumentException.class, () ->
+                auditLogService.rollups(today.minusDays(AuditLogService.MAX_ROLLUP_DAYS + 1), today));
+        assertThrows(IllegalArgumentException.class, () -> auditLogService.rollups(today, today.minusDays(1)));
+        verifyNoInteractions(auditLogRepository);
+    }
+
+    @Test
+    void toCsvLine_ShouldQuoteFieldsWithSeparators() {
+        AuditLog row = rows(1).get(0);
+        row.setDetails("Account updated: Doe, \"JD\"");
+
+        String line = AuditLogService.toCsvLine(row);
+
+        assertTrue(line.endsWith(",SYSTEM,\"Account updated: Doe, \"\"JD\"\"\"\n"));
+    }
+
+    @Test
+    void logAccountUpdate_ShouldSubmitCompactDiffAndSkipEmptyOnes() {
+        Account account = new Account("Johnny", "Doe", "john.doe@example.com", "secret");
+        account.setId(UUID.randomUUID());
+        Map<String, Object[]> changes = new LinkedHashMap<>();
+
+        auditLogService.logAccountUpdate(account, changes);
+        verify(auditSink, never()).submit(any());
+
+        changes.put("firstName", new Object[] {"John", "Johnny"});
+        changes.put("password", null);
+        auditLogService.logAccountUpdate(account, changes);
+
+        ArgumentCaptor<AuditLog> row = ArgumentCaptor.forClass(AuditLog.class);
+        verify(auditSink).submit(row.capture());
+        assertEquals("UPDATE", row.getValue().getAction());
+        assertEquals("{\"firstName\":[\"John\",\"Johnny\"],\"password\":\"changed\"}", row.getValue().getDetails());
+    }
+}
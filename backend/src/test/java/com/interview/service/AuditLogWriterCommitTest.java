@@ -0,0 +1,189 @@
+package com.interview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.config.SpringContext;
+import com.interview.dto.AuditLogMapper;
+import com.interview.listener.AccountAuditEventListener;
+import com.interview.model.Account;
+import com.interview.model.Role;
+import com.interview.repository.AuditLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * audit.durability=commit end to end: account rows are audited from Hibernate listeners during the flush
+ * inside commit, so a writer that does not store the row in time must roll the account change back
+ */
+@SpringJUnitConfig(AuditLogWriterCommitTest.Config.class)
+class AuditLogWriterCommitTest {
+
+    private static final long COMMIT_TIMEOUT_MS = 200;
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Config {
+
+        @Bean
+        DataSource dataSource() {
+            return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setManagedTypes(PersistenceManagedTypes.of(Account.class.getName(), Role.class.getName()));
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+            return factory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        AuditLogRepository auditLogRepository() {
+            return mock(AuditLogRepository.class);
+        }
+
+        @Bean
+        AuditLogWriter auditLogWriter(AuditLogRepository auditLogRepository, PlatformTransactionManager transactionManager) {
+            return new AuditLogWriter(auditLogRepository, transactionManager, new SimpleMeterRegistry(),
+                    "commit", 100, 10, 50, 0, COMMIT_TIMEOUT_MS);
+        }
+
+        @Bean
+        AuditLogService auditLogService(AuditLogWriter auditLogWriter, AuditLogRepository auditLogRepository) {
+            return new AuditLogService(auditLogWriter, auditLogRepository, new AuditLogMapper(), new ObjectMapper());
+        }
+
+        @Bean
+        AccountAuditEventListener accountAuditEventListener(EntityManagerFactory entityManagerFactory,
+                                                            AuditLogService auditLogService) {
+            return new AccountAuditEventListener(entityManagerFactory, auditLogService);
+        }
+
+        // AccountAuditListener (creation) looks AuditLogService up through it
+        @Bean
+        SpringContext springContext() {
+            return new SpringContext();
+        }
+
+        @Bean
+        AccountWrites accountWrites() {
+            return new AccountWrites();
+        }
+    }
+
+    /**
+     * The business transactions under test
+     */
+    static class AccountWrites {
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Transactional
+        public UUID create(String firstName, String email) {
+            Account account = new Account(firstName, "Doe", email, "$2a$secret");
+            entityManager.persist(account);
+            return account.getId();
+        }
+
+        @Transactional
+        public void rename(UUID id, String firstName) {
+            entityManager.find(Account.class, id).setFirstName(firstName);
+        }
+
+        @Transactional(readOnly = true)
+        public Account find(UUID id) {
+            return entityManager.find(Account.class, id);
+        }
+
+        @Transactional(readOnly = true)
+        public long countByEmail(String email) {
+            return entityManager.createQuery("select count(a) from Account a where a.email = :email", Long.class)
+                    .setParameter("email", email)
+                    .getSingleResult();
+        }
+    }
+
+    @Autowired
+    private AccountWrites accountWrites;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    private final CountDownLatch writerReleased = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        writerReleased.countDown();
+        reset(auditLogRepository);
+    }
+
+    private void stallWriter() {
+        doAnswer(invocation -> {
+            writerReleased.await();
+            return null;
+        }).when(auditLogRepository).insertAll(anyList());
+    }
+
+    @Test
+    void update_WhenAuditRowIsStored_ShouldCommit() {
+        UUID id = accountWrites.create("John", "john@example.com");
+
+        accountWrites.rename(id, "Johnny");
+
+        assertEquals("Johnny", accountWrites.find(id).getFirstName());
+        // One CREATE and one UPDATE row, each awaited by its own commit
+        verify(auditLogRepository, times(2)).insertAll(anyList());
+    }
+
+    @Test
+    void update_WhenWriterTimesOut_ShouldRollBackAccountChange() {
+        UUID id = accountWrites.create("Jane", "jane@example.com");
+        stallWriter();
+
+        assertThrows(RuntimeException.class, () -> accountWrites.rename(id, "Janet"));
+
+        assertEquals("Jane", accountWrites.find(id).getFirstName());
+    }
+
+    @Test
+    void create_WhenWriterTimesOut_ShouldNotInsertAccount() {
+        stallWriter();
+
+        assertThrows(RuntimeException.class, () -> accountWrites.create("Jim", "jim@example.com"));
+
+        assertEquals(0, accountWrites.countByEmail("jim@example.com"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.interview.service;
+
+import com.interview.model.AuditLog;
+import com.interview.repository.AuditLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // The writer thread is not started; tests drive drainOnce() directly
+    private AuditLogWriter writer(int queueCapacity, int batchSize) {
+        return new AuditLogWriter(auditLogRepository, transactionManager, meterRegistry,
+                "periodic", queueCapacity, batchSize, 200, 0, 1000);
+    }
+
+    private static AuditLog row() {
+        return new AuditLog(UUID.randomUUID(), "UPDATE", "Account updated", "SYSTEM");
+    }
+
+    @Test
+    void drainOnce_ShouldInsertQueuedRowsInBatches() {
+        AuditLogWriter writer = writer(100, 2);
+        for (int i = 0; i < 5; i++) {
+            writer.submit(row());
+        }
+        assertEquals(5, writer.getPendingCount());
+
+        assertEquals(2, writer.drainOnce());
+        assertEquals(2, writer.drainOnce());
+        assertEquals(1, writer.drainOnce());
+        assertEquals(0, writer.drainOnce());
+
+        verify(auditLogRepository, times(3)).insertAll(anyList());
+        assertEquals(5.0, meterRegistry.counter("audit.rows", "result", "written").count());
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ShouldWriteRowDirectly() {
+        AuditLogWriter writer = writer(1, 10);
+        writer.submit(row());
+        AuditLog overflow = row();
+
+        writer.submit(overflow);
+
+        verify(auditLogRepository).insertAll(List.of(overflow));
+        assertEquals(1, writer.getPendingCount());
+        assertEquals(1.0, meterRegistry.counter("audit.rows", "result", "overflow").count());
+    }
+
+    @Test
+    void drainOnce_WhenBatchFails_ShouldRetryRowsSingly() {
+        AuditLogWriter writer = writer(100, 10);
+        AuditLog good = row();
+        AuditLog bad = row();
+        doAnswer(invocation -> {
+            List<AuditLog> rows = invocation.getArgument(0);
+            if (rows.contains(bad)) {
+                throw new RuntimeException("constraint violation");
+            }
+            return null;
+        }).when(auditLogRepository).insertAll(anyList());
+        writer.submit(good);
+        writer.submit(bad);
+
+        writer.drainOnce();
+
+        verify(auditLogRepository).insertAll(List.of(good));
+        assertEquals(1.0, meterRegistry.counter("audit.rows", "result", "written").count());
+        assertEquals(1.0, meterRegistry.counter("audit.rows", "result", "failed").count());
+    }
+}
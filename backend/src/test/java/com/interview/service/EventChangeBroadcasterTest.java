@@ -0,0 +1,94 @@
+package com.interview.service;
+
+import com.interview.dto.EventChangeNotification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventChangeBroadcasterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Senders never run, so nothing is drained and buffers only fill up
+    private EventChangeBroadcaster broadcaster(int bufferSize, int maxSubscribers) {
+        return new EventChangeBroadcaster(meterRegistry, bufferSize, maxSubscribers, 2, 60_000, task -> { });
+    }
+
+    private static EventChangeNotification updated(long changeSeq) {
+        return new EventChangeNotification("UPDATED", UUID.randomUUID(), 2L, changeSeq);
+    }
+
+    @Test
+    void publish_ShouldBufferForEverySubscriber() {
+        EventChangeBroadcaster broadcaster = broadcaster(4, 10);
+        broadcaster.subscribe("alice");
+        broadcaster.subscribe("alice");
+
+        broadcaster.publish(updated(1));
+        broadcaster.heartbeat();
+
+        assertEquals(2, broadcaster.getSubscriberCount());
+        assertTrue(broadcaster.getSubscribers().stream().allMatch(subscriber -> subscriber.buffer.size() == 2));
+    }
+
+    @Test
+    void publish_WhenSubscriberBufferIsFull_ShouldDisconnectOnlyThatSubscriber() {
+        EventChangeBroadcaster broadcaster = broadcaster(2, 10);
+        broadcaster.subscribe("alice");
+        broadcaster.publish(updated(1));
+        broadcaster.publish(updated(2));
+        broadcaster.subscribe("alice");
+
+        broadcaster.publish(updated(3));
+
+        assertEquals(1, broadcaster.getSubscriberCount());
+        assertEquals(1, broadcaster.getSubscribers().iterator().next().buffer.size());
+        assertEquals(1.0, meterRegistry.get("events.stream.disconnects").counter().count());
+    }
+
+    @Test
+    void subscribe_WhenAtMaxSubscribers_ShouldReturnNull() {
+        EventChangeBroadcaster broadcaster = broadcaster(2, 1);
+
+        assertNotNull(broadcaster.subscribe("alice"));
+        assertNull(broadcaster.subscribe("bob"));
+    }
+
+    @Test
+    void subscribe_WhenPrincipalHoldsMaxStreams_ShouldReturnNullUntilOneCloses() {
+        EventChangeBroadcaster broadcaster = broadcaster(2, 10);
+        assertNotNull(broadcaster.subscribe("alice"));
+        assertNotNull(broadcaster.subscribe("alice"));
+
+        assertNull(broadcaster.subscribe("alice"));
+        assertNotNull(broadcaster.subscribe("bob"));
+
+        // A slow-consumer disconnect gives the slot back
+        broadcaster.publish(updated(1));
+        broadcaster.publish(updated(2));
+        broadcaster.publish(updated(3));
+        assertNotNull(broadcaster.subscribe("alice"));
+    }
+
+    @Test
+    void toSseEvent_ShouldNameEventByTypeAndUseChangeSeqAsId() {
+        String frame = render(EventChangeBroadcaster.toSseEvent(updated(42)));
+
+        assertTrue(frame.contains("event:updated\n"));
+        assertTrue(frame.contains("id:42\n"));
+        assertTrue(frame.contains("data:"));
+    }
+
+    private static String render(SseEmitter.SseEventBuilder event) {
+        return event.build().stream()
+                .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                .map(Object::toString)
+                .collect(Collectors.joining());
+    }
+}
@@ -0,0 +1,114 @@
+package com.interview.service;
+
+import com.interview.model.Event;
+import com.interview.repository.EventRepository;
+import com.interview.repository.EventTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventChangeFeedServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventTombstoneRepository tombstoneRepository;
+
+    private EventChangeFeedService feed;
+    // Database clock as returned with each row; deliberately unrelated to this JVM's clock
+    private final LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private final LocalDateTime settled = now.minusMinutes(1);
+
+    @BeforeEach
+    void setUp() {
+        feed = new EventChangeFeedService(eventRepository, tombstoneRepository, 5000);
+    }
+
+    private static Event event(UUID id) {
+        Event event = new Event();
+        event.setId(id);
+        return event;
+    }
+
+    @Test
+    void getChangesSince_ShouldMergeWritesAndDeletesInSequenceOrder() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID gone = UUID.randomUUID();
+        when(eventRepository.findChangesSince(eq(10L), any()))
+                .thenReturn(List.of(new Object[] {a, 11L, settled, now}, new Object[] {b, 14L, settled, now}));
+        when(tombstoneRepository.findChangesSince(eq(10L), any()))
+                .thenReturn(List.<Object[]>of(new Object[] {gone, 12L, settled, now}));
+        // Loaded in another order; the feed keeps change order
+        when(eventRepository.findAllWithDetailsByIdIn(List.of(a, b))).thenReturn(List.of(event(b), event(a)));
+
+        EventChangeFeedService.Changes changes = feed.getChangesSince(10, 10);
+
+        assertEquals(List.of(a, b), changes.getUpserted().stream().map(Event::getId).toList());
+        assertEquals(List.of(gone), changes.getDeleted());
+        assertEquals(14L, changes.getWatermark());
+        assertFalse(changes.isHasMore());
+    }
+
+    @Test
+    void getChangesSince_ShouldStopAtLimitAndReportMore() {
+        List<Object[]> writes = new ArrayList<>();
+        for (long seq = 1; seq <= 4; seq++) {
+            writes.add(new Object[] {UUID.randomUUID(), seq, settled, now});
+        }
+        when(eventRepository.findChangesSince(eq(0L), any())).thenReturn(writes);
+        when(tombstoneRepository.findChangesSince(eq(0L), any())).thenReturn(List.of());
+        when(eventRepository.findAllWithDetailsByIdIn(anyCollection())).thenReturn(List.of());
+
+        EventChangeFeedService.Changes changes = feed.getChangesSince(0, 3);
+
+        assertEquals(3L, changes.getWatermark());
+        assertTrue(changes.isHasMore());
+    }
+
+    @Test
+    void getChangesSince_ShouldHoldBackUnsettledChanges() {
+        UUID old = UUID.randomUUID();
+        when(eventRepository.findChangesSince(anyLong(), any())).thenReturn(List.of(
+                new Object[] {old, 5L, settled, now},
+                new Object[] {UUID.randomUUID(), 6L, now.minusSeconds(1), now},
+                new Object[] {UUID.randomUUID(), 7L, settled, now}));
+        when(tombstoneRepository.findChangesSince(anyLong(), any())).thenReturn(List.of());
+        when(eventRepository.findAllWithDetailsByIdIn(List.of(old))).thenReturn(List.of(event(old)));
+
+        EventChangeFeedService.Changes changes = feed.getChangesSince(4, 10);
+
+        // 7 must wait for 6: the watermark may not pass a change that could still be committing before it
+        assertEquals(5L, changes.getWatermark());
+        assertEquals(1, changes.getUpserted().size());
+        assertFalse(changes.isHasMore());
+    }
+
+    @Test
+    void getChangesSince_WhenNothingChanged_ShouldKeepWatermark() {
+        when(eventRepository.findChangesSince(anyLong(), any())).thenReturn(List.of());
+        when(tombstoneRepository.findChangesSince(anyLong(), any())).thenReturn(List.of());
+
+        EventChangeFeedService.Changes changes = feed.getChangesSince(99, 10);
+
+        assertEquals(99L, changes.getWatermark());
+        assertTrue(changes.getUpserted().isEmpty());
+        verify(eventRepository, never()).findAllWithDetailsByIdIn(anyCollection());
+    }
+}
@@ -0,0 +1,111 @@
+package com.interview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.dto.EventChangeNotification;
+import com.interview.model.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventChangeRelayTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private EventChangeBroadcaster broadcaster;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private EventChangeRelay relay;
+    private final UUID id = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        relay = new EventChangeRelay(redisTemplate, objectMapper, broadcaster, "events:changes");
+    }
+
+    private Event event() {
+        Event event = new Event();
+        event.setId(id);
+        event.setVersion(3L);
+        event.setChangeSeq(1042L);
+        return event;
+    }
+
+    @Test
+    void onEventChanged_ShouldPublishToChannelAndLeaveLocalDeliveryToSubscription() throws Exception {
+        relay.onEventChanged(new EventChangedEvent(EventChangedEvent.Type.UPDATED, id, event()));
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("events:changes"), json.capture());
+        EventChangeNotification sent = objectMapper.readValue(json.getValue(), EventChangeNotification.class);
+        assertEquals("UPDATED", sent.getType());
+        assertEquals(id, sent.getEventId());
+        assertEquals(1042L, sent.getChangeSeq());
+        verify(broadcaster, never()).publish(any());
+    }
+
+    @Test
+    void onEventChanged_WhenRedisIsDown_ShouldNotifyLocalSubscribers() {
+        when(redisTemplate.convertAndSend(anyString(), anyString()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        relay.onEventChanged(new EventChangedEvent(EventChangedEvent.Type.DELETED, id, null, 1043L));
+
+        ArgumentCaptor<EventChangeNotification> local = ArgumentCaptor.forClass(EventChangeNotification.class);
+        verify(broadcaster).publish(local.capture());
+        assertEquals("DELETED", local.getValue().getType());
+        assertNull(local.getValue().getVersion());
+        assertEquals(1043L, local.getValue().getChangeSeq());
+    }
+
+    @Test
+    void onEventsImported_ShouldSendOneSummaryInsteadOfPerRowChanges() throws Exception {
+        relay.onEventChanged(EventChangedEvent.imported(event()));
+        relay.onEventsImported(new EventsImportedEvent(50_000, 51_042L));
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(1)).convertAndSend(eq("events:changes"), json.capture());
+        EventChangeNotification sent = objectMapper.readValue(json.getValue(), EventChangeNotification.class);
+        assertEquals("IMPORTED", sent.getType());
+        assertNull(sent.getEventId());
+        assertEquals(51_042L, sent.getChangeSeq());
+        assertEquals(50_000, sent.getCount());
+    }
+
+    @Test
+    void onMessage_ShouldHandChangeToBroadcaster() throws Exception {
+        String json = objectMapper.writeValueAsString(new EventChangeNotification("CREATED", id, 0L, 7L));
+
+        relay.onMessage(new DefaultMessage("events:changes".getBytes(StandardCharsets.UTF_8),
+                json.getBytes(StandardCharsets.UTF_8)), null);
+
+        ArgumentCaptor<EventChangeNotification> received = ArgumentCaptor.forClass(EventChangeNotification.class);
+        verify(broadcaster).publish(received.capture());
+        assertEquals(id, received.getValue().getEventId());
+        assertEquals(7L, received.getValue().getChangeSeq());
+    }
+
+    @Test
+    void onMessage_WhenBodyIsMalformed_ShouldIgnoreIt() {
+        relay.onMessage(new DefaultMessage(new byte[0], "not json".getBytes(StandardCharsets.UTF_8)), null);
+
+        verify(broadcaster, never()).publish(any());
+    }
+}
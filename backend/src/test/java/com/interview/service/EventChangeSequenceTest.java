@@ -0,0 +1,66 @@
+package com.interview.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventChangeSequenceTest {
+
+    private EventChangeSequence sequence;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:seq-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        sequence = new EventChangeSequence(new JdbcTemplate(dataSource));
+        sequence.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(0));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void next_ShouldIncreaseWithoutReservation() {
+        long first = sequence.next();
+        assertTrue(sequence.next() > first);
+    }
+
+    @Test
+    void reserve_ShouldHandOutBlockInOrderThenFallBackToSequence() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        sequence.reserve(3);
+        long a = sequence.next();
+        long b = sequence.next();
+        long c = sequence.next();
+        long afterBlock = sequence.next();
+
+        assertTrue(a < b && b < c && c < afterBlock);
+        assertEquals(2, c - a);
+    }
+
+    @Test
+    void reserve_WhenTransactionEnds_ShouldDropUnusedNumbers() {
+        TransactionSynchronizationManager.initSynchronization();
+        sequence.reserve(5);
+        long reserved = sequence.next();
+
+        tearDown();
+
+        assertFalse(TransactionSynchronizationManager.hasResource(sequence));
+        assertTrue(sequence.next() > reserved + 4);
+    }
+}
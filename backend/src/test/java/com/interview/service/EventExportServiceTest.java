@@ -0,0 +1,85 @@
+package com.interview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.interview.dto.EventMapper;
+import com.interview.model.Event;
+import com.interview.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventExportServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private static Event event(String name) {
+        Event event = new Event();
+        event.setId(UUID.randomUUID());
+        event.setName(name);
+        event.setEventDate(LocalDateTime.of(2025, 11, 1, 19, 30));
+        event.setLocation("Los Angeles");
+        return event;
+    }
+
+    @Test
+    void exportAll_ShouldWriteOneLinePerEventLoadingEachChunkOnce() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        Event a = event("A");
+        Event b = event("B");
+        Event c = event("C");
+        when(eventRepository.streamAllIdsForExport()).thenReturn(
+                Stream.of(a.getId(), b.getId(), c.getId()).onClose(() -> closed.set(true)));
+        // Loaded in another order; the export keeps ID order
+        when(eventRepository.findAllWithDetailsByIdIn(List.of(a.getId(), b.getId()))).thenReturn(List.of(b, a));
+        when(eventRepository.findAllWithDetailsByIdIn(List.of(c.getId()))).thenReturn(List.of(c));
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        EventExportService exportService = new EventExportService(
+                eventRepository, new EventMapper(), objectMapper, entityManager, 2, 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportAll(out, false);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, count);
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].contains("\"name\":\"B\""));
+        assertFalse(lines[0].contains("createdAt"));
+        verify(eventRepository, times(2)).findAllWithDetailsByIdIn(anyCollection());
+        verify(entityManager, times(2)).clear();
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void tryStartExport_WhenAllSlotsAreTaken_ShouldRefuseUntilOneFinishes() {
+        EventExportService exportService = new EventExportService(
+                eventRepository, new EventMapper(), new ObjectMapper(), entityManager, 2, 1);
+
+        assertTrue(exportService.tryStartExport());
+        assertFalse(exportService.tryStartExport());
+
+        exportService.finishExport();
+        assertTrue(exportService.tryStartExport());
+    }
+}
@@ -0,0 +1,145 @@
+package com.interview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.interview.dto.EventMapper;
+import com.interview.dto.ImportReport;
+import com.interview.model.Event;
+import com.interview.model.Venue;
+import com.interview.repository.PerformerRepository;
+import com.interview.repository.VenueRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventImportServiceTest {
+
+    @Mock
+    private VenueRepository venueRepository;
+
+    @Mock
+    private PerformerRepository performerRepository;
+
+    @Mock
+    private EventSearchService searchService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EventChangeSequence changeSequence;
+
+    private EventImportService importService;
+
+    private final String future = LocalDateTime.now().plusDays(30).withNano(0).toString();
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        // 2 rows per chunk
+        importService = new EventImportService(venueRepository, performerRepository, new EventMapper(), searchService,
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapper, entityManager,
+                transactionManager, cacheManager, eventPublisher, changeSequence, 2);
+    }
+
+    private void persistAssignsIds() {
+        doAnswer(invocation -> {
+            invocation.<Event>getArgument(0).setId(UUID.randomUUID());
+            return null;
+        }).when(entityManager).persist(any(Event.class));
+        when(cacheManager.getCache("events")).thenReturn(cache);
+    }
+
+    private static ByteArrayInputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void importNdjson_ShouldInsertValidRowsInChunksAndReportInvalidOnes() throws Exception {
+        persistAssignsIds();
+        String ndjson = String.join("\n",
+                "{\"name\":\"A\",\"eventDate\":\"" + future + "\",\"location\":\"Austin\"}",
+                "{\"name\":\"\",\"eventDate\":\"" + future + "\",\"location\":\"Austin\"}",
+                "not json",
+                "{\"name\":\"B\",\"eventDate\":\"" + future + "\",\"location\":\"Denver\"}",
+                "{\"name\":\"C\",\"eventDate\":\"" + future + "\",\"location\":\"Boston\"}");
+
+        ImportReport report = importService.importNdjson(body(ndjson));
+
+        assertEquals(5, report.getReceived());
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(List.of(2L, 3L), report.getErrors().stream().map(ImportReport.RowError::getLine).toList());
+        verify(entityManager, times(3)).persist(any(Event.class));
+        // 3 chunks, each flushed and cleared once
+        verify(entityManager, times(3)).flush();
+        verify(cache, times(1)).clear();
+        verify(searchService, times(1)).indexEventsById(anyList());
+        // In-process listeners see each row; the live stream gets one summary
+        verify(eventPublisher, times(3)).publishEvent(argThat((Object published) ->
+                published instanceof EventChangedEvent change && change.isImported()));
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object published) ->
+                published instanceof EventsImportedEvent imported && imported.getCount() == 3));
+    }
+
+    @Test
+    void importCsv_ShouldResolveVenuesOnceAndRejectUnknownIds() throws Exception {
+        persistAssignsIds();
+        Venue venue = new Venue();
+        venue.setId(UUID.randomUUID());
+        UUID unknownVenue = UUID.randomUUID();
+        when(venueRepository.findAllById(any())).thenReturn(List.of(venue));
+        String csv = String.join("\n",
+                "name,eventDate,location,venueId",
+                "\"Jazz, Live\"," + future + ",Chicago," + venue.getId(),
+                "Opera," + future + ",Chicago," + venue.getId(),
+                "Ballet," + future + ",Chicago," + unknownVenue,
+                "Recital," + future + ",Chicago," + venue.getId());
+
+        ImportReport report = importService.importCsv(body(csv));
+
+        assertEquals(3, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(4L, report.getErrors().get(0).getLine());
+        assertTrue(report.getErrors().get(0).getMessage().contains(unknownVenue.toString()));
+        // The venue is looked up in the first chunk and reused by the second
+        verify(venueRepository, times(2)).findAllById(any());
+    }
+
+    @Test
+    void parseCsvLine_ShouldHonourQuotes() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), EventImportService.parseCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","));
+    }
+}
@@ -0,0 +1,100 @@
+package com.interview.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.interview.model.EventDocument;
+import com.interview.support.StubOpenSearchServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.opensearch.client.RestHighLevelClient;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the typed search path (parse each hit into EventDocument, serialize the list again)
+ * with the raw passthrough path at size=100. Only runs with -Pbenchmark.
+ *
+ * Latency covers the full client round trip against a local stub server; allocation is summed over
+ * all live threads, since responses are parsed on the client's I/O threads.
+ */
+class EventSearchSerializationBenchmark {
+
+    private static final int SIZE = 100;
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 2000;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void compareTypedAndRawSearchAtSize100() throws Exception {
+        List<String> sources = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            sources.add("{\"id\":\"" + java.util.UUID.randomUUID() + "\",\"name\":\"Event " + i + "\","
+                    + "\"description\":\"Benchmark event number " + i + " with a reasonably long description\","
+                    + "\"eventDate\":\"2025-12-01T19:30:00\",\"location\":\"Los Angeles, CA\"}");
+        }
+        String body = StubOpenSearchServer.searchResponse(sources);
+
+        ObjectMapper mvcMapper = new ObjectMapper();
+        mvcMapper.registerModule(new JavaTimeModule());
+        mvcMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        try (StubOpenSearchServer stub = new StubOpenSearchServer(path -> body);
+             RestHighLevelClient client = stub.newClient()) {
+            EventSearchService service = new EventSearchService(new OpenSearchBackend(client), null, new SearchResultCache(new SimpleMeterRegistry(), 0, 0), new RecentWritesBuffer(256, 0));
+
+            Runnable typed = () -> {
+                try {
+                    List<EventDocument> docs = service.search("event", null, 1, SIZE).get();
+                    mvcMapper.writeValue(new ByteArrayOutputStream(), docs);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            };
+            Runnable raw = () -> {
+                try {
+                    service.searchRaw("event", null, 1, SIZE).get().writeTo(new ByteArrayOutputStream());
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            };
+
+            run(typed, WARMUP);
+            run(raw, WARMUP);
+            report("typed", typed);
+            report("raw", raw);
+        }
+    }
+
+    private void report(String name, Runnable task) {
+        long[] ids = threads.getAllThreadIds();
+        long bytesBefore = sum(threads.getThreadAllocatedBytes(ids));
+        long start = System.nanoTime();
+        run(task, ITERATIONS);
+        long elapsed = System.nanoTime() - start;
+        long allocated = sum(threads.getThreadAllocatedBytes(ids)) - bytesBefore;
+        System.out.printf("%-6s avg latency: %8.1f us, allocated: %8d bytes/request%n",
+                name, elapsed / 1000.0 / ITERATIONS, allocated / ITERATIONS);
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            if (value > 0) {
+                total += value;
+            }
+        }
+        return total;
+    }
+
+    private static void run(Runnable task, int times) {
+        for (int i = 0; i < times; i++) {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.interview.service;
+
+import com.interview.dto.BatchSearchResult;
+import com.interview.dto.FacetedSearchResponse;
+import com.interview.dto.SearchQuerySpec;
+import com.interview.exception.BulkIndexException;
+import com.interview.model.Event;
+import com.interview.model.EventDocument;
+import com.interview.support.StubOpenSearchServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opensearch.client.RestHighLevelClient;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSearchServiceTest {
+
+    private static final String TAYLOR = "{\"id\":\"5c2f3f8e-1111-4a55-9a3a-000000000001\",\"name\":\"Taylor Swift - The Eras Tour\","
+            + "\"description\":\"Live\",\"eventDate\":\"2025-12-05T19:30:00\",\"location\":\"SoFi Stadium, Los Angeles, CA\"}";
+    private static final String LAKERS = "{\"id\":\"5c2f3f8e-1111-4a55-9a3a-000000000002\",\"name\":\"NBA: Lakers vs Warriors\","
+            + "\"description\":\"Showdown\",\"eventDate\":\"2025-11-22T19:30:00\",\"location\":\"Crypto.com Arena, Los Angeles, CA\"}";
+    private static final String INDEXED = "{\"_index\":\"events\",\"_id\":\"1\",\"_version\":1,\"result\":\"created\","
+            + "\"_shards\":{\"total\":1,\"successful\":1,\"failed\":0},\"_seq_no\":0,\"_primary_term\":1}";
+
+    private static final String AGGREGATIONS = "{"
+            + "\"sterms#city\":{\"doc_count_error_upper_bound\":0,\"sum_other_doc_count\":0,"
+            + "\"buckets\":[{\"key\":\"Los Angeles\",\"doc_count\":2}]},"
+            + "\"sterms#genre\":{\"doc_count_error_upper_bound\":0,\"sum_other_doc_count\":0,"
+            + "\"buckets\":[{\"key\":\"Pop\",\"doc_count\":1}]},"
+            + "\"date_histogram#month\":{\"buckets\":["
+            + "{\"key_as_string\":\"2025-11\",\"key\":1761955200000,\"doc_count\":1},"
+            + "{\"key_as_string\":\"2025-12\",\"key\":1764547200000,\"doc_count\":1}]}}";
+
+    private StubOpenSearchServer stub;
+    private RestHighLevelClient client;
+    private SearchResultCache resultCache;
+    private EventSearchService searchService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubOpenSearchServer(path -> path.endsWith("/_search")
+                ? StubOpenSearchServer.searchResponse(List.of(TAYLOR, LAKERS), AGGREGATIONS)
+                : INDEXED);
+        client = stub.newClient();
+        resultCache = new SearchResultCache(new SimpleMeterRegistry(), 60000, 100);
+        searchService = new EventSearchService(new OpenSearchBackend(client), null, resultCache, new RecentWritesBuffer(256, 60000));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.close();
+        stub.close();
+    }
+
+    @Test
+    void search_ShouldCompleteWithParsedDocuments() throws Exception {
+        // Act
+        List<EventDocument> results = searchService.search("taylor", "Los Angeles", 1, 20).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(2, results.size());
+        assertEquals("Taylor Swift - The Eras Tour", results.get(0).getName());
+        assertEquals(LocalDateTime.of(2025, 11, 22, 19, 30), results.get(1).getEventDate());
+        assertTrue(stub.getRequestBodies().get(0).contains("\"from\":0"));
+    }
+
+    @Test
+    void search_WithEquivalentQuery_ShouldBeServedFromCacheUntilIndexWrite() throws Exception {
+        // Act
+        searchService.search("Taylor  Swift", "los angeles", 1, 20).get(5, TimeUnit.SECONDS);
+        searchService.search(" swift taylor", "Los Angeles ", 1, 20).get(5, TimeUnit.SECONDS);
+        int afterRepeat = stub.getRequestBodies().size();
+        resultCache.bumpGeneration();
+        searchService.search("taylor swift", "los angeles", 1, 20).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(1, afterRepeat);
+        assertEquals(2, stub.getRequestBodies().size());
+    }
+
+    @Test
+    void searchWithFacets_ShouldReturnHitsAndFacetCountsFromOneRequest() throws Exception {
+        // Act
+        FacetedSearchResponse response = searchService.searchWithFacets("taylor", null, 1, 20).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(1, stub.getRequestBodies().size());
+        assertTrue(stub.getRequestBodies().get(0).contains("date_histogram"));
+        assertEquals(2, response.getResults().size());
+        assertEquals("Los Angeles", response.getFacets().get("city").get(0).getKey());
+        assertEquals(2, response.getFacets().get("city").get(0).getCount());
+        assertEquals("Pop", response.getFacets().get("genre").get(0).getKey());
+        assertEquals(2, response.getFacets().get("month").size());
+    }
+
+    @Test
+    void searchWithFacets_WithoutKeyword_ShouldCacheFacetsSeparately() throws Exception {
+        // Act
+        searchService.searchWithFacets(null, "Los Angeles", 1, 20).get(5, TimeUnit.SECONDS);
+        searchService.searchWithFacets(null, "los angeles", 2, 20).get(5, TimeUnit.SECONDS);
+
+        // Assert: one aggregation request plus one hits request per page
+        assertEquals(3, stub.getRequestBodies().size());
+    }
+
+    @Test
+    void searchRaw_ShouldWriteSourcesAsJsonArray() throws Exception {
+        // Act
+        SearchBackend.RawHits hits = searchService.searchRaw(null, null, 2, 10).get(5, TimeUnit.SECONDS);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        hits.writeTo(out);
+
+        // Assert
+        assertEquals("[" + TAYLOR + "," + LAKERS + "]", out.toString(StandardCharsets.UTF_8));
+        String request = stub.getRequestBodies().get(0);
+        assertTrue(request.contains("\"_source\""));
+        assertTrue(request.contains("\"from\":10"));
+    }
+
+    @Test
+    void indexEvent_ShouldCompleteAsynchronously() throws Exception {
+        // Arrange
+        Event event = new Event("Test Event", "Test Description", LocalDateTime.now().plusDays(7), "Test Location");
+        event.setId(UUID.randomUUID());
+
+        // Act
+        searchService.indexEvent(event).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(1, stub.getRequestBodies().size());
+        assertTrue(stub.getRequestBodies().get(0).contains("Test Event"));
+    }
+
+    @Test
+    void search_ShouldIncludeOwnWritesBeforeTheIndexShowsThem() throws Exception {
+        // Arrange: the stub index never returns the new event
+        Event event = new Event("Test Event", "Test Description", LocalDateTime.now().plusDays(7), "Test Location");
+        event.setId(UUID.randomUUID());
+        searchService.indexEvent(event).get(5, TimeUnit.SECONDS);
+        searchService.deleteEvent(UUID.fromString("5c2f3f8e-1111-4a55-9a3a-000000000001")).get(5, TimeUnit.SECONDS);
+
+        // Act
+        List<EventDocument> results = searchService.search(null, null, 1, 20).get(5, TimeUnit.SECONDS);
+
+        // Assert: written event merged in eventDate order, deleted one filtered out
+        assertEquals(List.of("5c2f3f8e-1111-4a55-9a3a-000000000002", event.getId().toString()),
+                results.stream().map(EventDocument::getId).toList());
+    }
+
+    @Test
+    void searchBatch_ShouldSendOneMultiSearchAndIsolateFailures() throws Exception {
+        try (StubOpenSearchServer msearchStub = new StubOpenSearchServer(path -> StubOpenSearchServer.multiSearchResponse(List.of(
+                StubOpenSearchServer.searchResponse(List.of(TAYLOR)),
+                StubOpenSearchServer.errorItem("bad query"))));
+             RestHighLevelClient msearchClient = msearchStub.newClient()) {
+            EventSearchService service = new EventSearchService(new OpenSearchBackend(msearchClient), null,
+                    resultCache, new RecentWritesBuffer(256, 60000));
+
+            // Act
+            List<BatchSearchResult> results = service.searchBatch(List.of(
+                    new SearchQuerySpec("taylor", null, 1, 20),
+                    new SearchQuerySpec("lakers", "los angeles", 1, 20))).get(5, TimeUnit.SECONDS);
+
+            // Assert: one round trip, the failure stays on its own query
+            assertEquals(1, msearchStub.getRequestBodies().size());
+            assertEquals(1, results.get(0).getResults().size());
+            assertNull(results.get(0).getError());
+            assertNull(results.get(1).getResults());
+            assertTrue(results.get(1).getError().contains("bad query"));
+
+            // The successful query is now cached
+            service.searchBatch(List.of(new SearchQuerySpec("Taylor", null, 1, 20))).get(5, TimeUnit.SECONDS);
+            assertEquals(1, msearchStub.getRequestBodies().size());
+        }
+    }
+
+    @Test
+    void bulkIndex_WithItemFailures_ShouldFailWithIndexedCountAndInvalidateCache() throws Exception {
+        String bulkResponse = "{\"took\":3,\"errors\":true,\"items\":["
+                + "{\"index\":{\"_index\":\"events\",\"_id\":\"a\",\"_version\":1,\"result\":\"created\","
+                + "\"_shards\":{\"total\":1,\"successful\":1,\"failed\":0},\"_seq_no\":0,\"_primary_term\":1,\"status\":201}},"
+                + "{\"index\":{\"_index\":\"events\",\"_id\":\"b\",\"status\":400,"
+                + "\"error\":{\"type\":\"mapper_parsing_exception\",\"reason\":\"failed to parse\"}}}]}";
+        try (StubOpenSearchServer bulkStub = new StubOpenSearchServer(path -> bulkResponse);
+             RestHighLevelClient bulkClient = bulkStub.newClient()) {
+            EventSearchService service = new EventSearchService(new OpenSearchBackend(bulkClient), null,
+                    resultCache, new RecentWritesBuffer(256, 60000));
+            Event first = new Event("First", "Live", LocalDateTime.now().plusDays(7), "Arena");
+            first.setId(UUID.randomUUID());
+            Event second = new Event("Second", "Live", LocalDateTime.now().plusDays(8), "Arena");
+            second.setId(UUID.randomUUID());
+            long generation = resultCache.getGeneration();
+
+            // Act
+            ExecutionException error = assertThrows(ExecutionException.class,
+                    () -> service.bulkIndex(List.of(first, second)).get(5, TimeUnit.SECONDS));
+
+            // Assert: the success count is reported, and the document that was written invalidates the cache
+            BulkIndexException failure = assertInstanceOf(BulkIndexException.class, error.getCause());
+            assertEquals(1, failure.getIndexed());
+            assertEquals(1, failure.getFailed());
+            assertTrue(failure.getMessage().contains("failed to parse"));
+            assertEquals(generation + 1, resultCache.getGeneration());
+        }
+    }
+}
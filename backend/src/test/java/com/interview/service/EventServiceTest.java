@@ -1,22 +1,35 @@
 package com.interview.service;
 
+import com.interview.exception.PreconditionFailedException;
 import com.interview.model.Event;
+import com.interview.model.EventTombstone;
+import com.interview.model.Performer;
 import com.interview.repository.EventRepository;
+import com.interview.repository.EventTombstoneRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +38,15 @@ class EventServiceTest {
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EventTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private EventChangeSequence changeSequence;
+
     @InjectMocks
     private EventService eventService;
 
@@ -119,11 +141,131 @@ class EventServiceTest {
         verify(eventRepository, never()).save(any(Event.class));
     }
 
+    @Test
+    void updateEvent_WithIfMatch_ShouldUpdateConditionallyWithoutReadingFirst() {
+        // Arrange
+        Event updatedDetails = new Event("Updated Name", "Updated Description", LocalDateTime.now().plusDays(14), "Updated Location");
+        when(eventRepository.updateIfVersionMatches(eq(testId), eq(2L), eq("Updated Name"), eq("Updated Description"),
+                any(), eq("Updated Location"), isNull(), any(), eq(42L))).thenReturn(1);
+        when(changeSequence.next()).thenReturn(42L);
+        when(eventRepository.findById(testId)).thenReturn(Optional.of(testEvent));
+
+        // Act
+        Event result = eventService.updateEvent(testId, updatedDetails, 2L);
+
+        // Assert
+        assertSame(testEvent, result);
+        InOrder order = inOrder(eventRepository);
+        order.verify(eventRepository).updateIfVersionMatches(eq(testId), eq(2L), any(), any(), any(), any(), any(), any(), anyLong());
+        order.verify(eventRepository).findById(testId);
+    }
+
+    @Test
+    void updateEvent_WithIfMatchAndNewPerformers_ShouldAdvanceVersionOnce() {
+        // Arrange: the conditional UPDATE moved the row from version 2 to 3
+        Performer kept = performer();
+        Performer added = performer();
+        testEvent.setVersion(3L);
+        testEvent.getPerformers().add(kept);
+        Set<Performer> managed = testEvent.getPerformers();
+        Event updatedDetails = new Event("Updated Name", "Updated Description", LocalDateTime.now().plusDays(14), "Updated Location");
+        updatedDetails.setPerformers(new HashSet<>(List.of(kept, added)));
+        when(eventRepository.updateIfVersionMatches(eq(testId), eq(2L), any(), any(), any(), any(), any(), any(), anyLong()))
+                .thenReturn(1);
+        when(eventRepository.findById(testId)).thenReturn(Optional.of(testEvent));
+
+        // Act
+        Event result = eventService.updateEvent(testId, updatedDetails, 2L);
+
+        // Assert: the ETag is the version, so expectedVersion + 1; links changed on the managed collection
+        // and no save that could flush a second versioned UPDATE
+        assertEquals(3L, result.getVersion());
+        assertSame(managed, result.getPerformers());
+        assertEquals(Set.of(kept.getId(), added.getId()),
+                result.getPerformers().stream().map(Performer::getId).collect(Collectors.toSet()));
+        verify(eventRepository, never()).save(any(Event.class));
+        verify(changeSequence, times(1)).next();
+    }
+
+    @Test
+    void updateEvent_WithSamePerformers_ShouldNotTouchLinks() {
+        // Arrange
+        Performer kept = performer();
+        testEvent.getPerformers().add(kept);
+        Set<Performer> managed = testEvent.getPerformers();
+        Performer sameRow = new Performer();
+        sameRow.setId(kept.getId());
+        Event updatedDetails = new Event("Updated Name", "Updated Description", LocalDateTime.now().plusDays(14), "Updated Location");
+        updatedDetails.setPerformers(new HashSet<>(List.of(sameRow)));
+        when(eventRepository.findById(testId)).thenReturn(Optional.of(testEvent));
+        when(eventRepository.save(testEvent)).thenReturn(testEvent);
+
+        // Act
+        eventService.updateEvent(testId, updatedDetails);
+
+        // Assert
+        assertSame(managed, testEvent.getPerformers());
+        assertTrue(testEvent.getPerformers().contains(kept));
+    }
+
+    private static Performer performer() {
+        Performer performer = new Performer();
+        performer.setId(UUID.randomUUID());
+        return performer;
+    }
+
+    @Test
+    void updateEvent_WithStaleIfMatch_ShouldThrowPreconditionFailed() {
+        // Arrange
+        when(eventRepository.updateIfVersionMatches(eq(testId), eq(1L), any(), any(), any(), any(), any(), any(), anyLong())).thenReturn(0);
+        when(eventRepository.existsById(testId)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> eventService.updateEvent(testId, testEvent, 1L));
+        verify(eventRepository, never()).save(any(Event.class));
+    }
+
+    @Test
+    void deleteEvent_WithStaleIfMatch_ShouldNotDelete() {
+        // Arrange
+        testEvent.setVersion(5L);
+        when(eventRepository.findById(testId)).thenReturn(Optional.of(testEvent));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> eventService.deleteEvent(testId, 4L));
+        verify(eventRepository, never()).delete(any(Event.class));
+    }
+
+    @Test
+    void getPageVersionHash_ShouldChangeWhenAnEventOnThePageChanges() {
+        // Arrange
+        UUID other = UUID.randomUUID();
+        when(eventRepository.findFirstPageVersions(any()))
+                .thenReturn(List.<Object[]>of(new Object[] {testId, 1L}, new Object[] {other, 4L}))
+                .thenReturn(List.<Object[]>of(new Object[] {testId, 1L}, new Object[] {other, 4L}))
+                .thenReturn(List.<Object[]>of(new Object[] {testId, 2L}, new Object[] {other, 4L}));
+
+        // Act
+        long first = eventService.getPageVersionHash(null, 10);
+        long unchanged = eventService.getPageVersionHash(null, 10);
+        long updated = eventService.getPageVersionHash(null, 10);
+
+        // Assert
+        assertEquals(first, unchanged);
+        assertNotEquals(first, updated);
+        verify(eventRepository, never()).findFirstPage(any());
+    }
+
     @Test
     void deleteEvent_WhenEventExists_ShouldDeleteEvent() {
         // Arrange
         when(eventRepository.findById(testId)).thenReturn(Optional.of(testEvent));
         doNothing().when(eventRepository).delete(testEvent);
+        when(tombstoneRepository.save(any())).thenAnswer(invocation -> {
+            EventTombstone tombstone = invocation.getArgument(0);
+            tombstone.setChangeSeq(77L);
+            return tombstone;
+        });
 
         // Act
         eventService.deleteEvent(testId);
@@ -131,6 +273,10 @@ class EventServiceTest {
         // Assert
         verify(eventRepository, times(1)).findById(testId);
         verify(eventRepository, times(1)).delete(testEvent);
+        verify(tombstoneRepository, times(1)).save(argThat(tombstone -> tombstone.getEventId().equals(testId)));
+        // Stream subscribers get the tombstone's sequence number, comparable with the change feed
+        verify(eventPublisher).publishEvent(argThat((Object published) -> published instanceof EventChangedEvent change
+                && change.getType() == EventChangedEvent.Type.DELETED && Long.valueOf(77L).equals(change.getChangeSeq())));
     }
 
     @Test
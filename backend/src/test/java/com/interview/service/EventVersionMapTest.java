@@ -0,0 +1,74 @@
+package com.interview.service;
+
+import com.interview.model.Event;
+import com.interview.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventVersionMapTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private final UUID id = UUID.randomUUID();
+    private final LocalDateTime updatedAt = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Test
+    void get_ShouldLoadStampOnceWithinTtl() {
+        EventVersionMap map = new EventVersionMap(eventRepository, 60_000, 100);
+        when(eventRepository.findStampById(id)).thenReturn(List.<Object[]>of(new Object[] {3L, updatedAt}));
+
+        EventVersionMap.Stamp first = map.get(id);
+        EventVersionMap.Stamp second = map.get(id);
+
+        assertEquals(3L, first.version());
+        assertEquals(EventVersionMap.toEpochMillis(updatedAt), first.lastModified());
+        assertSame(first, second);
+        verify(eventRepository, times(1)).findStampById(id);
+    }
+
+    @Test
+    void get_WhenEventDoesNotExist_ShouldReturnNull() {
+        EventVersionMap map = new EventVersionMap(eventRepository, 60_000, 100);
+        when(eventRepository.findStampById(id)).thenReturn(List.of());
+
+        assertNull(map.get(id));
+    }
+
+    @Test
+    void onEventChanged_ShouldUpdateAndRemoveWithoutQuerying() {
+        EventVersionMap map = new EventVersionMap(eventRepository, 60_000, 100);
+        Event event = new Event();
+        event.setId(id);
+        event.setVersion(7L);
+        event.setUpdatedAt(updatedAt);
+
+        map.onEventChanged(new EventChangedEvent(EventChangedEvent.Type.UPDATED, id, event));
+        assertEquals(7L, map.get(id).version());
+        verify(eventRepository, never()).findStampById(id);
+
+        map.onEventChanged(new EventChangedEvent(EventChangedEvent.Type.DELETED, id, null));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void get_WhenEntryIsOlderThanTtl_ShouldReload() {
+        EventVersionMap map = new EventVersionMap(eventRepository, 0, 100);
+        when(eventRepository.findStampById(id))
+                .thenReturn(List.<Object[]>of(new Object[] {1L, updatedAt}))
+                .thenReturn(List.<Object[]>of(new Object[] {2L, updatedAt.plusMinutes(1)}));
+
+        assertEquals(1L, map.get(id).version());
+        assertEquals(2L, map.get(id).version());
+    }
+}
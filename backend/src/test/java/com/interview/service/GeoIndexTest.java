@@ -0,0 +1,65 @@
+package com.interview.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoIndexTest {
+
+    private static GeoIndex.Entry entry(String id, int day, String venue, double lat, double lon) {
+        return new GeoIndex.Entry(id, "Event " + id, LocalDateTime.of(2025, 11, day, 19, 30), venue,
+                venue, venue, lat, lon);
+    }
+
+    private final GeoIndex index = GeoIndex.build(List.of(
+            entry("sofi-late", 20, "SoFi Stadium", 33.9566, -118.3446),
+            entry("sofi-early", 5, "SoFi Stadium", 33.9566, -118.3446),
+            entry("crypto", 10, "Crypto.com Arena", 34.0430, -118.2673),
+            entry("chase", 1, "Chase Center", 37.7707, -122.3873),
+            entry("msg", 2, "Madison Square Garden", 40.7506, -73.9972)
+    ));
+
+    private static List<String> ids(List<GeoIndex.Match> matches) {
+        return matches.stream().map(match -> match.getEntry().getEventId()).toList();
+    }
+
+    @Test
+    void query_ShouldReturnEventsWithinRadiusByDistanceThenDate() {
+        // Downtown Los Angeles
+        List<GeoIndex.Match> matches = index.query(34.0522, -118.2437, 25, null, null, 100);
+
+        assertEquals(List.of("crypto", "sofi-early", "sofi-late"), ids(matches));
+        assertTrue(matches.get(0).getDistanceKm() < 3);
+    }
+
+    @Test
+    void query_ShouldApplyDateWindow() {
+        List<GeoIndex.Match> matches = index.query(34.0522, -118.2437, 25,
+                LocalDateTime.of(2025, 11, 6, 0, 0), LocalDateTime.of(2025, 11, 15, 0, 0), 100);
+
+        assertEquals(List.of("crypto"), ids(matches));
+    }
+
+    @Test
+    void query_WithLargeRadius_ShouldScanAcrossCells() {
+        List<GeoIndex.Match> matches = index.query(34.0522, -118.2437, 600, null, null, 100);
+
+        assertEquals(List.of("crypto", "sofi-early", "sofi-late", "chase"), ids(matches));
+    }
+
+    @Test
+    void query_ShouldStopOnceMoreThanMaxMatches() {
+        assertEquals(3, index.query(34.0522, -118.2437, 25, null, null, 2).size());
+    }
+
+    @Test
+    void distanceKm_ShouldMatchKnownDistance() {
+        // Los Angeles to New York is about 3,940 km
+        double distance = GeoIndex.distanceKm(34.0522, -118.2437, 40.7128, -74.0060);
+
+        assertEquals(3936, distance, 10);
+    }
+}
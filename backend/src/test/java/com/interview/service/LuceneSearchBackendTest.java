@@ -0,0 +1,170 @@
+package com.interview.service;
+
+import com.interview.dto.BatchSearchResult;
+import com.interview.dto.FacetBucket;
+import com.interview.dto.FacetedSearchResponse;
+import com.interview.dto.SearchQuerySpec;
+import com.interview.model.EventDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LuceneSearchBackendTest {
+
+    @TempDir
+    Path indexDir;
+
+    private LuceneSearchBackend backend;
+
+    private static EventDocument doc(String id, String name, String location, LocalDateTime date,
+                                     String city, String performer, String genre) {
+        EventDocument doc = new EventDocument(id, name, "Live", date, location, date.minusMonths(1));
+        doc.setCity(city);
+        if (performer != null) {
+            EventDocument.PerformerInfo info = new EventDocument.PerformerInfo();
+            info.setId(id + "-p");
+            info.setName(performer);
+            info.setGenre(genre);
+            doc.getPerformers().add(info);
+            doc.getGenres().add(genre);
+        }
+        return doc;
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        backend = new LuceneSearchBackend(indexDir);
+        backend.bulkIndex(List.of(
+                doc("1", "The Eras Tour", "SoFi Stadium, Los Angeles, CA",
+                        LocalDateTime.of(2025, 12, 5, 19, 30), "Los Angeles", "Taylor Swift", "Pop"),
+                doc("2", "NBA: Lakers vs Warriors", "Crypto.com Arena, Los Angeles, CA",
+                        LocalDateTime.of(2025, 11, 22, 19, 30), "Los Angeles", null, null),
+                doc("3", "Swift Tribute Night", "Madison Square Garden, New York, NY",
+                        LocalDateTime.of(2025, 11, 1, 20, 0), "New York", "Cover Band", "Pop")
+        )).join();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        backend.close();
+    }
+
+    @Test
+    void search_ShouldMatchPerformerNameAndSortByEventDate() {
+        List<EventDocument> results = backend.search("swift", null, 1, 20).join();
+
+        assertEquals(List.of("3", "1"), results.stream().map(EventDocument::getId).toList());
+    }
+
+    @Test
+    void search_WithCity_ShouldRequireBothKeywordAndCity() {
+        List<EventDocument> results = backend.search("swift", "los angeles", 1, 20).join();
+
+        assertEquals(1, results.size());
+        assertEquals("Taylor Swift", results.get(0).getPerformers().get(0).getName());
+    }
+
+    @Test
+    void search_WithCity_ShouldMatchTheCityFacetValueOnly() {
+        // "New York" the facet bucket, not any document whose location contains "new"
+        assertEquals(List.of("3"), backend.search(null, "New York", 1, 20).join().stream()
+                .map(EventDocument::getId).toList());
+        assertTrue(backend.search(null, "new", 1, 20).join().isEmpty());
+        assertEquals(2, backend.searchWithFacets(null, "Los Angeles", 1, 20).join().getResults().size());
+    }
+
+    @Test
+    void search_ShouldPage() {
+        List<EventDocument> results = backend.search(null, null, 2, 2).join();
+
+        assertEquals(1, results.size());
+        assertEquals("1", results.get(0).getId());
+    }
+
+    @Test
+    void index_ShouldBeVisibleImmediatelyAndReplaceById() {
+        backend.index(doc("2", "Lakers vs Celtics", "Crypto.com Arena, Los Angeles, CA",
+                LocalDateTime.of(2025, 11, 22, 19, 30), "Los Angeles", null, null)).join();
+
+        assertEquals(1, backend.search("celtics", null, 1, 20).join().size());
+        assertTrue(backend.search("warriors", null, 1, 20).join().isEmpty());
+    }
+
+    @Test
+    void delete_ShouldRemoveDocument() {
+        backend.delete("1").join();
+
+        assertTrue(backend.search("eras", null, 1, 20).join().isEmpty());
+    }
+
+    @Test
+    void searchWithFacets_ShouldCountCityMonthAndGenre() {
+        FacetedSearchResponse response = backend.searchWithFacets(null, null, 1, 1).join();
+
+        assertEquals(1, response.getResults().size());
+        List<FacetBucket> cities = response.getFacets().get(SearchBackend.FACET_CITY);
+        assertEquals("Los Angeles", cities.get(0).getKey());
+        assertEquals(2, cities.get(0).getCount());
+        assertEquals(List.of("2025-11", "2025-12"),
+                response.getFacets().get(SearchBackend.FACET_MONTH).stream().map(FacetBucket::getKey).toList());
+        assertEquals(2, response.getFacets().get(SearchBackend.FACET_GENRE).get(0).getCount());
+    }
+
+    @Test
+    void searchRaw_ShouldWriteSummaryFieldsOnly() throws Exception {
+        SearchBackend.RawHits hits = backend.searchRaw("eras", null, 1, 20).join();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        hits.writeTo(out);
+
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertEquals(1, hits.size());
+        assertTrue(json.startsWith("[{\"id\":\"1\""));
+        assertFalse(json.contains("performers"));
+    }
+
+    @Test
+    void multiSearch_ShouldAnswerEachQueryInOrder() {
+        List<BatchSearchResult> results = backend.multiSearch(List.of(
+                new SearchQuerySpec("swift", null, 1, 20),
+                new SearchQuerySpec(null, "new york", 1, 20))).join();
+
+        assertEquals(2, results.get(0).getResults().size());
+        assertEquals("3", results.get(1).getResults().get(0).getId());
+    }
+
+    @Test
+    void nearby_ShouldFilterByRadiusAndSortByDistance() {
+        EventDocument sofi = doc("1", "The Eras Tour", "SoFi Stadium, Los Angeles, CA",
+                LocalDateTime.of(2025, 12, 5, 19, 30), "Los Angeles", "Taylor Swift", "Pop");
+        sofi.setVenue(venueAt(33.9566, -118.3446));
+        EventDocument arena = doc("2", "NBA: Lakers vs Warriors", "Crypto.com Arena, Los Angeles, CA",
+                LocalDateTime.of(2025, 11, 22, 19, 30), "Los Angeles", null, null);
+        arena.setVenue(venueAt(34.0430, -118.2673));
+        EventDocument garden = doc("3", "Swift Tribute Night", "Madison Square Garden, New York, NY",
+                LocalDateTime.of(2025, 11, 1, 20, 0), "New York", "Cover Band", "Pop");
+        garden.setVenue(venueAt(40.7506, -73.9972));
+        backend.bulkIndex(List.of(sofi, arena, garden)).join();
+
+        List<EventDocument> results = backend.nearby(34.0522, -118.2437, 25, null, null, 1, 20).join();
+        assertEquals(List.of("2", "1"), results.stream().map(EventDocument::getId).toList());
+
+        List<EventDocument> december = backend.nearby(34.0522, -118.2437, 25,
+                LocalDateTime.of(2025, 12, 1, 0, 0), null, 1, 20).join();
+        assertEquals(List.of("1"), december.stream().map(EventDocument::getId).toList());
+    }
+
+    private static EventDocument.VenueInfo venueAt(double lat, double lon) {
+        EventDocument.VenueInfo venue = new EventDocument.VenueInfo();
+        venue.setLocation(new EventDocument.GeoPoint(lat, lon));
+        return venue;
+    }
+}
@@ -0,0 +1,52 @@
+package com.interview.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Typeahead latency over 1M entries. Only runs with -Pbenchmark.
+ */
+class PrefixIndexBenchmark {
+
+    private static final int ENTRIES = 1_000_000;
+    private static final int QUERIES = 200_000;
+
+    @Test
+    void topTenLatencyAtOneMillionEntries() {
+        Random random = new Random(42);
+        String[] words = {"taylor", "swift", "eras", "tour", "lakers", "warriors", "nba", "nfl", "live",
+                "concert", "summit", "conference", "los", "angeles", "new", "york", "arena", "stadium"};
+        List<PrefixIndex.Entry> entries = new ArrayList<>(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            String text = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + i;
+            entries.add(new PrefixIndex.Entry(text, "EVENT", Integer.toString(i), random.nextDouble()));
+        }
+
+        long buildStart = System.nanoTime();
+        PrefixIndex index = PrefixIndex.build(entries);
+        System.out.printf("build: %d ms%n", (System.nanoTime() - buildStart) / 1_000_000);
+
+        String[] prefixes = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String word = words[random.nextInt(words.length)];
+            prefixes[i] = word.substring(0, 1 + random.nextInt(word.length()));
+        }
+        for (int i = 0; i < QUERIES / 4; i++) {
+            index.topK(prefixes[i], 10);
+        }
+
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            index.topK(prefixes[i], 10);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("topK(10): p50 %.1f us, p99 %.1f us, max %.1f us%n",
+                latencies[QUERIES / 2] / 1000.0, latencies[QUERIES * 99 / 100] / 1000.0, latencies[QUERIES - 1] / 1000.0);
+    }
+}
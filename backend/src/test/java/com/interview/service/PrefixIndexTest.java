@@ -0,0 +1,83 @@
+package com.interview.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixIndexTest {
+
+    private final PrefixIndex index = PrefixIndex.build(List.of(
+            new PrefixIndex.Entry("Taylor Swift - The Eras Tour", "EVENT", "1", 0.5),
+            new PrefixIndex.Entry("Taylor Swift", "PERFORMER", null, 0.9),
+            new PrefixIndex.Entry("The Weeknd - After Hours Tour", "EVENT", "2", 0.7),
+            new PrefixIndex.Entry("Tacoma", "CITY", null, 0.1),
+            new PrefixIndex.Entry("Los Angeles", "CITY", null, 0.8)
+    ));
+
+    @Test
+    void topK_ShouldReturnMatchesOrderedByWeight() {
+        // Act
+        List<String> result = texts(index.topK("ta", 10));
+
+        // Assert
+        assertEquals(List.of("Taylor Swift", "Taylor Swift - The Eras Tour", "Tacoma"), result);
+    }
+
+    @Test
+    void topK_ShouldMatchAnyWordStartOnce() {
+        // Act
+        List<String> result = texts(index.topK("TOUR", 10));
+
+        // Assert
+        assertEquals(List.of("The Weeknd - After Hours Tour", "Taylor Swift - The Eras Tour"), result);
+    }
+
+    @Test
+    void topK_ShouldMatchPrefixesAcrossWordsAndNotPastTheKey() {
+        assertEquals(List.of("Taylor Swift - The Eras Tour"), texts(index.topK("swift - the", 10)));
+        assertEquals(List.of("Tacoma"), texts(index.topK("tacoma", 10)));
+        assertTrue(index.topK("tacomas", 10).isEmpty());
+    }
+
+    @Test
+    void topK_ShouldRespectLimit() {
+        // Act
+        List<PrefixIndex.Entry> result = index.topK("t", 2);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("Taylor Swift", result.get(0).getText());
+    }
+
+    @Test
+    void topK_WithUnknownOrBlankPrefix_ShouldReturnEmpty() {
+        assertTrue(index.topK("zzz", 10).isEmpty());
+        assertTrue(index.topK("  ", 10).isEmpty());
+        assertTrue(PrefixIndex.empty().topK("ta", 10).isEmpty());
+    }
+
+    @Test
+    void apply_ShouldMatchIndexBuiltFromScratch() {
+        // Act
+        PrefixIndex applied = index.apply(entry -> "1".equals(entry.getId()), List.of(
+                new PrefixIndex.Entry("Taylor Swift - Eras Tour Finale", "EVENT", "3", 0.6),
+                new PrefixIndex.Entry("Tampa", "CITY", null, 0.2)));
+
+        // Assert
+        assertEquals(6, applied.size());
+        assertEquals(List.of("Taylor Swift", "Taylor Swift - Eras Tour Finale", "Tampa", "Tacoma"),
+                texts(applied.topK("ta", 10)));
+        assertEquals(List.of("The Weeknd - After Hours Tour", "Taylor Swift - Eras Tour Finale"),
+                texts(applied.topK("tour", 10)));
+        assertTrue(applied.topK("the eras", 10).isEmpty());
+        // The original snapshot is unchanged
+        assertEquals(List.of("Taylor Swift - The Eras Tour"), texts(index.topK("the eras", 10)));
+    }
+
+    private static List<String> texts(List<PrefixIndex.Entry> entries) {
+        return entries.stream().map(PrefixIndex.Entry::getText).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,145 @@
+package com.interview.service;
+
+import com.interview.dto.EventMapper;
+import com.interview.dto.EventResponse;
+import com.interview.dto.EventSummaryResponse;
+import com.interview.model.Event;
+import com.interview.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveEventServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventSearchService searchService;
+
+    @Mock
+    private ReactiveStringRedisTemplate redis;
+
+    @Mock
+    private ReactiveValueOperations<String, String> valueOps;
+
+    private ReactiveEventService service;
+
+    @BeforeEach
+    void setUp() {
+        when(redis.opsForValue()).thenReturn(valueOps);
+        // 2 events per page
+        service = new ReactiveEventService(eventRepository, new EventMapper(), searchService, redis, 2, 60000);
+    }
+
+    private static List<Event> events(int count) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Event event = new Event();
+            event.setId(UUID.randomUUID());
+            event.setName("Event " + i);
+            event.setEventDate(LocalDateTime.now().plusDays(i + 1));
+            event.setLocation("Los Angeles");
+            events.add(event);
+        }
+        return events;
+    }
+
+    @Test
+    void getUpcomingEvents_OnCacheMiss_ShouldReadKeysetPagesUntilShortPageAndCacheThem() {
+        List<Event> events = events(5);
+        when(valueOps.get(anyString())).thenReturn(Mono.empty());
+        when(valueOps.set(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(eventRepository.findUpcomingFirstPage(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(events.subList(0, 2));
+        when(eventRepository.findUpcomingAfter(events.get(1).getEventDate(), events.get(1).getId(), PageRequest.of(0, 2)))
+                .thenReturn(events.subList(2, 4));
+        when(eventRepository.findUpcomingAfter(events.get(3).getEventDate(), events.get(3).getId(), PageRequest.of(0, 2)))
+                .thenReturn(events.subList(4, 5));
+
+        List<EventSummaryResponse> result = service.getUpcomingEvents(false).collectList().block();
+
+        assertEquals(5, result.size());
+        assertEquals(events.get(4).getId(), result.get(4).getId());
+        assertNull(result.get(0).getCreatedAt());
+        verify(valueOps).set(eq(afterKey(events.get(3))), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void getUpcomingEvents_WhenLaterPageIsCached_ShouldContinueFromItsCursorWithoutReadingIt() {
+        List<Event> events = events(3);
+        when(valueOps.get(anyString())).thenReturn(Mono.empty());
+        when(valueOps.set(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        // Cached by an earlier request: keyed by the row it follows, whenever it was computed
+        when(valueOps.get(afterKey(events.get(1))))
+                .thenReturn(Mono.just("[{\"id\":\"" + events.get(2).getId() + "\",\"eventDate\":\""
+                        + events.get(2).getEventDate() + "\"}]"));
+        when(eventRepository.findUpcomingFirstPage(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(events.subList(0, 2));
+
+        List<EventSummaryResponse> result = service.getUpcomingEvents(false).collectList().block();
+
+        assertEquals(List.of(events.get(0).getId(), events.get(1).getId(), events.get(2).getId()),
+                result.stream().map(EventSummaryResponse::getId).toList());
+        verify(eventRepository, never()).findUpcomingAfter(any(), any(), any());
+    }
+
+    private static String afterKey(Event event) {
+        return ReactiveEventService.KEY_PREFIX + "upcoming:public:page:2:after:" + event.getEventDate() + ":" + event.getId();
+    }
+
+    @Test
+    void getEventById_CacheHit_ShouldNotReadDatabase() {
+        UUID id = UUID.randomUUID();
+        when(valueOps.get(ReactiveEventService.KEY_PREFIX + "public:id:" + id))
+                .thenReturn(Mono.just("{\"id\":\"" + id + "\",\"name\":\"Cached\"}"));
+
+        EventResponse response = service.getEventById(id, false).block();
+
+        assertEquals("Cached", response.getName());
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void getEventById_WhenRedisFails_ShouldFallBackToDatabase() {
+        Event event = events(1).get(0);
+        when(valueOps.get(anyString())).thenReturn(Mono.error(new RuntimeException("connection refused")));
+        when(valueOps.set(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(Mono.error(new RuntimeException("connection refused")));
+        when(eventRepository.findByIdWithDetails(event.getId())).thenReturn(Optional.of(event));
+
+        EventResponse response = service.getEventById(event.getId(), true).block();
+
+        assertEquals(event.getName(), response.getName());
+    }
+
+    @Test
+    void getEventById_NotFound_ShouldCompleteEmpty() {
+        UUID id = UUID.randomUUID();
+        when(valueOps.get(anyString())).thenReturn(Mono.empty());
+        when(eventRepository.findByIdWithDetails(id)).thenReturn(Optional.empty());
+
+        assertNull(service.getEventById(id, false).block());
+    }
+}
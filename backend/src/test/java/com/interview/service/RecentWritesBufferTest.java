@@ -0,0 +1,83 @@
+package com.interview.service;
+
+import com.interview.model.EventDocument;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentWritesBufferTest {
+
+    private static EventDocument doc(String id, String name, int day) {
+        EventDocument doc = new EventDocument(id, name, "Live", LocalDateTime.of(2025, 11, day, 19, 30),
+                "Arena, Los Angeles, CA", LocalDateTime.of(2025, 10, 1, 12, 0));
+        doc.setCity("Los Angeles");
+        return doc;
+    }
+
+    private static List<String> ids(List<EventDocument> docs) {
+        return docs.stream().map(EventDocument::getId).toList();
+    }
+
+    @Test
+    void merge_ShouldInsertMatchingWriteInDateOrderAndTruncate() {
+        RecentWritesBuffer buffer = new RecentWritesBuffer(16, 60000);
+        buffer.recordWrite(doc("new", "Jazz Night", 2));
+        buffer.recordWrite(doc("other", "Rock Night", 3));
+
+        List<EventDocument> merged = buffer.merge(
+                List.of(doc("a", "Jazz Brunch", 1), doc("b", "Jazz Club", 5)), "jazz", null, 1, 2);
+
+        assertEquals(List.of("a", "new"), ids(merged));
+    }
+
+    @Test
+    void merge_ShouldReplaceIndexedVersionAndDropDeletes() {
+        RecentWritesBuffer buffer = new RecentWritesBuffer(16, 60000);
+        buffer.recordWrite(doc("a", "Renamed", 10));
+        buffer.recordDelete("b");
+
+        List<EventDocument> merged = buffer.merge(
+                List.of(doc("a", "Original", 1), doc("b", "Gone", 2), doc("c", "Kept", 3)), null, null, 1, 20);
+
+        assertEquals(List.of("c", "a"), ids(merged));
+        assertEquals("Renamed", merged.get(1).getName());
+    }
+
+    @Test
+    void merge_OnLaterPage_ShouldOnlyInsertWithinThePageDateWindow() {
+        RecentWritesBuffer buffer = new RecentWritesBuffer(16, 60000);
+        buffer.recordWrite(doc("early", "Early", 1));
+        buffer.recordWrite(doc("inside", "Inside", 6));
+
+        List<EventDocument> merged = buffer.merge(
+                List.of(doc("p", "P", 5), doc("q", "Q", 7)), null, null, 2, 2);
+
+        assertEquals(List.of("p", "inside"), ids(merged));
+    }
+
+    @Test
+    void merge_WithCity_ShouldApplySameMatchRules() {
+        RecentWritesBuffer buffer = new RecentWritesBuffer(16, 60000);
+        buffer.recordWrite(doc("la", "Show", 2));
+
+        assertEquals(List.of("la"), ids(buffer.merge(List.of(), "show", "los angeles", 1, 20)));
+        assertTrue(buffer.merge(List.of(), "show", "new york", 1, 20).isEmpty());
+        // Whole city only, as the facet counts it
+        assertTrue(buffer.merge(List.of(), "show", "angeles", 1, 20).isEmpty());
+    }
+
+    @Test
+    void merge_WhenDisabledOrRingOverwritten_ShouldIgnoreEntries() {
+        RecentWritesBuffer disabled = new RecentWritesBuffer(16, 0);
+        disabled.recordWrite(doc("x", "Show", 2));
+        assertTrue(disabled.merge(List.of(), null, null, 1, 20).isEmpty());
+
+        RecentWritesBuffer small = new RecentWritesBuffer(1, 60000);
+        small.recordWrite(doc("x", "Show", 2));
+        small.recordWrite(doc("y", "Show", 3));
+        assertEquals(List.of("y"), ids(small.merge(List.of(), null, null, 1, 20)));
+    }
+}
@@ -0,0 +1,154 @@
+package com.interview.service;
+
+import com.interview.model.Event;
+import com.interview.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchFanoutServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventSearchService searchService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SearchFanoutService fanoutService;
+
+    @BeforeEach
+    void setUp() {
+        // 2 events per bulk request, at most 2 bulk requests per run
+        fanoutService = new SearchFanoutService(eventRepository, searchService, transactionManager, cacheManager,
+                eventPublisher, 2, 2);
+    }
+
+    private static List<UUID> ids(int count) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+
+    @Test
+    void drain_LargeVenueFanout_ShouldSpreadAcrossRuns() throws Exception {
+        UUID venueId = UUID.randomUUID();
+        // 5 events at the venue: pages of 2, 2, 1
+        when(eventRepository.findIdsByVenueId(eq(venueId), any(Pageable.class)))
+                .thenReturn(ids(2), ids(2), ids(1));
+        when(eventRepository.findAllWithDetailsByIdIn(anyList())).thenReturn(List.of());
+        when(searchService.bulkIndex(anyList())).thenReturn(CompletableFuture.completedFuture(0));
+
+        fanoutService.venueChanged(venueId);
+
+        fanoutService.drain();
+        assertEquals(1, fanoutService.getPendingCount());
+        verify(searchService, times(2)).bulkIndex(anyList());
+
+        fanoutService.drain();
+        assertEquals(0, fanoutService.getPendingCount());
+        verify(searchService, times(3)).bulkIndex(anyList());
+    }
+
+    @Test
+    void performerChanged_Twice_ShouldQueueOnce() throws Exception {
+        UUID performerId = UUID.randomUUID();
+        when(eventRepository.findIdsByPerformerId(eq(performerId), any(Pageable.class))).thenReturn(ids(1));
+        when(eventRepository.findAllWithDetailsByIdIn(anyList())).thenReturn(List.of());
+        when(searchService.bulkIndex(anyList())).thenReturn(CompletableFuture.completedFuture(0));
+
+        fanoutService.performerChanged(performerId);
+        fanoutService.performerChanged(performerId);
+        assertEquals(1, fanoutService.getPendingCount());
+
+        fanoutService.drain();
+        assertEquals(0, fanoutService.getPendingCount());
+        verify(searchService, times(1)).bulkIndex(anyList());
+    }
+
+    @Test
+    void drain_WhenBulkFails_ShouldKeepTaskForRetry() throws Exception {
+        UUID venueId = UUID.randomUUID();
+        when(eventRepository.findIdsByVenueId(eq(venueId), any(Pageable.class))).thenReturn(ids(1));
+        when(eventRepository.findAllWithDetailsByIdIn(anyList())).thenReturn(List.of());
+        when(searchService.bulkIndex(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("down")));
+
+        fanoutService.venueChanged(venueId);
+        fanoutService.drain();
+
+        assertEquals(1, fanoutService.getPendingCount());
+    }
+
+    @Test
+    void drain_ShouldBumpVersionsAndPublishUpdatesOfAffectedEvents() throws Exception {
+        UUID venueId = UUID.randomUUID();
+        List<UUID> affected = ids(1);
+        Event event = new Event();
+        event.setId(affected.get(0));
+        when(eventRepository.findIdsByVenueId(eq(venueId), any(Pageable.class))).thenReturn(affected);
+        when(eventRepository.findAllWithDetailsByIdIn(affected)).thenReturn(List.of(event));
+        when(searchService.bulkIndex(anyList())).thenReturn(CompletableFuture.completedFuture(1));
+
+        fanoutService.venueChanged(venueId);
+        fanoutService.drain();
+
+        verify(eventRepository).touchAll(affected);
+        verify(eventPublisher).publishEvent(argThat((Object published) -> published instanceof EventChangedEvent change
+                && change.getType() == EventChangedEvent.Type.UPDATED && change.getEventId().equals(event.getId())));
+    }
+
+    @Test
+    void venueChanged_WhileTaskIsPartlyDone_ShouldRestartFromFirstPage() throws Exception {
+        UUID venueId = UUID.randomUUID();
+        List<Integer> pagesLoaded = new ArrayList<>();
+        when(eventRepository.findIdsByVenueId(eq(venueId), any(Pageable.class))).thenAnswer(invocation -> {
+            int page = invocation.<Pageable>getArgument(1).getPageNumber();
+            pagesLoaded.add(page);
+            if (pagesLoaded.size() == 1) {
+                // Renamed again after page 0 was reindexed with the old name
+                fanoutService.venueChanged(venueId);
+            }
+            return page == 0 ? ids(2) : ids(1);
+        });
+        when(eventRepository.findAllWithDetailsByIdIn(anyList())).thenReturn(List.of());
+        when(searchService.bulkIndex(anyList())).thenReturn(CompletableFuture.completedFuture(0));
+
+        fanoutService.venueChanged(venueId);
+        fanoutService.drain();
+        assertEquals(1, fanoutService.getPendingCount());
+
+        fanoutService.drain();
+        assertEquals(0, fanoutService.getPendingCount());
+        assertEquals(List.of(0, 1, 0, 1), pagesLoaded);
+    }
+}
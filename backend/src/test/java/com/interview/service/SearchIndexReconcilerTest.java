@@ -0,0 +1,155 @@
+package com.interview.service;
+
+import com.interview.dto.ReconcileReport;
+import com.interview.model.Event;
+import com.interview.model.Performer;
+import com.interview.model.Venue;
+import com.interview.repository.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SearchIndexReconcilerTest {
+
+    @TempDir
+    Path indexDir;
+
+    private LuceneSearchBackend backend;
+    private EventRepository eventRepository;
+    private EventSearchService searchService;
+    private final List<Event> table = new ArrayList<>();
+
+    private static Event event(String name, LocalDateTime updatedAt) {
+        Event event = new Event(name, "Live", LocalDateTime.of(2025, 12, 1, 19, 30), "Arena, Los Angeles, CA");
+        event.setId(UUID.randomUUID());
+        event.setUpdatedAt(updatedAt);
+        return event;
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        backend = new LuceneSearchBackend(indexDir);
+        eventRepository = mock(EventRepository.class);
+        searchService = new EventSearchService(backend, eventRepository,
+                new SearchResultCache(new SimpleMeterRegistry(), 0, 0), new RecentWritesBuffer(256, 0));
+
+        // BETWEEN on the id column, which orders like the UUID strings
+        when(eventRepository.findVersionsByIdBetween(any(), any())).thenAnswer(invocation -> {
+            String from = invocation.getArgument(0).toString();
+            String to = invocation.getArgument(1).toString();
+            List<Object[]> rows = new ArrayList<>();
+            for (Event event : table) {
+                String id = event.getId().toString();
+                if (id.compareTo(from) >= 0 && id.compareTo(to) <= 0) {
+                    rows.add(new Object[]{event.getId(), event.getUpdatedAt(),
+                            event.getVenue() == null ? null : event.getVenue().getUpdatedAt(),
+                            event.getPerformers().stream().map(Performer::getUpdatedAt)
+                                    .max(Comparator.naturalOrder()).orElse(null)});
+                }
+            }
+            return rows;
+        });
+        when(eventRepository.findAllWithDetailsByIdIn(any())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return table.stream().filter(event -> ids.contains(event.getId())).toList();
+        });
+        when(eventRepository.existsById(any())).thenAnswer(invocation ->
+                table.stream().anyMatch(event -> event.getId().equals(invocation.getArgument(0))));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        backend.close();
+    }
+
+    private SearchIndexReconciler reconciler(int ranges, int rangesPerRun) {
+        return new SearchIndexReconciler(eventRepository, searchService, backend, new SimpleMeterRegistry(),
+                ranges, rangesPerRun, 200);
+    }
+
+    @Test
+    void reconcileAll_ShouldRepairMissingStaleAndOrphanedDocuments() {
+        LocalDateTime now = LocalDateTime.of(2025, 10, 1, 12, 0);
+        Event current = event("Current", now);
+        Event stale = event("Stale", now);
+        Event missing = event("Missing", now);
+        Event deleted = event("Deleted", now);
+        table.addAll(List.of(current, stale, missing));
+        searchService.bulkIndex(List.of(current, stale, deleted)).join();
+        stale.setName("Stale Renamed");
+        stale.setUpdatedAt(now.plusMinutes(5));
+
+        ReconcileReport report = reconciler(16, 16).reconcileAll();
+
+        assertEquals(1, report.getMissing());
+        assertEquals(1, report.getStale());
+        assertEquals(1, report.getOrphans());
+        assertEquals(1, backend.search("renamed", null, 1, 10).join().size());
+        assertEquals(1, backend.search("missing", null, 1, 10).join().size());
+        assertTrue(backend.search("deleted", null, 1, 10).join().isEmpty());
+
+        ReconcileReport second = reconciler(16, 16).reconcileAll();
+        assertEquals(0, second.getDrift());
+        assertEquals(16, second.getRangesMatched());
+    }
+
+    @Test
+    void reconcileAll_WhenVenueFanoutWasLost_ShouldReindexEventsEmbeddingTheOldVenue() {
+        LocalDateTime now = LocalDateTime.of(2025, 10, 1, 12, 0);
+        Venue venue = new Venue("Greek Theatre", "2700 N Vermont Ave", "Los Angeles", "CA", "90027", 5900);
+        venue.setId(UUID.randomUUID());
+        venue.setUpdatedAt(now);
+        Event event = event("Concert", now);
+        event.setVenue(venue);
+        table.add(event);
+        searchService.bulkIndex(List.of(event)).join();
+
+        // The venue is renamed; the fan-out queued for it was lost with the node that queued it (restart),
+        // so the event row and its document still carry the old updatedAt
+        venue.setName("Hollywood Bowl");
+        venue.setUpdatedAt(now.plusMinutes(5));
+
+        ReconcileReport report = reconciler(16, 16).reconcileAll();
+
+        assertEquals(1, report.getStale());
+        assertEquals(1, backend.search("hollywood", null, 1, 10).join().size());
+        assertEquals(0, reconciler(16, 16).reconcileAll().getDrift());
+    }
+
+    @Test
+    void reconcileNext_ShouldCheckBoundedRangesPerRunAndWrapAround() {
+        SearchIndexReconciler reconciler = reconciler(16, 4);
+
+        assertEquals(4, reconciler.reconcileNext().getRangesChecked());
+        for (int i = 0; i < 3; i++) {
+            reconciler.reconcileNext();
+        }
+        assertEquals(4, reconciler.reconcileNext().getRangesChecked());
+        verify(eventRepository, times(20)).findVersionsByIdBetween(any(), any());
+    }
+
+    @Test
+    void ranges_ShouldCoverTheWholeIdSpaceWithoutGaps() {
+        SearchIndexReconciler reconciler = reconciler(16, 16);
+
+        assertEquals("00000000-0000-0000-0000-000000000000", reconciler.rangeStart(0).toString());
+        assertEquals("0fffffff-ffff-ffff-ffff-ffffffffffff", reconciler.rangeEnd(0).toString());
+        assertEquals("80000000-0000-0000-0000-000000000000", reconciler.rangeStart(8).toString());
+        assertEquals("7fffffff-ffff-ffff-ffff-ffffffffffff", reconciler.rangeEnd(7).toString());
+        assertEquals("ffffffff-ffff-ffff-ffff-ffffffffffff", reconciler.rangeEnd(15).toString());
+    }
+}
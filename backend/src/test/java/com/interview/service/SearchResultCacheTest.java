@@ -0,0 +1,78 @@
+package com.interview.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResultCacheTest {
+
+    @Test
+    void getOrLoad_ConcurrentMisses_ShouldRunLoaderOnce() throws Exception {
+        SearchResultCache cache = new SearchResultCache(new SimpleMeterRegistry(), 60000, 100);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> response = new CompletableFuture<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<CompletableFuture<String>>> callers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                callers.add(executor.submit(() -> {
+                    start.await();
+                    return cache.getOrLoad("k=jazz", () -> {
+                        loads.incrementAndGet();
+                        return response;
+                    });
+                }));
+            }
+            start.countDown();
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (Future<CompletableFuture<String>> caller : callers) {
+                futures.add(caller.get());
+            }
+            response.complete("result");
+
+            assertEquals(1, loads.get());
+            for (CompletableFuture<String> future : futures) {
+                assertEquals("result", future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getOrLoad_WhenLoadFails_ShouldNotCacheFailure() throws Exception {
+        SearchResultCache cache = new SearchResultCache(new SimpleMeterRegistry(), 60000, 100);
+
+        CompletableFuture<String> failed = cache.getOrLoad("k", () -> CompletableFuture.failedFuture(new IllegalStateException("down")));
+        CompletableFuture<String> retried = cache.getOrLoad("k", () -> CompletableFuture.completedFuture("ok"));
+
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals("ok", retried.get());
+    }
+
+    @Test
+    void getOrLoad_WhenFull_ShouldEvictLeastRecentlyUsed() throws Exception {
+        SearchResultCache cache = new SearchResultCache(new SimpleMeterRegistry(), 60000, 2);
+        AtomicInteger loads = new AtomicInteger();
+        cache.getOrLoad("a", () -> CompletableFuture.completedFuture(loads.incrementAndGet()));
+        cache.getOrLoad("b", () -> CompletableFuture.completedFuture(loads.incrementAndGet()));
+        cache.getOrLoad("a", () -> CompletableFuture.completedFuture(loads.incrementAndGet()));
+
+        cache.getOrLoad("c", () -> CompletableFuture.completedFuture(loads.incrementAndGet()));
+
+        // a was used after b, so b went
+        assertEquals(1, cache.getOrLoad("a", () -> CompletableFuture.completedFuture(-1)).get().intValue());
+        assertEquals(-1, cache.getOrLoad("b", () -> CompletableFuture.completedFuture(-1)).get().intValue());
+    }
+}
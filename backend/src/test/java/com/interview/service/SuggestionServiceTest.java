@@ -0,0 +1,94 @@
+package com.interview.service;
+
+import com.interview.model.Event;
+import com.interview.repository.EventRepository;
+import com.interview.repository.PerformerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestionServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private PerformerRepository performerRepository;
+
+    private SuggestionService suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        suggestionService = new SuggestionService(eventRepository, performerRepository, 3_600_000);
+    }
+
+    private static Event event(UUID id, String name, int daysAhead) {
+        Event event = new Event();
+        event.setId(id);
+        event.setName(name);
+        event.setEventDate(LocalDateTime.now().plusDays(daysAhead));
+        return event;
+    }
+
+    private void change(EventChangedEvent.Type type, Event event) {
+        suggestionService.onEventChanged(new EventChangedEvent(type, event.getId(), event));
+    }
+
+    @Test
+    void renamedEvent_ShouldDropOldNameBeforeAndAfterApplying() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        change(EventChangedEvent.Type.CREATED, event(id, "Summer Jam", 10));
+        suggestionService.applyChanges();
+
+        // Act: renamed twice before the next update of the snapshot
+        change(EventChangedEvent.Type.UPDATED, event(id, "Winter Jam", 10));
+        change(EventChangedEvent.Type.UPDATED, event(id, "Spring Jam", 10));
+
+        // Assert
+        assertTrue(suggestionService.suggest("summer", 10).isEmpty());
+        assertTrue(suggestionService.suggest("winter", 10).isEmpty());
+        assertEquals(List.of("Spring Jam"), texts(suggestionService.suggest("jam", 10)));
+
+        suggestionService.applyChanges();
+        assertTrue(suggestionService.suggest("summer", 10).isEmpty());
+        assertTrue(suggestionService.suggest("winter", 10).isEmpty());
+        assertEquals(List.of("Spring Jam"), texts(suggestionService.suggest("jam", 10)));
+    }
+
+    @Test
+    void applyChanges_WhenTourDateIsDeleted_ShouldFallBackToNextDate() {
+        // Arrange
+        Event first = event(UUID.randomUUID(), "Eras Tour", 5);
+        Event second = event(UUID.randomUUID(), "Eras Tour", 30);
+        change(EventChangedEvent.Type.CREATED, first);
+        change(EventChangedEvent.Type.CREATED, second);
+        suggestionService.applyChanges();
+        assertEquals(List.of(first.getId().toString()), ids(suggestionService.suggest("eras", 10)));
+
+        // Act
+        change(EventChangedEvent.Type.DELETED, first);
+        suggestionService.applyChanges();
+
+        // Assert
+        assertEquals(List.of(second.getId().toString()), ids(suggestionService.suggest("eras", 10)));
+    }
+
+    private static List<String> texts(List<PrefixIndex.Entry> entries) {
+        return entries.stream().map(PrefixIndex.Entry::getText).collect(Collectors.toList());
+    }
+
+    private static List<String> ids(List<PrefixIndex.Entry> entries) {
+        return entries.stream().map(PrefixIndex.Entry::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,104 @@
+package com.interview.support;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.HttpHost;
+import org.opensearch.client.RestClient;
+import org.opensearch.client.RestHighLevelClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Minimal local HTTP server that answers OpenSearch REST calls with canned JSON,
+ * so search code can be exercised without a running cluster
+ */
+public class StubOpenSearchServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final List<String> requestBodies = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param responder maps the request path (e.g. "/events/_search") to the JSON response body
+     */
+    public StubOpenSearchServer(Function<String, String> responder) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                requestBodies.add(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            byte[] body = responder.apply(exchange.getRequestURI().getPath()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    public String getUri() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public RestHighLevelClient newClient() {
+        return new RestHighLevelClient(RestClient.builder(HttpHost.create(getUri())));
+    }
+
+    public List<String> getRequestBodies() {
+        return requestBodies;
+    }
+
+    /**
+     * Build a search response with the given _source documents as hits
+     */
+    public static String searchResponse(List<String> sources) {
+        return searchResponse(sources, null);
+    }
+
+    /**
+     * Build a search response with hits and an "aggregations" object (keys in typed_keys form, e.g. "sterms#city")
+     */
+    public static String searchResponse(List<String> sources, String aggregations) {
+        StringBuilder hits = new StringBuilder();
+        for (int i = 0; i < sources.size(); i++) {
+            if (i > 0) {
+                hits.append(',');
+            }
+            hits.append("{\"_index\":\"events\",\"_id\":\"").append(i)
+                    .append("\",\"_score\":null,\"_source\":").append(sources.get(i))
+                    .append(",\"sort\":[").append(i).append("]}");
+        }
+        return "{\"took\":1,\"timed_out\":false,"
+                + "\"_shards\":{\"total\":1,\"successful\":1,\"skipped\":0,\"failed\":0},"
+                + "\"hits\":{\"total\":{\"value\":" + sources.size() + ",\"relation\":\"eq\"},"
+                + "\"max_score\":null,\"hits\":[" + hits + "]}"
+                + (aggregations == null ? "" : ",\"aggregations\":" + aggregations)
+                + "}";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /**
+     * Build an _msearch response from per-query items (search responses or errorItem entries)
+     */
+    public static String multiSearchResponse(List<String> items) {
+        return "{\"took\":1,\"responses\":[" + String.join(",", items) + "]}";
+    }
+
+    /**
+     * A failed _msearch item
+     */
+    public static String errorItem(String reason) {
+        return "{\"error\":{\"root_cause\":[],\"type\":\"query_shard_exception\",\"reason\":\"" + reason + "\"},"
+                + "\"status\":400}";
+    }
+}